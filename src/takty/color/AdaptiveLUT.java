@@ -0,0 +1,631 @@
+package takty.color;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class approximates a converter by an adaptive 3D look-up table (LUT) on an octree.
+ * Cells are subdivided until the trilinear interpolation of the corners differs from the exact converter
+ * by less than the tolerance at the center, the face centers and the edge midpoints of each cell.
+ * Cells of smooth regions stay large, and cells near sharp changes become small.
+ * Cells still over the tolerance at the maximum depth (on discontinuities of the converter) store no values,
+ * and colors in them are converted by the exact converter.
+ *
+ * For converters to a cylindrical color system (such as Munsell HVC or PCCS hls), the hue (channel 0) and the chroma (channel 2)
+ * are interpolated as Cartesian coordinates, so that the wraparound of the hue and the neutral axis do not break the interpolation.
+ * Errors are also measured in the Cartesian coordinates.
+ *
+ * The test points alone do not bound the error, since a curve or a jump of the converter between them is not found
+ * (for sRGB to Munsell, 0.24 % of the integer inputs exceeded the tolerance 0.1 by up to 24.7).
+ * So a LUT can also be validated on a lattice of inputs (such as the integer inputs of sRGB): every input of the lattice
+ * in each cell is converted, and a cell is subdivided (or made exact at the maximum depth) while an input exceeds the tolerance.
+ * Then the error at every input of the lattice does not exceed the tolerance, except at the corners of the cells,
+ * where the error is that of the values rounded to single precision. The inputs are converted in parallel by the shared pool.
+ * The LUTs of sRGB are validated on the integer inputs with the domain [0, 256], so that the corners are on the integer inputs.
+ * For sRGB to Munsell with the tolerance 0.1, the maximum error over the 2^24 integer inputs is 0.09999 and the mean error is 0.027,
+ * the LUT is 8.6 MB, and the building takes 2.4 minutes by one thread (for PCCS, 0.09999, 0.028, 9.3 MB and 2.4 minutes).
+ * Inputs off the lattice are not bounded (errors up to 6.1 at random inputs).
+ *
+ * A LUT can be shared by threads; the exact converter is created for each thread by a factory,
+ * which must create converters of fixed settings (see ColorConverter.Factory).
+ * @author Takuto Yanagida
+ * @version 2026-10-19
+ */
+public final class AdaptiveLUT {
+
+	/**
+	 * The maximum depth of the octree.
+	 */
+	static public final int MAX_DEPTH = 9;
+
+	static private final int RES = 1 << MAX_DEPTH;  // Resolution of vertex coordinates
+	static private final int MIN_DEPTH = 3;
+	static private final int LEAF_BIT = 0x80000000, EXACT_BIT = 0x40000000;
+	static private final int JOB_INPUTS = 4096;  // The number of inputs validated by a task
+
+	/**
+	 * Create a LUT of sRGB [0, 255] to Munsell (HVC) with the maximum depth 8, validated on the integer inputs.
+	 * @param tolerance Tolerance of interpolation (in Munsell units, Cartesian)
+	 * @return LUT
+	 */
+	static public AdaptiveLUT createRgbToMunsell(final double tolerance) {
+		return new AdaptiveLUT(new double[] {0, 0, 0}, new double[] {256, 256, 256}, Munsell.MAX_HUE, tolerance, 8, 1.0, new ColorConverter.Factory() {
+			@Override
+			public ColorConverter create() {
+				return ColorConverter.create(new ColorConverter.RGB_LRGB(), new ColorConverter.LRGB_XYZ(), new ColorConverter.XYZ_Munsell());
+			}
+		});
+	}
+
+	/**
+	 * Create a LUT of sRGB [0, 255] to PCCS (hls) by the current global settings with the maximum depth 8, validated on the integer inputs.
+	 * @param tolerance Tolerance of interpolation (in PCCS units, Cartesian)
+	 * @return LUT
+	 */
+	static public AdaptiveLUT createRgbToPCCS(final double tolerance) {
+		return createRgbToPCCS(tolerance, ConversionContext.current());
+	}
+
+	/**
+	 * Create a LUT of sRGB [0, 255] to PCCS (hls) by the conversion method of a context with the maximum depth 8, validated on the integer inputs.
+	 * @param tolerance Tolerance of interpolation (in PCCS units, Cartesian)
+	 * @param context Conversion context
+	 * @return LUT
+	 */
+	static public AdaptiveLUT createRgbToPCCS(final double tolerance, final ConversionContext context) {
+		return new AdaptiveLUT(new double[] {0, 0, 0}, new double[] {256, 256, 256}, PCCS.MAX_HUE, tolerance, 8, 1.0, new ColorConverter.Factory() {
+			@Override
+			public ColorConverter create() {
+				return ColorConverter.create(new ColorConverter.RGB_LRGB(), new ColorConverter.LRGB_XYZ(), context.createXYZToPCCS());
+			}
+		});
+	}
+
+	private final ThreadLocal<ColorConverter> cc_;
+	private final double[] min_, scale_;
+	private final double huePeriod_;
+	private final double tolerance_;
+
+	private int[] child_;   // Index of the first child (8 consecutive nodes), LEAF_BIT | index of the leaf, or LEAF_BIT | EXACT_BIT
+	private int[] leaf_;    // 8 indices of corner vertices per leaf
+	private float[] value_; // 3 values per vertex
+	private int nodeCount_, leafCount_, exactCount_;
+	private double maxError_;
+
+	// Working memory of building
+	private ColorIntegerMap vertices_;
+	private double[] exact_;    // 3 values per vertex, rounded to single precision as stored
+	private int[] cell_;        // Node, key of the corner and depth per leaf
+	private double[] error_;    // Error per leaf
+	private final double[] tmp_ = new double[3];
+
+	/**
+	 * Create a LUT of a converter.
+	 * @param min Minimum of the input domain
+	 * @param max Maximum of the input domain
+	 * @param tolerance Tolerance of interpolation (Euclidean distance of the output)
+	 * @param maxDepth Maximum depth of the octree [3, MAX_DEPTH]
+	 * @param factory Factory of the exact converter, called once for each thread
+	 */
+	public AdaptiveLUT(final double[] min, final double[] max, final double tolerance, final int maxDepth, final ColorConverter.Factory factory) {
+		this(min, max, 0.0, tolerance, maxDepth, 0.0, factory);
+	}
+
+	/**
+	 * Create a LUT of a converter to a cylindrical color system (channel 0 is the hue, and channel 2 is the chroma).
+	 * @param min Minimum of the input domain
+	 * @param max Maximum of the input domain
+	 * @param huePeriod Period of the hue (e.g. Munsell.MAX_HUE), or 0 if the output is not cylindrical
+	 * @param tolerance Tolerance of interpolation (Euclidean distance of the output in Cartesian coordinates)
+	 * @param maxDepth Maximum depth of the octree [3, MAX_DEPTH]
+	 * @param factory Factory of the exact converter, called once for each thread
+	 */
+	public AdaptiveLUT(final double[] min, final double[] max, final double huePeriod, final double tolerance, final int maxDepth,
+			final ColorConverter.Factory factory) {
+		this(min, max, huePeriod, tolerance, maxDepth, 0.0, factory);
+	}
+
+	/**
+	 * Create a LUT of a converter validated on a lattice of inputs (min + k * step for each channel).
+	 * @param min Minimum of the input domain
+	 * @param max Maximum of the input domain
+	 * @param huePeriod Period of the hue (e.g. Munsell.MAX_HUE), or 0 if the output is not cylindrical
+	 * @param tolerance Tolerance of interpolation (Euclidean distance of the output in Cartesian coordinates)
+	 * @param maxDepth Maximum depth of the octree [3, MAX_DEPTH]
+	 * @param step Step of the lattice (e.g. 1 for integer inputs), or 0 not to validate
+	 * @param factory Factory of the exact converter, called once for each thread
+	 */
+	public AdaptiveLUT(final double[] min, final double[] max, final double huePeriod, final double tolerance, final int maxDepth,
+			final double step, final ColorConverter.Factory factory) {
+		if(maxDepth < MIN_DEPTH || MAX_DEPTH < maxDepth) throw new IllegalArgumentException("maxDepth is out of range");
+		if(step < 0.0) throw new IllegalArgumentException("step must not be negative");
+		cc_ = new ThreadLocal<ColorConverter>() {
+			@Override
+			protected ColorConverter initialValue() {
+				return factory.create();
+			}
+		};
+		min_ = min.clone();
+		scale_ = new double[] {RES / (max[0] - min[0]), RES / (max[1] - min[1]), RES / (max[2] - min[2])};
+		huePeriod_ = huePeriod;
+		tolerance_ = tolerance;
+
+		child_ = new int[1024];
+		leaf_ = new int[1024];
+		vertices_ = new ColorIntegerMap(1 << 16);
+		exact_ = new double[3 << 16];
+		cell_ = new int[3 * 128];
+		error_ = new double[128];
+		nodeCount_ = 1;
+		build(0, 0, 0, 0, 0, maxDepth);
+		if(step > 0.0) validate(max, step, maxDepth, ColorImageOp.sharedPool());
+		compact();
+		vertices_ = null;
+		exact_ = null;
+		cell_ = null;
+		error_ = null;
+	}
+
+	// Building ----------------------------------------------------------------
+
+	static private int key(final int x, final int y, final int z) {
+		return x | (y << 10) | (z << 20);
+	}
+
+	// Return the index of the vertex of the coordinates, evaluating the exact converter if it is new
+	private int vertex(final int x, final int y, final int z) {
+		final int n = vertices_.size();
+		final int v = vertices_.index(key(x, y, z));
+		if(v == n) {
+			if(exact_.length < (n + 1) * 3) exact_ = Arrays.copyOf(exact_, exact_.length * 2);
+			tmp_[0] = min_[0] + x / scale_[0];
+			tmp_[1] = min_[1] + y / scale_[1];
+			tmp_[2] = min_[2] + z / scale_[2];
+			cc_.get().convert(tmp_, tmp_);
+			toCartesian(tmp_);
+			exact_[n * 3] = (float)tmp_[0]; exact_[n * 3 + 1] = (float)tmp_[1]; exact_[n * 3 + 2] = (float)tmp_[2];
+		}
+		return v;
+	}
+
+	private void toCartesian(final double[] c) {
+		if(huePeriod_ == 0.0) return;
+		final double t = c[0] * (2.0 * Math.PI / huePeriod_), r = c[2];
+		c[0] = r * Math.cos(t);
+		c[2] = r * Math.sin(t);
+	}
+
+	private void fromCartesian(final double[] c) {
+		if(huePeriod_ == 0.0) return;
+		final double x = c[0], y = c[2];
+		double h = Math.atan2(y, x) * (huePeriod_ / (2.0 * Math.PI));
+		if(h < 0.0) h += huePeriod_;
+		c[0] = h;
+		c[2] = Math.sqrt(x * x + y * y);
+	}
+
+	private void build(final int node, final int depth, final int x, final int y, final int z, final int maxDepth) {
+		final int s = RES >> depth;
+		final int[] cs = new int[8];
+		for(int k = 0; k < 8; ++k) cs[k] = vertex(x + (k & 1) * s, y + ((k >> 1) & 1) * s, z + ((k >> 2) & 1) * s);
+
+		double err = 0.0;
+		if(MIN_DEPTH <= depth) {
+			// Compare the interpolation with the exact values at the midpoints (the corners of the children except the corners of the cell)
+			final int h = s >> 1;
+			for(int k = 0; k < 27; ++k) {
+				final int i = k % 3, j = (k / 3) % 3, l = k / 9;
+				if(i != 1 && j != 1 && l != 1) continue;
+				final int v = vertex(x + i * h, y + j * h, z + l * h) * 3;
+				final double fx = i * 0.5, fy = j * 0.5, fz = l * 0.5;
+				double e = 0.0;
+				for(int c = 0; c < 3; ++c) {
+					final double d = interpolate(exact_, cs, 0, c, fx, fy, fz) - exact_[v + c];
+					e += d * d;
+				}
+				err = Math.max(err, e);
+			}
+			err = Math.sqrt(err);
+			if(err <= tolerance_) {
+				addLeaf(node, depth, x, y, z, cs, err);
+				return;
+			}
+			if(depth == maxDepth) {
+				child_[node] = LEAF_BIT | EXACT_BIT;
+				++exactCount_;
+				return;
+			}
+		}
+		divide(node, depth, x, y, z, maxDepth);
+	}
+
+	private void divide(final int node, final int depth, final int x, final int y, final int z, final int maxDepth) {
+		final int first = nodeCount_;
+		nodeCount_ += 8;
+		if(child_.length < nodeCount_) child_ = Arrays.copyOf(child_, Math.max(nodeCount_, child_.length * 2));
+		child_[node] = first;
+		final int h = (RES >> depth) >> 1;
+		for(int k = 0; k < 8; ++k) build(first + k, depth + 1, x + (k & 1) * h, y + ((k >> 1) & 1) * h, z + ((k >> 2) & 1) * h, maxDepth);
+
+		// Merge the children if all of them are exact
+		for(int k = 0; k < 8; ++k) {
+			if(child_[first + k] != (LEAF_BIT | EXACT_BIT)) return;
+		}
+		nodeCount_ = first;
+		child_[node] = LEAF_BIT | EXACT_BIT;
+		exactCount_ -= 7;
+	}
+
+	private void addLeaf(final int node, final int depth, final int x, final int y, final int z, final int[] cs, final double err) {
+		if(leaf_.length < (leafCount_ + 1) * 8) leaf_ = Arrays.copyOf(leaf_, leaf_.length * 2);
+		if(error_.length < leafCount_ + 1) {
+			cell_ = Arrays.copyOf(cell_, cell_.length * 2);
+			error_ = Arrays.copyOf(error_, error_.length * 2);
+		}
+		System.arraycopy(cs, 0, leaf_, leafCount_ * 8, 8);
+		cell_[leafCount_ * 3] = node; cell_[leafCount_ * 3 + 1] = key(x, y, z); cell_[leafCount_ * 3 + 2] = depth;
+		error_[leafCount_] = err;
+		child_[node] = LEAF_BIT | leafCount_;
+		++leafCount_;
+	}
+
+	// Validate the leaves on the lattice until all the leaves added by subdivision pass
+	private void validate(final double[] max, final double step, final int maxDepth, final ForkJoinPool pool) {
+		final Lattice lat = new Lattice(max, step);
+		for(int from = 0; from < leafCount_; ) {
+			final int to = leafCount_;
+
+			// Split the inputs of the leaves into jobs of slices along channel 2
+			int[] jobs = new int[(to - from) * 3];
+			int n = 0;
+			for(int i = from; i < to; ++i) {
+				final int k = cell_[i * 3 + 1], s = RES >> cell_[i * 3 + 2];
+				final int nx = lat.end(0, k & 0x3FF, s) - lat.begin(0, k & 0x3FF), ny = lat.end(1, (k >> 10) & 0x3FF, s) - lat.begin(1, (k >> 10) & 0x3FF);
+				final int z0 = lat.begin(2, (k >> 20) & 0x3FF), z1 = lat.end(2, (k >> 20) & 0x3FF, s);
+				if(nx <= 0 || ny <= 0 || z1 <= z0) continue;
+				final int d = Math.max(1, JOB_INPUTS / (nx * ny));
+				for(int z = z0; z < z1; z += d) {
+					if(jobs.length < (n + 1) * 3) jobs = Arrays.copyOf(jobs, jobs.length * 2);
+					jobs[n * 3] = i; jobs[n * 3 + 1] = z; jobs[n * 3 + 2] = Math.min(z1, z + d);
+					++n;
+				}
+			}
+			final double[] errs = new double[n];
+			final Validation v = new Validation(lat, jobs, errs, 0, n, pool != null);
+			if(pool == null) v.compute(); else pool.invoke(v);
+
+			final double[] err = new double[to - from];
+			for(int j = 0; j < n; ++j) err[jobs[j * 3] - from] = Math.max(err[jobs[j * 3] - from], errs[j]);
+			for(int i = from; i < to; ++i) {
+				if(err[i - from] <= tolerance_) {
+					error_[i] = Math.max(error_[i], err[i - from]);
+					continue;
+				}
+				final int node = cell_[i * 3], k = cell_[i * 3 + 1], depth = cell_[i * 3 + 2];
+				if(depth == maxDepth) {
+					child_[node] = LEAF_BIT | EXACT_BIT;
+					++exactCount_;
+				} else {
+					divide(node, depth, k & 0x3FF, (k >> 10) & 0x3FF, (k >> 20) & 0x3FF, maxDepth);
+				}
+			}
+			from = to;
+		}
+	}
+
+	// Return the maximum error at the inputs of a leaf in a slice, or an error over the tolerance as soon as found
+	private double validate(final Lattice lat, final int leaf, final int kz0, final int kz1) {
+		final int k = cell_[leaf * 3 + 1], s = RES >> cell_[leaf * 3 + 2];
+		final int x = k & 0x3FF, y = (k >> 10) & 0x3FF, z = (k >> 20) & 0x3FF;
+		final int kx0 = lat.begin(0, x), kx1 = lat.end(0, x, s), ky0 = lat.begin(1, y), ky1 = lat.end(1, y, s);
+		final ColorConverter cc = cc_.get();
+		final double[] p = new double[3];
+		final double tol = tolerance_ * tolerance_;
+		double err = 0.0;
+		for(int kz = kz0; kz < kz1; ++kz) {
+			final double tz = lat.coordinate(2, kz);
+			final boolean cz = (tz == z || tz == z + s);
+			for(int ky = ky0; ky < ky1; ++ky) {
+				final double ty = lat.coordinate(1, ky);
+				final boolean cy = cz && (ty == y || ty == y + s);
+				for(int kx = kx0; kx < kx1; ++kx) {
+					final double tx = lat.coordinate(0, kx);
+					if(cy && (tx == x || tx == x + s)) continue;  // A corner keeps the exact value in single precision
+					p[0] = lat.input(0, kx); p[1] = lat.input(1, ky); p[2] = lat.input(2, kz);
+					cc.convert(p, p);
+					toCartesian(p);
+					final double fx = (tx - x) / s, fy = (ty - y) / s, fz = (tz - z) / s;
+					double e = 0.0;
+					for(int c = 0; c < 3; ++c) {
+						final double d = interpolate(exact_, leaf_, leaf * 8, c, fx, fy, fz) - p[c];
+						e += d * d;
+					}
+					err = Math.max(err, e);
+					if(tol < err) return Math.sqrt(err);
+				}
+			}
+		}
+		return Math.sqrt(err);
+	}
+
+	// Keep only the leaves in the tree and their vertices, in single precision
+	private void compact() {
+		final int[] leaf = new int[leafCount_ * 8];
+		int n = 0;
+		for(int node = 0; node < nodeCount_; ++node) {
+			final int c = child_[node];
+			if((c & LEAF_BIT) == 0 || (c & EXACT_BIT) != 0) continue;
+			final int i = c & ~LEAF_BIT;
+			System.arraycopy(leaf_, i * 8, leaf, n * 8, 8);
+			maxError_ = Math.max(maxError_, error_[i]);
+			child_[node] = LEAF_BIT | n;
+			++n;
+		}
+		leafCount_ = n;
+		leaf_ = Arrays.copyOf(leaf, n * 8);
+
+		final int[] map = new int[vertices_.size()];
+		Arrays.fill(map, -1);
+		int m = 0;
+		for(int i = 0; i < leaf_.length; ++i) {
+			final int v = leaf_[i];
+			if(map[v] == -1) map[v] = m++;
+			leaf_[i] = map[v];
+		}
+		value_ = new float[m * 3];
+		for(int v = 0; v < map.length; ++v) {
+			final int d = map[v];
+			if(d == -1) continue;
+			value_[d * 3] = (float)exact_[v * 3]; value_[d * 3 + 1] = (float)exact_[v * 3 + 1]; value_[d * 3 + 2] = (float)exact_[v * 3 + 2];
+		}
+		child_ = Arrays.copyOf(child_, nodeCount_);
+	}
+
+	// The same arithmetic as interpolateLeaf
+	static private double interpolate(final double[] vs, final int[] cs, final int off, final int c, final double fx, final double fy, final double fz) {
+		final double v00 = vs[cs[off] * 3 + c] + (vs[cs[off + 1] * 3 + c] - vs[cs[off] * 3 + c]) * fx;
+		final double v10 = vs[cs[off + 2] * 3 + c] + (vs[cs[off + 3] * 3 + c] - vs[cs[off + 2] * 3 + c]) * fx;
+		final double v01 = vs[cs[off + 4] * 3 + c] + (vs[cs[off + 5] * 3 + c] - vs[cs[off + 4] * 3 + c]) * fx;
+		final double v11 = vs[cs[off + 6] * 3 + c] + (vs[cs[off + 7] * 3 + c] - vs[cs[off + 6] * 3 + c]) * fx;
+		final double v0 = v00 + (v10 - v00) * fy, v1 = v01 + (v11 - v01) * fy;
+		return v0 + (v1 - v0) * fz;
+	}
+
+	// Lookup ------------------------------------------------------------------
+
+	private void lookup(final double s0, final double s1, final double s2, final double[] dest) {
+		if(interpolateLeaf(s0, s1, s2, dest)) {
+			fromCartesian(dest);
+		} else {
+			dest[0] = s0; dest[1] = s1; dest[2] = s2;
+			cc_.get().convert(dest, dest);
+		}
+	}
+
+	// Interpolate the values of the leaf (in Cartesian coordinates for a cylindrical output), and return false if the leaf is exact
+	private boolean interpolateLeaf(final double s0, final double s1, final double s2, final double[] dest) {
+		final double tx = clamp((s0 - min_[0]) * scale_[0]), ty = clamp((s1 - min_[1]) * scale_[1]), tz = clamp((s2 - min_[2]) * scale_[2]);
+		int node = 0, x = 0, y = 0, z = 0, s = RES;
+		int c;
+		while(((c = child_[node]) & LEAF_BIT) == 0) {
+			s >>= 1;
+			int k = 0;
+			if(x + s <= tx) { x += s; k |= 1; }
+			if(y + s <= ty) { y += s; k |= 2; }
+			if(z + s <= tz) { z += s; k |= 4; }
+			node = c + k;
+		}
+		if((c & EXACT_BIT) != 0) return false;
+		final int l = (c & ~LEAF_BIT) * 8;
+		final double fx = (tx - x) / s, fy = (ty - y) / s, fz = (tz - z) / s;
+		final float[] vs = value_;
+		for(int i = 0; i < 3; ++i) {
+			final double a0 = vs[leaf_[l] * 3 + i], a1 = vs[leaf_[l + 1] * 3 + i], a2 = vs[leaf_[l + 2] * 3 + i], a3 = vs[leaf_[l + 3] * 3 + i];
+			final double a4 = vs[leaf_[l + 4] * 3 + i], a5 = vs[leaf_[l + 5] * 3 + i], a6 = vs[leaf_[l + 6] * 3 + i], a7 = vs[leaf_[l + 7] * 3 + i];
+			final double v00 = a0 + (a1 - a0) * fx, v10 = a2 + (a3 - a2) * fx, v01 = a4 + (a5 - a4) * fx, v11 = a6 + (a7 - a6) * fx;
+			final double v0 = v00 + (v10 - v00) * fy, v1 = v01 + (v11 - v01) * fy;
+			dest[i] = v0 + (v1 - v0) * fz;
+		}
+		return true;
+	}
+
+	static private double clamp(final double t) {
+		return (t < 0.0) ? 0.0 : ((t > RES) ? RES : t);
+	}
+
+	/**
+	 * Convert a color. Inputs outside the domain are clamped.
+	 * This method works even if src and dest are the same object.
+	 * @param src Source color
+	 * @param dest Destination color
+	 * @return Destination color (dest)
+	 */
+	public double[] convert(final double[] src, final double[] dest) {
+		lookup(src[0], src[1], src[2], dest);
+		return dest;
+	}
+
+	/**
+	 * Convert colors stored in interleaved arrays. Inputs outside the domain are clamped.
+	 * @param src Source colors
+	 * @param srcOff Offset of src
+	 * @param dest Destination colors
+	 * @param destOff Offset of dest
+	 * @param count The number of colors
+	 * @return Destination colors (dest)
+	 */
+	public double[] convert(final double[] src, final int srcOff, final double[] dest, final int destOff, final int count) {
+		final double[] c = new double[3];
+		for(int i = 0; i < count; ++i) {
+			final int s = srcOff + i * 3, d = destOff + i * 3;
+			lookup(src[s], src[s + 1], src[s + 2], c);
+			dest[d] = c[0]; dest[d + 1] = c[1]; dest[d + 2] = c[2];
+		}
+		return dest;
+	}
+
+	/**
+	 * Convert colors of a buffer. Inputs outside the domain are clamped.
+	 * @param src Source colors
+	 * @param dest Destination colors (the same size as src)
+	 * @return Destination colors (dest)
+	 */
+	public ColorBuffer convert(final ColorBuffer src, final ColorBuffer dest) {
+		if(src.size() != dest.size()) throw new IllegalArgumentException("The sizes of src and dest are different");
+		final double[] c = new double[3];
+		for(int i = 0; i < src.size(); ++i) {
+			src.get(i, c);
+			lookup(c[0], c[1], c[2], c);
+			dest.set(i, c);
+		}
+		return dest;
+	}
+
+	// Report ------------------------------------------------------------------
+
+	/**
+	 * Return the number of leaf cells.
+	 * @return The number of leaf cells
+	 */
+	public int cellCount() {
+		return leafCount_;
+	}
+
+	/**
+	 * Return the number of leaf cells converted by the exact converter.
+	 * @return The number of exact cells
+	 */
+	public int exactCellCount() {
+		return exactCount_;
+	}
+
+	/**
+	 * Return the number of stored vertices.
+	 * @return The number of vertices
+	 */
+	public int vertexCount() {
+		return value_.length / 3;
+	}
+
+	/**
+	 * Return the memory size of the tables in bytes.
+	 * @return Memory size
+	 */
+	public long memorySize() {
+		return 4L * (child_.length + leaf_.length + value_.length);
+	}
+
+	/**
+	 * Return the maximum interpolation error of the leaf cells (except exact ones) measured while building,
+	 * at the test points and, if the LUT is validated, at the inputs of the lattice.
+	 * It does not exceed the tolerance, but the error between them can exceed it unless the inputs are on the lattice.
+	 * @return Maximum error
+	 */
+	public double maxError() {
+		return maxError_;
+	}
+
+	/**
+	 * Return the tolerance.
+	 * @return Tolerance
+	 */
+	public double tolerance() {
+		return tolerance_;
+	}
+
+	/**
+	 * Measure the interpolation error against a converter at random points of the domain.
+	 * @param cc Exact converter
+	 * @param count The number of points
+	 * @param seed Seed of random numbers
+	 * @return The maximum and the mean of errors (in Cartesian coordinates for a cylindrical output)
+	 */
+	public double[] measureError(final ColorConverter cc, final int count, final long seed) {
+		final Random r = new Random(seed);
+		final double[] p = new double[3], e = new double[3], a = new double[3];
+		double max = 0.0, sum = 0.0;
+		for(int i = 0; i < count; ++i) {
+			for(int c = 0; c < 3; ++c) p[c] = min_[c] + r.nextDouble() * RES / scale_[c];
+			cc.convert(p, e);
+			toCartesian(e);
+			lookup(p[0], p[1], p[2], a);
+			toCartesian(a);
+			final double d0 = e[0] - a[0], d1 = e[1] - a[1], d2 = e[2] - a[2];
+			final double d = Math.sqrt(d0 * d0 + d1 * d1 + d2 * d2);
+			max = Math.max(max, d);
+			sum += d;
+		}
+		return new double[] {max, sum / count};
+	}
+
+
+	// -------------------------------------------------------------------------
+
+
+	/**
+	 * A lattice of inputs; the coordinates are computed as lookup does, so that an input of the lattice is found in the same leaf.
+	 */
+	private final class Lattice {
+
+		private final double step_;
+		private final int[] last_ = new int[3];  // The last index on each channel
+
+		Lattice(final double[] max, final double step) {
+			step_ = step;
+			for(int c = 0; c < 3; ++c) last_[c] = (int)Math.floor((max[c] - min_[c]) / step);
+		}
+
+		double input(final int c, final int k) {
+			return min_[c] + k * step_;
+		}
+
+		double coordinate(final int c, final int k) {
+			return clamp((input(c, k) - min_[c]) * scale_[c]);
+		}
+
+		// The first index whose coordinate is not less than t
+		int begin(final int c, final int t) {
+			int k = Math.max(0, (int)Math.floor(t / (step_ * scale_[c])) - 1);
+			while(k <= last_[c] && coordinate(c, k) < t) ++k;
+			return k;
+		}
+
+		// The index after the last one in the cell from t of size s
+		int end(final int c, final int t, final int s) {
+			return (t + s == RES) ? last_[c] + 1 : begin(c, t + s);
+		}
+
+	}
+
+	private final class Validation extends RecursiveAction {
+
+		static private final long serialVersionUID = 1L;
+
+		private final Lattice lat_;
+		private final int[] jobs_;
+		private final double[] errs_;
+		private final int from_, to_;
+		private final boolean split_;
+
+		Validation(final Lattice lat, final int[] jobs, final double[] errs, final int from, final int to, final boolean split) {
+			lat_ = lat;
+			jobs_ = jobs; errs_ = errs;
+			from_ = from; to_ = to;
+			split_ = split;
+		}
+
+		@Override
+		protected void compute() {
+			if(split_ && to_ - from_ > 1) {
+				final int m = (from_ + to_) >>> 1;
+				invokeAll(new Validation(lat_, jobs_, errs_, from_, m, true), new Validation(lat_, jobs_, errs_, m, to_, true));
+				return;
+			}
+			for(int j = from_; j < to_; ++j) errs_[j] = validate(lat_, jobs_[j * 3], jobs_[j * 3 + 1], jobs_[j * 3 + 2]);
+		}
+
+	}
+
+}
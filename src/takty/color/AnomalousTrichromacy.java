@@ -0,0 +1,156 @@
+package takty.color;
+
+/**
+ * This class simulates anomalous trichromacy (protanomaly and deuteranomaly) with a severity from 0 to 1.
+ * The anomalous cone response is modeled as the mix of the normal response and the response of dichromacy
+ * by the method of Brettel 1997 (the same as ColorVisionSimulation.lmsToProtanopia and lmsToDeuteranopia),
+ * so a severity of 1 is dichromacy. The whole conversion in Linear RGB is one matrix M(s) = I + s(M(1) - I),
+ * which is exact because the mix is affine in the severity and the conversion between Linear RGB and LMS is linear.
+ * @author Takuto Yanagida
+ * @version 2026-10-19
+ */
+public final class AnomalousTrichromacy {
+
+	static private final double[][] DP = {{0.0, 2.02344, -2.52581}, {0.0, 1.0, 0.0}, {0.0, 0.0, 1.0}};  // See ColorVisionSimulation.lmsToProtanopia
+	static private final double[][] DD = {{1.0, 0.0, 0.0}, {0.494207, 0.0, 1.24827}, {0.0, 0.0, 1.0}};  // See ColorVisionSimulation.lmsToDeuteranopia
+
+	static private double[][] lrgbMatrix(final double[][] d, final double[][] lms, final double[][] lmsInv) {
+		return ColorConverter.Matrix.concatenate(new ColorConverter.LRGB_XYZ(), new ColorConverter.Matrix(lms),
+				new ColorConverter.Matrix(d), new ColorConverter.Matrix(lmsInv), new ColorConverter.XYZ_LRGB()).matrix();
+	}
+
+	/**
+	 * Return the simulation of the specified color vision and severity with the LMS matrix in effect (LMS.matrix).
+	 * PROTANOPIA and DEUTERANOPIA mean protanomaly and deuteranomaly respectively, and TRICHROMACY means no change.
+	 * @param vision Color vision (TRICHROMACY, PROTANOPIA or DEUTERANOPIA)
+	 * @param severity Severity [0, 1]
+	 * @return Simulation
+	 */
+	static public AnomalousTrichromacy of(final Vision vision, final double severity) {
+		return of(vision, severity, LMS.matrix, LMS.matrixInverse);
+	}
+
+	/**
+	 * Return the simulation of the specified color vision and severity with the LMS matrix of a context.
+	 * PROTANOPIA and DEUTERANOPIA mean protanomaly and deuteranomaly respectively, and TRICHROMACY means no change.
+	 * @param vision Color vision (TRICHROMACY, PROTANOPIA or DEUTERANOPIA)
+	 * @param severity Severity [0, 1]
+	 * @param context Conversion context
+	 * @return Simulation
+	 */
+	static public AnomalousTrichromacy of(final Vision vision, final double severity, final ConversionContext context) {
+		return of(vision, severity, context.lmsMatrix(), context.lmsMatrixInverse());
+	}
+
+	static private AnomalousTrichromacy of(final Vision vision, final double severity, final double[][] lms, final double[][] lmsInv) {
+		final double s = Math.max(0.0, Math.min(1.0, severity));
+		final double[][] d;
+		switch(vision) {
+		case TRICHROMACY:  return new AnomalousTrichromacy(vision, s, new double[] {1.0, 0.0, 0.0, 0.0, 1.0, 0.0, 0.0, 0.0, 1.0});
+		case PROTANOPIA:   d = DP; break;
+		case DEUTERANOPIA: d = DD; break;
+		default: throw new IllegalArgumentException(vision.toString());
+		}
+		final double[][] m1 = lrgbMatrix(d, lms, lmsInv);
+		final double[] m = new double[9];
+		for(int i = 0; i < 3; ++i) {
+			for(int j = 0; j < 3; ++j) {
+				final double e = (i == j) ? 1.0 : 0.0;
+				m[i * 3 + j] = e + s * (m1[i][j] - e);
+			}
+		}
+		return new AnomalousTrichromacy(vision, s, m);
+	}
+
+	private final Vision vision_;
+	private final double severity_;
+	private final double m00_, m01_, m02_, m10_, m11_, m12_, m20_, m21_, m22_;
+
+	private AnomalousTrichromacy(final Vision vision, final double severity, final double[] m) {
+		vision_ = vision;
+		severity_ = severity;
+		m00_ = m[0]; m01_ = m[1]; m02_ = m[2];
+		m10_ = m[3]; m11_ = m[4]; m12_ = m[5];
+		m20_ = m[6]; m21_ = m[7]; m22_ = m[8];
+	}
+
+	public Vision vision() {return vision_;}
+	public double severity() {return severity_;}
+
+	/**
+	 * Return the matrix of the simulation in Linear RGB.
+	 * @return Matrix
+	 */
+	public double[][] matrix() {
+		return new double[][] {{m00_, m01_, m02_}, {m10_, m11_, m12_}, {m20_, m21_, m22_}};
+	}
+
+	/**
+	 * Convert Linear RGB to Linear RGB in the simulated color vision.
+	 * This method works even if src and dest are the same object.
+	 * @param src Linear RGB color
+	 * @param dest Linear RGB color in the simulated color vision
+	 * @return Linear RGB color in the simulated color vision (dest)
+	 */
+	public double[] lrgbToLRGB(final double[] src, final double[] dest) {
+		final double d0 = m00_ * src[0] + m01_ * src[1] + m02_ * src[2];
+		final double d1 = m10_ * src[0] + m11_ * src[1] + m12_ * src[2];
+		final double d2 = m20_ * src[0] + m21_ * src[1] + m22_ * src[2];
+		dest[0] = d0; dest[1] = d1; dest[2] = d2;
+		return dest;
+	}
+
+	/**
+	 * Convert color integers of pixels to those in the simulated color vision. Alpha is kept.
+	 * This method works even if src and dest are the same array with the same offset.
+	 * @param src Color integers
+	 * @param srcOff Offset of src
+	 * @param dest Color integers in the simulated color vision
+	 * @param destOff Offset of dest
+	 * @param count The number of pixels
+	 * @return Color integers (dest)
+	 */
+	public int[] simulate(final int[] src, final int srcOff, final int[] dest, final int destOff, final int count) {
+		final double[] lin = RGBGammaTable.TO_LINEAR;
+		for(int i = 0; i < count; ++i) {
+			final int c = src[srcOff + i];
+			final double r = lin[(c >> 16) & 0xFF], g = lin[(c >> 8) & 0xFF], b = lin[c & 0xFF];
+			final int r2 = RGBGammaTable.toByte(m00_ * r + m01_ * g + m02_ * b);
+			final int g2 = RGBGammaTable.toByte(m10_ * r + m11_ * g + m12_ * b);
+			final int b2 = RGBGammaTable.toByte(m20_ * r + m21_ * g + m22_ * b);
+			dest[destOff + i] = (c & 0xFF000000) | (r2 << 16) | (g2 << 8) | b2;
+		}
+		return dest;
+	}
+
+	/**
+	 * Convert color integers of pixels to those in the simulated color vision. Alpha is kept.
+	 * @param src Color integers
+	 * @param dest Color integers in the simulated color vision (the same length as src)
+	 * @return Color integers (dest)
+	 */
+	public int[] simulate(final int[] src, final int[] dest) {
+		return simulate(src, 0, dest, 0, src.length);
+	}
+
+	/*
+	 * Converters ==============================================================
+	 */
+
+	/**
+	 * Create a converter from Linear RGB to Linear RGB in the simulated color vision.
+	 * @return Matrix converter
+	 */
+	public ColorConverter.Matrix createConverter() {
+		return new ColorConverter.Matrix(matrix());
+	}
+
+	/**
+	 * Create a converter from sRGB to sRGB in the simulated color vision.
+	 * @return Converter
+	 */
+	public ColorConverter createRgbToRgb() {
+		return ColorConverter.create(new ColorConverter.RGB_LRGB(), createConverter(), new ColorConverter.LRGB_RGB());
+	}
+
+}
@@ -1,943 +1,1020 @@
-package takty.color;
-
-import takty.color.Evaluation.BasicCategoricalColor;
-
-/**
- * The table of the basic categorical color
- * @author Takuto Yanagida
- * @version 2018-04-19
- */
-class BasicCategoricalColorTable {
-
-	static BasicCategoricalColor categoricalColor(double lum, double x, double y) {
-		double diff = Double.MAX_VALUE;
-		int clum = 0;
-		for(double l: lumTable) {
-			double d = Math.abs(lum - l);
-			if(d < diff) {
-				diff = d;
-				clum = (int)l;
-			}
-		}
-		double dis = Double.MAX_VALUE;
-		BasicCategoricalColor cc = BasicCategoricalColor.BLACK;
-		for(double[] ent: ccTable) {
-			if((int)ent[0] != clum || (int)ent[3] == -1) continue;
-			double d = Math.sqrt((x - ent[1]) * (x - ent[1]) + (y - ent[2]) * (y - ent[2]));
-			if(d < dis) {
-				dis = d;
-				cc = BasicCategoricalColor.values()[(int)ent[3]];
-			}
-		}
-		return cc;
-	}
-
-	static private double[] lumTable = {2.0, 5.0, 10.0, 20.0, 30.0, 40.0};
-
-	static private double[][] ccTable = {  // {Lum, x, y, Category}
-		{2, 0.175, 0.100, 5},
-		{2, 0.175, 0.125, 5},
-
-		{2, 0.200, 0.125, 5},
-		{2, 0.200, 0.150, 5},
-		{2, 0.200, 0.175, 5},
-		{2, 0.200, 0.200, 5},
-		{2, 0.200, 0.225, 5},
-
-		{2, 0.225, 0.125, 7},
-		{2, 0.225, 0.150, 5},
-		{2, 0.225, 0.175, 5},
-		{2, 0.225, 0.200, 5},
-		{2, 0.225, 0.225, 5},
-		{2, 0.225, 0.250, 5},
-		{2, 0.225, 0.275, 5},
-		{2, 0.225, 0.300, 5},
-		{2, 0.225, 0.325, 3},
-
-		{2, 0.250, 0.150, 7},
-		{2, 0.250, 0.175, 7},
-		{2, 0.250, 0.200, -1},  // purple + blue
-		{2, 0.250, 0.225, 5},
-		{2, 0.250, 0.250, 5},
-		{2, 0.250, 0.275, 5},
-		{2, 0.250, 0.300, 5},
-		{2, 0.250, 0.325, 3},
-		{2, 0.250, 0.350, 3},
-		{2, 0.250, 0.375, 3},
-		{2, 0.250, 0.400, 3},
-
-		{2, 0.275, 0.175, 7},
-		{2, 0.275, 0.200, 7},
-		{2, 0.275, 0.225, 7},
-		{2, 0.275, 0.250, 5},
-		{2, 0.275, 0.275, 5},
-		{2, 0.275, 0.300, 5},
-		{2, 0.275, 0.325, 3},
-		{2, 0.275, 0.350, 3},
-		{2, 0.275, 0.375, 3},
-		{2, 0.275, 0.400, 3},
-		{2, 0.275, 0.425, 3},
-		{2, 0.275, 0.450, 3},
-		{2, 0.275, 0.475, 3},
-
-		{2, 0.300, 0.175, 7},
-		{2, 0.300, 0.200, 7},
-		{2, 0.300, 0.225, 7},
-		{2, 0.300, 0.250, 7},
-		{2, 0.300, 0.275, 7},
-		{2, 0.300, 0.300, 1},
-		{2, 0.300, 0.325, -1},
-		{2, 0.300, 0.350, 3},
-		{2, 0.300, 0.375, 3},
-		{2, 0.300, 0.400, 3},
-		{2, 0.300, 0.425, 3},
-		{2, 0.300, 0.450, 3},
-		{2, 0.300, 0.475, 3},
-
-		{2, 0.325, 0.200, 7},
-		{2, 0.325, 0.225, 7},
-		{2, 0.325, 0.250, 7},
-		{2, 0.325, 0.275, 7},
-		{2, 0.325, 0.300, 1},
-		{2, 0.325, 0.325, 1},
-		{2, 0.325, 0.350, 1},
-		{2, 0.325, 0.375, 3},
-		{2, 0.325, 0.400, 3},
-		{2, 0.325, 0.425, 3},
-		{2, 0.325, 0.450, 3},
-
-		{2, 0.350, 0.225, 7},
-		{2, 0.350, 0.250, 7},
-		{2, 0.350, 0.275, 7},
-		{2, 0.350, 0.300, -1},
-		{2, 0.350, 0.325, 1},
-		{2, 0.350, 0.350, -1},
-		{2, 0.350, 0.375, 1},
-		{2, 0.350, 0.400, 1},
-		{2, 0.350, 0.425, 3},
-		{2, 0.350, 0.450, 3},
-
-		{2, 0.375, 0.225, 7},
-		{2, 0.375, 0.250, 7},
-		{2, 0.375, 0.275, 7},
-		{2, 0.375, 0.300, -1},  // purple + brown
-		{2, 0.375, 0.325, 6},
-		{2, 0.375, 0.350, 6},
-		{2, 0.375, 0.375, 1},
-		{2, 0.375, 0.400, 1},
-		{2, 0.375, 0.425, 3},
-
-		{2, 0.400, 0.250, 7},
-		{2, 0.400, 0.275, 7},
-		{2, 0.400, 0.300, 6},
-		{2, 0.400, 0.325, 6},
-		{2, 0.400, 0.350, 6},
-		{2, 0.400, 0.375, 6},
-		{2, 0.400, 0.400, 1},
-
-		{2, 0.425, 0.275, 7},
-		{2, 0.425, 0.300, 7},
-		{2, 0.425, 0.325, 6},
-		{2, 0.425, 0.350, 6},
-		{2, 0.425, 0.375, 6},
-		{2, 0.425, 0.400, 6},
-
-		{2, 0.450, 0.275, 7},
-		{2, 0.450, 0.300, 6},
-		{2, 0.450, 0.325, 6},
-		{2, 0.450, 0.350, 6},
-		{2, 0.450, 0.375, 6},
-
-		{2, 0.475, 0.300, 7},
-		{2, 0.475, 0.325, 6},
-		{2, 0.475, 0.350, 6},
-		{2, 0.475, 0.375, 6},
-
-		{2, 0.500, 0.325, 6},
-		{2, 0.500, 0.350, 6},
-
-		{2, 0.525, 0.325, 6},
-
-		// ------------------
-
-		{5, 0.150, 0.075, 5},
-
-		{5, 0.175, 0.100, 5},
-		{5, 0.175, 0.125, 5},
-		{5, 0.175, 0.150, 5},
-
-		{5, 0.200, 0.100, 5},
-		{5, 0.200, 0.125, 5},
-		{5, 0.200, 0.150, 5},
-		{5, 0.200, 0.175, 5},
-		{5, 0.200, 0.200, 5},
-		{5, 0.200, 0.225, 5},
-		{5, 0.200, 0.250, 5},
-
-		{5, 0.225, 0.125, 7},
-		{5, 0.225, 0.150, 7},
-		{5, 0.225, 0.175, 5},
-		{5, 0.225, 0.200, 5},
-		{5, 0.225, 0.225, 5},
-		{5, 0.225, 0.250, 5},
-		{5, 0.225, 0.275, 5},
-		{5, 0.225, 0.300, 5},
-		{5, 0.225, 0.325, 5},
-		{5, 0.225, 0.350, 3},
-		{5, 0.225, 0.375, 3},
-
-		{5, 0.250, 0.150, 7},
-		{5, 0.250, 0.175, 7},
-		{5, 0.250, 0.200, 7},
-		{5, 0.250, 0.225, 5},
-		{5, 0.250, 0.250, 5},
-		{5, 0.250, 0.275, 5},
-		{5, 0.250, 0.300, 5},
-		{5, 0.250, 0.325, 5},
-		{5, 0.250, 0.350, 3},
-		{5, 0.250, 0.375, 3},
-		{5, 0.250, 0.400, 3},
-		{5, 0.250, 0.425, 3},
-		{5, 0.250, 0.450, 3},
-		{5, 0.250, 0.475, 3},
-
-		{5, 0.275, 0.150, 7},
-		{5, 0.275, 0.175, 7},
-		{5, 0.275, 0.200, 7},
-		{5, 0.275, 0.225, 7},
-		{5, 0.275, 0.250, 7},
-		{5, 0.275, 0.275, 10},
-		{5, 0.275, 0.300, 5},
-		{5, 0.275, 0.325, 5},
-		{5, 0.275, 0.350, 5},
-		{5, 0.275, 0.375, 3},
-		{5, 0.275, 0.400, 3},
-		{5, 0.275, 0.425, 3},
-		{5, 0.275, 0.450, 3},
-		{5, 0.275, 0.475, 3},
-		{5, 0.275, 0.500, 3},
-		{5, 0.275, 0.525, 3},
-		{5, 0.275, 0.550, 3},
-
-		{5, 0.300, 0.175, 7},
-		{5, 0.300, 0.200, 7},
-		{5, 0.300, 0.225, 7},
-		{5, 0.300, 0.250, 7},
-		{5, 0.300, 0.275, 7},
-		{5, 0.300, 0.300, 10},
-		{5, 0.300, 0.325, 10},
-		{5, 0.300, 0.350, 3},
-		{5, 0.300, 0.375, 3},
-		{5, 0.300, 0.400, 3},
-		{5, 0.300, 0.425, 3},
-		{5, 0.300, 0.450, 3},
-		{5, 0.300, 0.475, 3},
-		{5, 0.300, 0.500, 3},
-		{5, 0.300, 0.525, 3},
-
-		{5, 0.325, 0.200, 7},
-		{5, 0.325, 0.225, 7},
-		{5, 0.325, 0.250, 7},
-		{5, 0.325, 0.275, 7},
-		{5, 0.325, 0.300, 10},
-		{5, 0.325, 0.325, 10},
-		{5, 0.325, 0.350, 10},
-		{5, 0.325, 0.375, 3},
-		{5, 0.325, 0.400, 3},
-		{5, 0.325, 0.425, 3},
-		{5, 0.325, 0.450, 3},
-		{5, 0.325, 0.475, 3},
-		{5, 0.325, 0.500, 3},
-
-		{5, 0.350, 0.200, 7},
-		{5, 0.350, 0.225, 7},
-		{5, 0.350, 0.250, 7},
-		{5, 0.350, 0.275, 7},
-		{5, 0.350, 0.300, 7},
-		{5, 0.350, 0.325, 10},
-		{5, 0.350, 0.350, 10},
-		{5, 0.350, 0.375, 10},
-		{5, 0.350, 0.400, 3},
-		{5, 0.350, 0.425, 3},
-		{5, 0.350, 0.450, 3},
-		{5, 0.350, 0.475, 3},
-		{5, 0.350, 0.500, 3},
-
-		{5, 0.375, 0.225, 7},
-		{5, 0.375, 0.250, 7},
-		{5, 0.375, 0.275, 7},
-		{5, 0.375, 0.300, 7},
-		{5, 0.375, 0.325, 6},
-		{5, 0.375, 0.350, 6},
-		{5, 0.375, 0.375, 6},
-		{5, 0.375, 0.400, 3},
-		{5, 0.375, 0.425, 3},
-		{5, 0.375, 0.450, 3},
-		{5, 0.375, 0.475, 3},
-
-		{5, 0.400, 0.225, 7},
-		{5, 0.400, 0.250, 7},
-		{5, 0.400, 0.275, 7},
-		{5, 0.400, 0.300, 7},
-		{5, 0.400, 0.325, 6},
-		{5, 0.400, 0.350, 6},
-		{5, 0.400, 0.375, 6},
-		{5, 0.400, 0.400, 6},
-		{5, 0.400, 0.425, 3},
-		{5, 0.400, 0.450, 3},
-
-		{5, 0.425, 0.250, 7},
-		{5, 0.425, 0.275, 7},
-		{5, 0.425, 0.300, 7},
-		{5, 0.425, 0.325, 6},
-		{5, 0.425, 0.350, 6},
-		{5, 0.425, 0.375, 6},
-		{5, 0.425, 0.400, 6},
-		{5, 0.425, 0.425, 6},
-		{5, 0.425, 0.450, 3},
-
-		{5, 0.450, 0.275, 7},
-		{5, 0.450, 0.300, 7},
-		{5, 0.450, 0.325, 6},
-		{5, 0.450, 0.350, 6},
-		{5, 0.450, 0.375, 6},
-		{5, 0.450, 0.400, 6},
-		{5, 0.450, 0.425, 6},
-
-		{5, 0.475, 0.275, 7},
-		{5, 0.475, 0.300, 7},
-		{5, 0.475, 0.325, 6},
-		{5, 0.475, 0.350, 6},
-		{5, 0.475, 0.375, 6},
-		{5, 0.475, 0.400, 6},
-
-		{5, 0.500, 0.300, 2},
-		{5, 0.500, 0.325, 6},
-		{5, 0.500, 0.350, 6},
-		{5, 0.500, 0.375, 6},
-		{5, 0.500, 0.400, 6},
-
-		{5, 0.525, 0.300, 7},
-		{5, 0.525, 0.325, 6},
-		{5, 0.525, 0.350, 6},
-		{5, 0.525, 0.375, 6},
-
-		{5, 0.550, 0.325, 6},
-		{5, 0.550, 0.350, 6},
-
-		{5, 0.575, 0.350, 6},
-
-		// ------------------
-
-		{10, 0.150, 0.075, 5},
-
-		{10, 0.175, 0.100, 5},
-		{10, 0.175, 0.125, 5},
-		{10, 0.175, 0.150, 5},
-
-		{10, 0.200, 0.100, 7},
-		{10, 0.200, 0.125, 5},
-		{10, 0.200, 0.150, 5},
-		{10, 0.200, 0.175, 5},
-		{10, 0.200, 0.200, 5},
-		{10, 0.200, 0.225, 5},
-		{10, 0.200, 0.250, 5},
-		{10, 0.200, 0.275, 5},
-
-		{10, 0.225, 0.125, 7},
-		{10, 0.225, 0.150, 7},
-		{10, 0.225, 0.175, 5},
-		{10, 0.225, 0.200, 5},
-		{10, 0.225, 0.225, 5},
-		{10, 0.225, 0.250, 5},
-		{10, 0.225, 0.275, 5},
-		{10, 0.225, 0.300, 5},
-		{10, 0.225, 0.325, 5},
-		{10, 0.225, 0.350, 5},
-		{10, 0.225, 0.375, 3},
-		{10, 0.225, 0.400, 3},
-
-		{10, 0.250, 0.150, 7},
-		{10, 0.250, 0.175, 7},
-		{10, 0.250, 0.200, 7},
-		{10, 0.250, 0.225, 5},
-		{10, 0.250, 0.250, 5},
-		{10, 0.250, 0.275, 5},
-		{10, 0.250, 0.300, 5},
-		{10, 0.250, 0.325, 5},
-		{10, 0.250, 0.350, 3},
-		{10, 0.250, 0.375, 3},
-		{10, 0.250, 0.400, 3},
-		{10, 0.250, 0.425, 3},
-		{10, 0.250, 0.450, 3},
-		{10, 0.250, 0.475, 3},
-		{10, 0.250, 0.500, 3},
-
-		{10, 0.275, 0.150, 7},
-		{10, 0.275, 0.175, 7},
-		{10, 0.275, 0.200, 7},
-		{10, 0.275, 0.225, 7},
-		{10, 0.275, 0.250, 7},
-		{10, 0.275, 0.275, 10},
-		{10, 0.275, 0.300, 5},
-		{10, 0.275, 0.325, 5},
-		{10, 0.275, 0.350, 3},
-		{10, 0.275, 0.375, 3},
-		{10, 0.275, 0.400, 3},
-		{10, 0.275, 0.425, 3},
-		{10, 0.275, 0.450, 3},
-		{10, 0.275, 0.475, 3},
-		{10, 0.275, 0.500, 3},
-		{10, 0.275, 0.525, 3},
-		{10, 0.275, 0.550, 3},
-		{10, 0.275, 0.575, 3},
-
-		{10, 0.300, 0.175, 7},
-		{10, 0.300, 0.200, 7},
-		{10, 0.300, 0.225, 7},
-		{10, 0.300, 0.250, 7},
-		{10, 0.300, 0.275, 10},
-		{10, 0.300, 0.300, 10},
-		{10, 0.300, 0.325, 10},
-		{10, 0.300, 0.350, 3},
-		{10, 0.300, 0.375, 3},
-		{10, 0.300, 0.400, 3},
-		{10, 0.300, 0.425, 3},
-		{10, 0.300, 0.450, 3},
-		{10, 0.300, 0.475, 3},
-		{10, 0.300, 0.500, 3},
-		{10, 0.300, 0.525, 3},
-		{10, 0.300, 0.550, 3},
-
-		{10, 0.325, 0.175, 7},
-		{10, 0.325, 0.200, 7},
-		{10, 0.325, 0.225, 7},
-		{10, 0.325, 0.250, 7},
-		{10, 0.325, 0.275, 7},
-		{10, 0.325, 0.300, 10},
-		{10, 0.325, 0.325, 10},
-		{10, 0.325, 0.350, 10},
-		{10, 0.325, 0.375, 3},
-		{10, 0.325, 0.400, 3},
-		{10, 0.325, 0.425, 3},
-		{10, 0.325, 0.450, 3},
-		{10, 0.325, 0.475, 3},
-		{10, 0.325, 0.500, 3},
-		{10, 0.325, 0.525, 3},
-
-		{10, 0.350, 0.200, 7},
-		{10, 0.350, 0.225, 7},
-		{10, 0.350, 0.250, 7},
-		{10, 0.350, 0.275, 7},
-		{10, 0.350, 0.300, 7},
-		{10, 0.350, 0.325, -1},
-		{10, 0.350, 0.350, 10},
-		{10, 0.350, 0.375, 10},
-		{10, 0.350, 0.400, 3},
-		{10, 0.350, 0.425, 3},
-		{10, 0.350, 0.450, 3},
-		{10, 0.350, 0.475, 3},
-		{10, 0.350, 0.500, 3},
-
-		{10, 0.375, 0.225, 7},
-		{10, 0.375, 0.250, 7},
-		{10, 0.375, 0.275, 7},
-		{10, 0.375, 0.300, 7},
-		{10, 0.375, 0.325, 6},
-		{10, 0.375, 0.350, 6},
-		{10, 0.375, 0.375, 6},
-		{10, 0.375, 0.400, 3},
-		{10, 0.375, 0.425, 3},
-		{10, 0.375, 0.450, 3},
-		{10, 0.375, 0.475, 3},
-		{10, 0.375, 0.500, 3},
-
-		{10, 0.400, 0.225, 7},
-		{10, 0.400, 0.250, 7},
-		{10, 0.400, 0.275, -1},  // pink + purple
-		{10, 0.400, 0.300, -1},  // pink + purple
-		{10, 0.400, 0.325, 8},
-		{10, 0.400, 0.350, 6},
-		{10, 0.400, 0.375, 6},
-		{10, 0.400, 0.400, 6},
-		{10, 0.400, 0.425, 3},
-		{10, 0.400, 0.450, 3},
-		{10, 0.400, 0.475, 3},
-
-		{10, 0.425, 0.250, 8},
-		{10, 0.425, 0.275, -1},  // pink + purple
-		{10, 0.425, 0.300, -1},  // pink + purple
-		{10, 0.425, 0.325, 6},
-		{10, 0.425, 0.350, 6},
-		{10, 0.425, 0.375, 6},
-		{10, 0.425, 0.400, 6},
-		{10, 0.425, 0.425, 6},
-		{10, 0.425, 0.450, 3},
-
-		{10, 0.450, 0.250, 8},
-		{10, 0.450, 0.275, 8},
-		{10, 0.450, 0.300, -1},
-		{10, 0.450, 0.325, 6},
-		{10, 0.450, 0.350, 6},
-		{10, 0.450, 0.375, 6},
-		{10, 0.450, 0.400, 6},
-		{10, 0.450, 0.425, 6},
-		{10, 0.450, 0.450, 6},
-
-		{10, 0.475, 0.275, 8},
-		{10, 0.475, 0.300, 2},
-		{10, 0.475, 0.325, 8},
-		{10, 0.475, 0.350, 6},
-		{10, 0.475, 0.375, 6},
-		{10, 0.475, 0.400, 6},
-		{10, 0.475, 0.425, 6},
-
-		{10, 0.500, 0.300, 2},
-		{10, 0.500, 0.325, -1},
-		{10, 0.500, 0.350, 6},
-		{10, 0.500, 0.375, 6},
-		{10, 0.500, 0.400, 6},
-
-		{10, 0.525, 0.300, 2},
-		{10, 0.525, 0.325, 2},
-		{10, 0.525, 0.350, 9},
-		{10, 0.525, 0.375, 9},
-		{10, 0.525, 0.400, 6},
-
-		{10, 0.550, 0.325, 2},
-		{10, 0.550, 0.350, 9},
-		{10, 0.550, 0.375, 9},
-
-		{10, 0.575, 0.325, 2},
-		{10, 0.575, 0.350, 9},
-
-		// ------------------
-
-		{20, 0.175, 0.150, 5},
-
-		{20, 0.200, 0.150, 5},
-		{20, 0.200, 0.175, 5},
-		{20, 0.200, 0.200, 5},
-		{20, 0.200, 0.225, 5},
-		{20, 0.200, 0.250, 5},
-		{20, 0.200, 0.275, 5},
-
-		{20, 0.225, 0.125, 7},
-		{20, 0.225, 0.150, 7},
-		{20, 0.225, 0.175, 5},
-		{20, 0.225, 0.200, 5},
-		{20, 0.225, 0.225, 5},
-		{20, 0.225, 0.250, 5},
-		{20, 0.225, 0.275, 5},
-		{20, 0.225, 0.300, 5},
-		{20, 0.225, 0.325, 5},
-		{20, 0.225, 0.350, 5},
-		{20, 0.225, 0.375, 3},
-		{20, 0.225, 0.400, 3},
-
-		{20, 0.250, 0.125, 7},
-		{20, 0.250, 0.150, 7},
-		{20, 0.250, 0.175, 7},
-		{20, 0.250, 0.200, 7},
-		{20, 0.250, 0.225, 7},
-		{20, 0.250, 0.250, 5},
-		{20, 0.250, 0.275, 5},
-		{20, 0.250, 0.300, 5},
-		{20, 0.250, 0.325, 5},
-		{20, 0.250, 0.350, 5},
-		{20, 0.250, 0.375, 3},
-		{20, 0.250, 0.400, 3},
-		{20, 0.250, 0.425, 3},
-		{20, 0.250, 0.450, 3},
-		{20, 0.250, 0.475, 3},
-		{20, 0.250, 0.500, 3},
-		{20, 0.250, 0.525, 3},
-
-		{20, 0.275, 0.150, 7},
-		{20, 0.275, 0.175, 7},
-		{20, 0.275, 0.200, 7},
-		{20, 0.275, 0.225, 7},
-		{20, 0.275, 0.250, 7},
-		{20, 0.275, 0.275, 5},
-		{20, 0.275, 0.300, 5},
-		{20, 0.275, 0.325, 5},
-		{20, 0.275, 0.350, 3},
-		{20, 0.275, 0.375, 3},
-		{20, 0.275, 0.400, 3},
-		{20, 0.275, 0.425, 3},
-		{20, 0.275, 0.450, 3},
-		{20, 0.275, 0.475, 3},
-		{20, 0.275, 0.500, 3},
-		{20, 0.275, 0.525, 3},
-		{20, 0.275, 0.550, 3},
-		{20, 0.275, 0.575, 3},
-
-		{20, 0.300, 0.175, 7},
-		{20, 0.300, 0.200, 7},
-		{20, 0.300, 0.225, 7},
-		{20, 0.300, 0.250, 7},
-		{20, 0.300, 0.275, 7},
-		{20, 0.300, 0.300, -1},  // purple + gray
-		{20, 0.300, 0.325, 10},
-		{20, 0.300, 0.350, 3},
-		{20, 0.300, 0.375, 3},
-		{20, 0.300, 0.400, 3},
-		{20, 0.300, 0.425, 3},
-		{20, 0.300, 0.450, 3},
-		{20, 0.300, 0.475, 3},
-		{20, 0.300, 0.500, 3},
-		{20, 0.300, 0.525, 3},
-		{20, 0.300, 0.550, 3},
-
-		{20, 0.325, 0.175, 7},
-		{20, 0.325, 0.200, 7},
-		{20, 0.325, 0.225, 7},
-		{20, 0.325, 0.250, 7},
-		{20, 0.325, 0.275, 7},
-		{20, 0.325, 0.300, 7},
-		{20, 0.325, 0.325, 10},
-		{20, 0.325, 0.350, -1},  // gray + green
-		{20, 0.325, 0.375, 3},
-		{20, 0.325, 0.400, 3},
-		{20, 0.325, 0.425, 3},
-		{20, 0.325, 0.450, 3},
-		{20, 0.325, 0.475, 3},
-		{20, 0.325, 0.500, 3},
-		{20, 0.325, 0.525, 3},
-
-		{20, 0.350, 0.200, -1},  // purple + pink
-		{20, 0.350, 0.225, 7},
-		{20, 0.350, 0.250, 7},
-		{20, 0.350, 0.275, -1},  // purple + pink
-		{20, 0.350, 0.300, 8},
-		{20, 0.350, 0.325, -1},  // purple + pink
-		{20, 0.350, 0.350, 10},
-		{20, 0.350, 0.375, 3},
-		{20, 0.350, 0.400, 3},
-		{20, 0.350, 0.425, 3},
-		{20, 0.350, 0.450, 3},
-		{20, 0.350, 0.475, 3},
-		{20, 0.350, 0.500, 3},
-		{20, 0.350, 0.525, 3},
-
-		{20, 0.375, 0.225, 8},
-		{20, 0.375, 0.250, 8},
-		{20, 0.375, 0.275, 8},
-		{20, 0.375, 0.300, 8},
-		{20, 0.375, 0.325, 8},
-		{20, 0.375, 0.350, 8},
-		{20, 0.375, 0.375, 6},
-		{20, 0.375, 0.400, 3},
-		{20, 0.375, 0.425, 3},
-		{20, 0.375, 0.450, 3},
-		{20, 0.375, 0.475, 3},
-		{20, 0.375, 0.500, 3},
-
-		{20, 0.400, 0.225, 8},
-		{20, 0.400, 0.250, 8},
-		{20, 0.400, 0.275, 8},
-		{20, 0.400, 0.300, 8},
-		{20, 0.400, 0.325, 8},
-		{20, 0.400, 0.350, 8},
-		{20, 0.400, 0.375, 6},
-		{20, 0.400, 0.400, 6},
-		{20, 0.400, 0.425, 3},
-		{20, 0.400, 0.450, 3},
-		{20, 0.400, 0.475, 3},
-
-		{20, 0.425, 0.250, 8},
-		{20, 0.425, 0.275, 8},
-		{20, 0.425, 0.300, 8},
-		{20, 0.425, 0.325, 8},
-		{20, 0.425, 0.350, 8},
-		{20, 0.425, 0.375, 9},
-		{20, 0.425, 0.400, 6},
-		{20, 0.425, 0.425, 4},
-		{20, 0.425, 0.450, 4},
-		{20, 0.425, 0.475, 3},
-
-		{20, 0.450, 0.250, 8},
-		{20, 0.450, 0.275, 8},
-		{20, 0.450, 0.300, 8},
-		{20, 0.450, 0.325, 8},
-		{20, 0.450, 0.350, 9},
-		{20, 0.450, 0.375, 9},
-		{20, 0.450, 0.400, 9},
-		{20, 0.450, 0.425, -1},
-		{20, 0.450, 0.450, 4},
-
-		{20, 0.475, 0.275, 8},
-		{20, 0.475, 0.300, 8},
-		{20, 0.475, 0.325, 8},
-		{20, 0.475, 0.350, 9},
-		{20, 0.475, 0.375, 9},
-		{20, 0.475, 0.400, 9},
-		{20, 0.475, 0.425, 9},
-
-		{20, 0.500, 0.300, 8},
-		{20, 0.500, 0.325, 8},
-		{20, 0.500, 0.350, 9},
-		{20, 0.500, 0.375, 9},
-		{20, 0.500, 0.400, 9},
-		{20, 0.500, 0.425, 9},
-
-		{20, 0.525, 0.325, 2},
-		{20, 0.525, 0.350, 9},
-		{20, 0.525, 0.375, 9},
-		{20, 0.525, 0.400, 9},
-
-		{20, 0.550, 0.350, 9},
-		{20, 0.550, 0.375, 9},
-
-		{20, 0.575, 0.350, 9},
-
-		// ------------------
-
-		{30, 0.200, 0.175, 5},
-		{30, 0.200, 0.200, 5},
-		{30, 0.200, 0.225, 5},
-		{30, 0.200, 0.250, 5},
-		{30, 0.200, 0.275, 5},
-
-		{30, 0.225, 0.175, -1},  // puple + blue
-		{30, 0.225, 0.200, 5},
-		{30, 0.225, 0.225, 5},
-		{30, 0.225, 0.250, 5},
-		{30, 0.225, 0.275, 5},
-		{30, 0.225, 0.300, 5},
-		{30, 0.225, 0.325, 5},
-		{30, 0.225, 0.350, 3},
-		{30, 0.225, 0.375, 3},
-		{30, 0.225, 0.400, 3},
-
-		{30, 0.250, 0.175, 7},
-		{30, 0.250, 0.200, 7},
-		{30, 0.250, 0.225, 7},
-		{30, 0.250, 0.250, 5},
-		{30, 0.250, 0.275, 5},
-		{30, 0.250, 0.300, 5},
-		{30, 0.250, 0.325, 5},
-		{30, 0.250, 0.350, 5},
-		{30, 0.250, 0.375, 3},
-		{30, 0.250, 0.400, 3},
-		{30, 0.250, 0.425, 3},
-		{30, 0.250, 0.450, 3},
-		{30, 0.250, 0.475, 3},
-		{30, 0.250, 0.500, 3},
-		{30, 0.250, 0.525, 3},
-
-		{30, 0.275, 0.175, 7},
-		{30, 0.275, 0.200, 7},
-		{30, 0.275, 0.225, 7},
-		{30, 0.275, 0.250, 7},
-		{30, 0.275, 0.275, 5},
-		{30, 0.275, 0.300, 5},
-		{30, 0.275, 0.325, 5},
-		{30, 0.275, 0.350, 3},
-		{30, 0.275, 0.375, 3},
-		{30, 0.275, 0.400, 3},
-		{30, 0.275, 0.425, 3},
-		{30, 0.275, 0.450, 3},
-		{30, 0.275, 0.475, 3},
-		{30, 0.275, 0.500, 3},
-		{30, 0.275, 0.525, 3},
-		{30, 0.275, 0.550, 3},
-		{30, 0.275, 0.575, 3},
-
-		{30, 0.300, 0.200, 7},
-		{30, 0.300, 0.225, 7},
-		{30, 0.300, 0.250, 7},
-		{30, 0.300, 0.275, 7},
-		{30, 0.300, 0.300, 5},
-		{30, 0.300, 0.325, 5},
-		{30, 0.300, 0.350, 5},
-		{30, 0.300, 0.375, 3},
-		{30, 0.300, 0.400, 3},
-		{30, 0.300, 0.425, 3},
-		{30, 0.300, 0.450, 3},
-		{30, 0.300, 0.475, 3},
-		{30, 0.300, 0.500, 3},
-		{30, 0.300, 0.525, 3},
-		{30, 0.300, 0.550, 3},
-
-		{30, 0.325, 0.225, -1},  // pink + purple
-		{30, 0.325, 0.250, -1},  // pink + purple
-		{30, 0.325, 0.275, 7},
-		{30, 0.325, 0.300, 7},
-		{30, 0.325, 0.325, 0},
-		{30, 0.325, 0.350, 3},
-		{30, 0.325, 0.375, 3},
-		{30, 0.325, 0.400, 3},
-		{30, 0.325, 0.425, 3},
-		{30, 0.325, 0.450, 3},
-		{30, 0.325, 0.475, 3},
-		{30, 0.325, 0.500, 3},
-		{30, 0.325, 0.525, 3},
-		{30, 0.325, 0.550, 3},
-
-		{30, 0.350, 0.250, 8},
-		{30, 0.350, 0.275, 8},
-		{30, 0.350, 0.300, 8},
-		{30, 0.350, 0.325, 8},
-		{30, 0.350, 0.350, 4},
-		{30, 0.350, 0.375, 4},
-		{30, 0.350, 0.400, 3},
-		{30, 0.350, 0.425, 3},
-		{30, 0.350, 0.450, 3},
-		{30, 0.350, 0.475, 3},
-		{30, 0.350, 0.500, 3},
-		{30, 0.350, 0.525, 3},
-
-		{30, 0.375, 0.275, 8},
-		{30, 0.375, 0.300, 8},
-		{30, 0.375, 0.325, 8},
-		{30, 0.375, 0.350, 8},
-		{30, 0.375, 0.375, 4},
-		{30, 0.375, 0.400, 4},
-		{30, 0.375, 0.425, 3},
-		{30, 0.375, 0.450, 3},
-		{30, 0.375, 0.475, 3},
-		{30, 0.375, 0.500, 3},
-
-		{30, 0.400, 0.300, 8},
-		{30, 0.400, 0.325, 8},
-		{30, 0.400, 0.350, 8},
-		{30, 0.400, 0.375, 9},
-		{30, 0.400, 0.400, 4},
-		{30, 0.400, 0.425, 4},
-		{30, 0.400, 0.450, 4},
-		{30, 0.400, 0.475, 3},
-
-		{30, 0.425, 0.325, 8},
-		{30, 0.425, 0.350, 8},
-		{30, 0.425, 0.375, 9},
-		{30, 0.425, 0.400, 9},
-		{30, 0.425, 0.425, 4},
-		{30, 0.425, 0.450, 4},
-		{30, 0.425, 0.475, 4},
-
-		{30, 0.450, 0.350, 8},
-		{30, 0.450, 0.375, 9},
-		{30, 0.450, 0.400, 9},
-		{30, 0.450, 0.425, 4},
-		{30, 0.450, 0.450, 4},
-
-		{30, 0.475, 0.375, 9},
-		{30, 0.475, 0.400, 9},
-		{30, 0.475, 0.425, 4},
-
-		{30, 0.500, 0.400, 9},
-		{30, 0.500, 0.425, 9},
-
-		// ------------------
-
-		{40, 0.200, 0.225, 5},
-		{40, 0.200, 0.250, 5},
-		{40, 0.200, 0.275, 5},
-
-		{40, 0.225, 0.225, 5},
-		{40, 0.225, 0.250, 5},
-		{40, 0.225, 0.275, 5},
-		{40, 0.225, 0.300, 5},
-		{40, 0.225, 0.325, 5},
-		{40, 0.225, 0.350, 5},
-		{40, 0.225, 0.375, 3},
-		{40, 0.225, 0.400, 3},
-
-		{40, 0.250, 0.200, 7},
-		{40, 0.250, 0.225, 5},
-		{40, 0.250, 0.250, 5},
-		{40, 0.250, 0.275, 5},
-		{40, 0.250, 0.300, 5},
-		{40, 0.250, 0.325, 5},
-		{40, 0.250, 0.350, 3},
-		{40, 0.250, 0.375, 5},
-		{40, 0.250, 0.400, 3},
-		{40, 0.250, 0.425, 3},
-		{40, 0.250, 0.450, 3},
-		{40, 0.250, 0.475, 3},
-		{40, 0.250, 0.500, 3},
-		{40, 0.250, 0.525, 3},
-
-		{40, 0.275, 0.200, 7},
-		{40, 0.275, 0.225, 7},
-		{40, 0.275, 0.250, 7},
-		{40, 0.275, 0.275, 5},
-		{40, 0.275, 0.300, 5},
-		{40, 0.275, 0.325, 5},
-		{40, 0.275, 0.350, 3},
-		{40, 0.275, 0.375, 3},
-		{40, 0.275, 0.400, 3},
-		{40, 0.275, 0.425, 3},
-		{40, 0.275, 0.450, 3},
-		{40, 0.275, 0.475, 3},
-		{40, 0.275, 0.500, 3},
-		{40, 0.275, 0.525, 3},
-		{40, 0.275, 0.550, 3},
-		{40, 0.275, 0.575, 3},
-
-		{40, 0.300, 0.225, 7},
-		{40, 0.300, 0.250, 7},
-		{40, 0.300, 0.275, 7},
-		{40, 0.300, 0.300, 0},
-		{40, 0.300, 0.325, 5},
-		{40, 0.300, 0.350, 3},
-		{40, 0.300, 0.375, 3},
-		{40, 0.300, 0.400, 3},
-		{40, 0.300, 0.425, 3},
-		{40, 0.300, 0.450, 3},
-		{40, 0.300, 0.475, 3},
-		{40, 0.300, 0.500, 3},
-		{40, 0.300, 0.525, 3},
-		{40, 0.300, 0.550, 3},
-
-		{40, 0.325, 0.275, 8},
-		{40, 0.325, 0.300, -1},  // pink + purple
-		{40, 0.325, 0.325, 0},
-		{40, 0.325, 0.350, 0},
-		{40, 0.325, 0.375, 3},
-		{40, 0.325, 0.400, 3},
-		{40, 0.325, 0.425, 3},
-		{40, 0.325, 0.450, 3},
-		{40, 0.325, 0.475, 3},
-		{40, 0.325, 0.500, 3},
-		{40, 0.325, 0.525, 3},
-		{40, 0.325, 0.550, 3},
-
-		{40, 0.350, 0.300, 8},
-		{40, 0.350, 0.325, 8},
-		{40, 0.350, 0.350, 0},
-		{40, 0.350, 0.375, 4},
-		{40, 0.350, 0.400, 3},
-		{40, 0.350, 0.425, 3},
-		{40, 0.350, 0.450, 3},
-		{40, 0.350, 0.475, 3},
-		{40, 0.350, 0.500, 3},
-		{40, 0.350, 0.525, 3},
-
-		{40, 0.375, 0.325, 8},
-		{40, 0.375, 0.350, 8},
-		{40, 0.375, 0.375, 4},
-		{40, 0.375, 0.400, 4},
-		{40, 0.375, 0.425, 4},
-		{40, 0.375, 0.450, 3},
-		{40, 0.375, 0.475, 3},
-		{40, 0.375, 0.500, 3},
-
-		{40, 0.400, 0.375, 9},
-		{40, 0.400, 0.400, 4},
-		{40, 0.400, 0.425, 4},
-		{40, 0.400, 0.450, 4},
-		{40, 0.400, 0.475, 4},
-		{40, 0.400, 0.500, 3},
-
-		{40, 0.425, 0.400, 4},
-		{40, 0.425, 0.425, 4},
-		{40, 0.425, 0.450, 4},
-		{40, 0.425, 0.475, 4},
-
-		{40, 0.450, 0.425, 4},
-		{40, 0.450, 0.450, 4},
-	};
-
-}
+package takty.color;
+
+import java.util.Arrays;
+import takty.color.Evaluation.BasicCategoricalColor;
+
+/**
+ * The table of the basic categorical color
+ * @author Takuto Yanagida
+ * @version 2026-10-18
+ */
+class BasicCategoricalColorTable {
+
+	static BasicCategoricalColor categoricalColor(double lum, double x, double y) {
+		final int c = categoryIndex(lum, x, y);
+		return (c == -1) ? BasicCategoricalColor.BLACK : CATEGORIES[c];
+	}
+
+	// Returns the ordinal of the nearest sample's category, or -1 if there is none.
+	static int categoryIndex(double lum, double x, double y) {
+		double diff = Double.MAX_VALUE;
+		int li = -1;
+		for(int i = 0; i < lumTable.length; ++i) {
+			double d = Math.abs(lum - lumTable[i]);
+			if(d < diff) {
+				diff = d;
+				li = i;
+			}
+		}
+		if(li == -1 || Double.isNaN(x) || Double.isNaN(y)) return -1;
+
+		final int w = GRID_W[li], h = GRID_H[li], off = GRID_OFFSET[li];
+		final double u = x / STEP - GRID_I0[li], v = y / STEP - GRID_J0[li];
+		final int ci = (int)Math.max(0, Math.min(w - 1, Math.round(u)));
+		final int cj = (int)Math.max(0, Math.min(h - 1, Math.round(v)));
+		final double slack = Math.max(Math.abs(u - ci), Math.abs(v - cj));
+
+		// Search square rings around the nearest cell until no farther ring can contain a closer sample
+		double dis = Double.MAX_VALUE;
+		int best = -1;
+		for(int r = 0, rn = Math.max(w, h); r <= rn; ++r) {
+			for(int i = Math.max(0, ci - r), ie = Math.min(w - 1, ci + r); i <= ie; ++i) {
+				final int dj = (i == ci - r || i == ci + r) ? 1 : 2 * r;  // Whole column at both ends, otherwise only the top and bottom
+				for(int j = cj - r; j <= cj + r; j += dj) {
+					if(j < 0 || h <= j) continue;
+					final int s = GRID[off + i * h + j];
+					if(s == -1) continue;
+					final double d = Math.sqrt((x - SAMPLE_X[s]) * (x - SAMPLE_X[s]) + (y - SAMPLE_Y[s]) * (y - SAMPLE_Y[s]));
+					if(d < dis || (d == dis && s < best)) {  // Ties go to the earlier sample as in the table order
+						dis = d;
+						best = s;
+					}
+				}
+			}
+			final double bound = (r + 1 - slack) * STEP;
+			if(best != -1 && 0.0 < bound && dis < bound - EP) break;
+		}
+		return (best == -1) ? -1 : SAMPLE_C[best];
+	}
+
+	static private double[] lumTable = {2.0, 5.0, 10.0, 20.0, 30.0, 40.0};
+
+	static private double[][] ccTable = {  // {Lum, x, y, Category}
+		{2, 0.175, 0.100, 5},
+		{2, 0.175, 0.125, 5},
+
+		{2, 0.200, 0.125, 5},
+		{2, 0.200, 0.150, 5},
+		{2, 0.200, 0.175, 5},
+		{2, 0.200, 0.200, 5},
+		{2, 0.200, 0.225, 5},
+
+		{2, 0.225, 0.125, 7},
+		{2, 0.225, 0.150, 5},
+		{2, 0.225, 0.175, 5},
+		{2, 0.225, 0.200, 5},
+		{2, 0.225, 0.225, 5},
+		{2, 0.225, 0.250, 5},
+		{2, 0.225, 0.275, 5},
+		{2, 0.225, 0.300, 5},
+		{2, 0.225, 0.325, 3},
+
+		{2, 0.250, 0.150, 7},
+		{2, 0.250, 0.175, 7},
+		{2, 0.250, 0.200, -1},  // purple + blue
+		{2, 0.250, 0.225, 5},
+		{2, 0.250, 0.250, 5},
+		{2, 0.250, 0.275, 5},
+		{2, 0.250, 0.300, 5},
+		{2, 0.250, 0.325, 3},
+		{2, 0.250, 0.350, 3},
+		{2, 0.250, 0.375, 3},
+		{2, 0.250, 0.400, 3},
+
+		{2, 0.275, 0.175, 7},
+		{2, 0.275, 0.200, 7},
+		{2, 0.275, 0.225, 7},
+		{2, 0.275, 0.250, 5},
+		{2, 0.275, 0.275, 5},
+		{2, 0.275, 0.300, 5},
+		{2, 0.275, 0.325, 3},
+		{2, 0.275, 0.350, 3},
+		{2, 0.275, 0.375, 3},
+		{2, 0.275, 0.400, 3},
+		{2, 0.275, 0.425, 3},
+		{2, 0.275, 0.450, 3},
+		{2, 0.275, 0.475, 3},
+
+		{2, 0.300, 0.175, 7},
+		{2, 0.300, 0.200, 7},
+		{2, 0.300, 0.225, 7},
+		{2, 0.300, 0.250, 7},
+		{2, 0.300, 0.275, 7},
+		{2, 0.300, 0.300, 1},
+		{2, 0.300, 0.325, -1},
+		{2, 0.300, 0.350, 3},
+		{2, 0.300, 0.375, 3},
+		{2, 0.300, 0.400, 3},
+		{2, 0.300, 0.425, 3},
+		{2, 0.300, 0.450, 3},
+		{2, 0.300, 0.475, 3},
+
+		{2, 0.325, 0.200, 7},
+		{2, 0.325, 0.225, 7},
+		{2, 0.325, 0.250, 7},
+		{2, 0.325, 0.275, 7},
+		{2, 0.325, 0.300, 1},
+		{2, 0.325, 0.325, 1},
+		{2, 0.325, 0.350, 1},
+		{2, 0.325, 0.375, 3},
+		{2, 0.325, 0.400, 3},
+		{2, 0.325, 0.425, 3},
+		{2, 0.325, 0.450, 3},
+
+		{2, 0.350, 0.225, 7},
+		{2, 0.350, 0.250, 7},
+		{2, 0.350, 0.275, 7},
+		{2, 0.350, 0.300, -1},
+		{2, 0.350, 0.325, 1},
+		{2, 0.350, 0.350, -1},
+		{2, 0.350, 0.375, 1},
+		{2, 0.350, 0.400, 1},
+		{2, 0.350, 0.425, 3},
+		{2, 0.350, 0.450, 3},
+
+		{2, 0.375, 0.225, 7},
+		{2, 0.375, 0.250, 7},
+		{2, 0.375, 0.275, 7},
+		{2, 0.375, 0.300, -1},  // purple + brown
+		{2, 0.375, 0.325, 6},
+		{2, 0.375, 0.350, 6},
+		{2, 0.375, 0.375, 1},
+		{2, 0.375, 0.400, 1},
+		{2, 0.375, 0.425, 3},
+
+		{2, 0.400, 0.250, 7},
+		{2, 0.400, 0.275, 7},
+		{2, 0.400, 0.300, 6},
+		{2, 0.400, 0.325, 6},
+		{2, 0.400, 0.350, 6},
+		{2, 0.400, 0.375, 6},
+		{2, 0.400, 0.400, 1},
+
+		{2, 0.425, 0.275, 7},
+		{2, 0.425, 0.300, 7},
+		{2, 0.425, 0.325, 6},
+		{2, 0.425, 0.350, 6},
+		{2, 0.425, 0.375, 6},
+		{2, 0.425, 0.400, 6},
+
+		{2, 0.450, 0.275, 7},
+		{2, 0.450, 0.300, 6},
+		{2, 0.450, 0.325, 6},
+		{2, 0.450, 0.350, 6},
+		{2, 0.450, 0.375, 6},
+
+		{2, 0.475, 0.300, 7},
+		{2, 0.475, 0.325, 6},
+		{2, 0.475, 0.350, 6},
+		{2, 0.475, 0.375, 6},
+
+		{2, 0.500, 0.325, 6},
+		{2, 0.500, 0.350, 6},
+
+		{2, 0.525, 0.325, 6},
+
+		// ------------------
+
+		{5, 0.150, 0.075, 5},
+
+		{5, 0.175, 0.100, 5},
+		{5, 0.175, 0.125, 5},
+		{5, 0.175, 0.150, 5},
+
+		{5, 0.200, 0.100, 5},
+		{5, 0.200, 0.125, 5},
+		{5, 0.200, 0.150, 5},
+		{5, 0.200, 0.175, 5},
+		{5, 0.200, 0.200, 5},
+		{5, 0.200, 0.225, 5},
+		{5, 0.200, 0.250, 5},
+
+		{5, 0.225, 0.125, 7},
+		{5, 0.225, 0.150, 7},
+		{5, 0.225, 0.175, 5},
+		{5, 0.225, 0.200, 5},
+		{5, 0.225, 0.225, 5},
+		{5, 0.225, 0.250, 5},
+		{5, 0.225, 0.275, 5},
+		{5, 0.225, 0.300, 5},
+		{5, 0.225, 0.325, 5},
+		{5, 0.225, 0.350, 3},
+		{5, 0.225, 0.375, 3},
+
+		{5, 0.250, 0.150, 7},
+		{5, 0.250, 0.175, 7},
+		{5, 0.250, 0.200, 7},
+		{5, 0.250, 0.225, 5},
+		{5, 0.250, 0.250, 5},
+		{5, 0.250, 0.275, 5},
+		{5, 0.250, 0.300, 5},
+		{5, 0.250, 0.325, 5},
+		{5, 0.250, 0.350, 3},
+		{5, 0.250, 0.375, 3},
+		{5, 0.250, 0.400, 3},
+		{5, 0.250, 0.425, 3},
+		{5, 0.250, 0.450, 3},
+		{5, 0.250, 0.475, 3},
+
+		{5, 0.275, 0.150, 7},
+		{5, 0.275, 0.175, 7},
+		{5, 0.275, 0.200, 7},
+		{5, 0.275, 0.225, 7},
+		{5, 0.275, 0.250, 7},
+		{5, 0.275, 0.275, 10},
+		{5, 0.275, 0.300, 5},
+		{5, 0.275, 0.325, 5},
+		{5, 0.275, 0.350, 5},
+		{5, 0.275, 0.375, 3},
+		{5, 0.275, 0.400, 3},
+		{5, 0.275, 0.425, 3},
+		{5, 0.275, 0.450, 3},
+		{5, 0.275, 0.475, 3},
+		{5, 0.275, 0.500, 3},
+		{5, 0.275, 0.525, 3},
+		{5, 0.275, 0.550, 3},
+
+		{5, 0.300, 0.175, 7},
+		{5, 0.300, 0.200, 7},
+		{5, 0.300, 0.225, 7},
+		{5, 0.300, 0.250, 7},
+		{5, 0.300, 0.275, 7},
+		{5, 0.300, 0.300, 10},
+		{5, 0.300, 0.325, 10},
+		{5, 0.300, 0.350, 3},
+		{5, 0.300, 0.375, 3},
+		{5, 0.300, 0.400, 3},
+		{5, 0.300, 0.425, 3},
+		{5, 0.300, 0.450, 3},
+		{5, 0.300, 0.475, 3},
+		{5, 0.300, 0.500, 3},
+		{5, 0.300, 0.525, 3},
+
+		{5, 0.325, 0.200, 7},
+		{5, 0.325, 0.225, 7},
+		{5, 0.325, 0.250, 7},
+		{5, 0.325, 0.275, 7},
+		{5, 0.325, 0.300, 10},
+		{5, 0.325, 0.325, 10},
+		{5, 0.325, 0.350, 10},
+		{5, 0.325, 0.375, 3},
+		{5, 0.325, 0.400, 3},
+		{5, 0.325, 0.425, 3},
+		{5, 0.325, 0.450, 3},
+		{5, 0.325, 0.475, 3},
+		{5, 0.325, 0.500, 3},
+
+		{5, 0.350, 0.200, 7},
+		{5, 0.350, 0.225, 7},
+		{5, 0.350, 0.250, 7},
+		{5, 0.350, 0.275, 7},
+		{5, 0.350, 0.300, 7},
+		{5, 0.350, 0.325, 10},
+		{5, 0.350, 0.350, 10},
+		{5, 0.350, 0.375, 10},
+		{5, 0.350, 0.400, 3},
+		{5, 0.350, 0.425, 3},
+		{5, 0.350, 0.450, 3},
+		{5, 0.350, 0.475, 3},
+		{5, 0.350, 0.500, 3},
+
+		{5, 0.375, 0.225, 7},
+		{5, 0.375, 0.250, 7},
+		{5, 0.375, 0.275, 7},
+		{5, 0.375, 0.300, 7},
+		{5, 0.375, 0.325, 6},
+		{5, 0.375, 0.350, 6},
+		{5, 0.375, 0.375, 6},
+		{5, 0.375, 0.400, 3},
+		{5, 0.375, 0.425, 3},
+		{5, 0.375, 0.450, 3},
+		{5, 0.375, 0.475, 3},
+
+		{5, 0.400, 0.225, 7},
+		{5, 0.400, 0.250, 7},
+		{5, 0.400, 0.275, 7},
+		{5, 0.400, 0.300, 7},
+		{5, 0.400, 0.325, 6},
+		{5, 0.400, 0.350, 6},
+		{5, 0.400, 0.375, 6},
+		{5, 0.400, 0.400, 6},
+		{5, 0.400, 0.425, 3},
+		{5, 0.400, 0.450, 3},
+
+		{5, 0.425, 0.250, 7},
+		{5, 0.425, 0.275, 7},
+		{5, 0.425, 0.300, 7},
+		{5, 0.425, 0.325, 6},
+		{5, 0.425, 0.350, 6},
+		{5, 0.425, 0.375, 6},
+		{5, 0.425, 0.400, 6},
+		{5, 0.425, 0.425, 6},
+		{5, 0.425, 0.450, 3},
+
+		{5, 0.450, 0.275, 7},
+		{5, 0.450, 0.300, 7},
+		{5, 0.450, 0.325, 6},
+		{5, 0.450, 0.350, 6},
+		{5, 0.450, 0.375, 6},
+		{5, 0.450, 0.400, 6},
+		{5, 0.450, 0.425, 6},
+
+		{5, 0.475, 0.275, 7},
+		{5, 0.475, 0.300, 7},
+		{5, 0.475, 0.325, 6},
+		{5, 0.475, 0.350, 6},
+		{5, 0.475, 0.375, 6},
+		{5, 0.475, 0.400, 6},
+
+		{5, 0.500, 0.300, 2},
+		{5, 0.500, 0.325, 6},
+		{5, 0.500, 0.350, 6},
+		{5, 0.500, 0.375, 6},
+		{5, 0.500, 0.400, 6},
+
+		{5, 0.525, 0.300, 7},
+		{5, 0.525, 0.325, 6},
+		{5, 0.525, 0.350, 6},
+		{5, 0.525, 0.375, 6},
+
+		{5, 0.550, 0.325, 6},
+		{5, 0.550, 0.350, 6},
+
+		{5, 0.575, 0.350, 6},
+
+		// ------------------
+
+		{10, 0.150, 0.075, 5},
+
+		{10, 0.175, 0.100, 5},
+		{10, 0.175, 0.125, 5},
+		{10, 0.175, 0.150, 5},
+
+		{10, 0.200, 0.100, 7},
+		{10, 0.200, 0.125, 5},
+		{10, 0.200, 0.150, 5},
+		{10, 0.200, 0.175, 5},
+		{10, 0.200, 0.200, 5},
+		{10, 0.200, 0.225, 5},
+		{10, 0.200, 0.250, 5},
+		{10, 0.200, 0.275, 5},
+
+		{10, 0.225, 0.125, 7},
+		{10, 0.225, 0.150, 7},
+		{10, 0.225, 0.175, 5},
+		{10, 0.225, 0.200, 5},
+		{10, 0.225, 0.225, 5},
+		{10, 0.225, 0.250, 5},
+		{10, 0.225, 0.275, 5},
+		{10, 0.225, 0.300, 5},
+		{10, 0.225, 0.325, 5},
+		{10, 0.225, 0.350, 5},
+		{10, 0.225, 0.375, 3},
+		{10, 0.225, 0.400, 3},
+
+		{10, 0.250, 0.150, 7},
+		{10, 0.250, 0.175, 7},
+		{10, 0.250, 0.200, 7},
+		{10, 0.250, 0.225, 5},
+		{10, 0.250, 0.250, 5},
+		{10, 0.250, 0.275, 5},
+		{10, 0.250, 0.300, 5},
+		{10, 0.250, 0.325, 5},
+		{10, 0.250, 0.350, 3},
+		{10, 0.250, 0.375, 3},
+		{10, 0.250, 0.400, 3},
+		{10, 0.250, 0.425, 3},
+		{10, 0.250, 0.450, 3},
+		{10, 0.250, 0.475, 3},
+		{10, 0.250, 0.500, 3},
+
+		{10, 0.275, 0.150, 7},
+		{10, 0.275, 0.175, 7},
+		{10, 0.275, 0.200, 7},
+		{10, 0.275, 0.225, 7},
+		{10, 0.275, 0.250, 7},
+		{10, 0.275, 0.275, 10},
+		{10, 0.275, 0.300, 5},
+		{10, 0.275, 0.325, 5},
+		{10, 0.275, 0.350, 3},
+		{10, 0.275, 0.375, 3},
+		{10, 0.275, 0.400, 3},
+		{10, 0.275, 0.425, 3},
+		{10, 0.275, 0.450, 3},
+		{10, 0.275, 0.475, 3},
+		{10, 0.275, 0.500, 3},
+		{10, 0.275, 0.525, 3},
+		{10, 0.275, 0.550, 3},
+		{10, 0.275, 0.575, 3},
+
+		{10, 0.300, 0.175, 7},
+		{10, 0.300, 0.200, 7},
+		{10, 0.300, 0.225, 7},
+		{10, 0.300, 0.250, 7},
+		{10, 0.300, 0.275, 10},
+		{10, 0.300, 0.300, 10},
+		{10, 0.300, 0.325, 10},
+		{10, 0.300, 0.350, 3},
+		{10, 0.300, 0.375, 3},
+		{10, 0.300, 0.400, 3},
+		{10, 0.300, 0.425, 3},
+		{10, 0.300, 0.450, 3},
+		{10, 0.300, 0.475, 3},
+		{10, 0.300, 0.500, 3},
+		{10, 0.300, 0.525, 3},
+		{10, 0.300, 0.550, 3},
+
+		{10, 0.325, 0.175, 7},
+		{10, 0.325, 0.200, 7},
+		{10, 0.325, 0.225, 7},
+		{10, 0.325, 0.250, 7},
+		{10, 0.325, 0.275, 7},
+		{10, 0.325, 0.300, 10},
+		{10, 0.325, 0.325, 10},
+		{10, 0.325, 0.350, 10},
+		{10, 0.325, 0.375, 3},
+		{10, 0.325, 0.400, 3},
+		{10, 0.325, 0.425, 3},
+		{10, 0.325, 0.450, 3},
+		{10, 0.325, 0.475, 3},
+		{10, 0.325, 0.500, 3},
+		{10, 0.325, 0.525, 3},
+
+		{10, 0.350, 0.200, 7},
+		{10, 0.350, 0.225, 7},
+		{10, 0.350, 0.250, 7},
+		{10, 0.350, 0.275, 7},
+		{10, 0.350, 0.300, 7},
+		{10, 0.350, 0.325, -1},
+		{10, 0.350, 0.350, 10},
+		{10, 0.350, 0.375, 10},
+		{10, 0.350, 0.400, 3},
+		{10, 0.350, 0.425, 3},
+		{10, 0.350, 0.450, 3},
+		{10, 0.350, 0.475, 3},
+		{10, 0.350, 0.500, 3},
+
+		{10, 0.375, 0.225, 7},
+		{10, 0.375, 0.250, 7},
+		{10, 0.375, 0.275, 7},
+		{10, 0.375, 0.300, 7},
+		{10, 0.375, 0.325, 6},
+		{10, 0.375, 0.350, 6},
+		{10, 0.375, 0.375, 6},
+		{10, 0.375, 0.400, 3},
+		{10, 0.375, 0.425, 3},
+		{10, 0.375, 0.450, 3},
+		{10, 0.375, 0.475, 3},
+		{10, 0.375, 0.500, 3},
+
+		{10, 0.400, 0.225, 7},
+		{10, 0.400, 0.250, 7},
+		{10, 0.400, 0.275, -1},  // pink + purple
+		{10, 0.400, 0.300, -1},  // pink + purple
+		{10, 0.400, 0.325, 8},
+		{10, 0.400, 0.350, 6},
+		{10, 0.400, 0.375, 6},
+		{10, 0.400, 0.400, 6},
+		{10, 0.400, 0.425, 3},
+		{10, 0.400, 0.450, 3},
+		{10, 0.400, 0.475, 3},
+
+		{10, 0.425, 0.250, 8},
+		{10, 0.425, 0.275, -1},  // pink + purple
+		{10, 0.425, 0.300, -1},  // pink + purple
+		{10, 0.425, 0.325, 6},
+		{10, 0.425, 0.350, 6},
+		{10, 0.425, 0.375, 6},
+		{10, 0.425, 0.400, 6},
+		{10, 0.425, 0.425, 6},
+		{10, 0.425, 0.450, 3},
+
+		{10, 0.450, 0.250, 8},
+		{10, 0.450, 0.275, 8},
+		{10, 0.450, 0.300, -1},
+		{10, 0.450, 0.325, 6},
+		{10, 0.450, 0.350, 6},
+		{10, 0.450, 0.375, 6},
+		{10, 0.450, 0.400, 6},
+		{10, 0.450, 0.425, 6},
+		{10, 0.450, 0.450, 6},
+
+		{10, 0.475, 0.275, 8},
+		{10, 0.475, 0.300, 2},
+		{10, 0.475, 0.325, 8},
+		{10, 0.475, 0.350, 6},
+		{10, 0.475, 0.375, 6},
+		{10, 0.475, 0.400, 6},
+		{10, 0.475, 0.425, 6},
+
+		{10, 0.500, 0.300, 2},
+		{10, 0.500, 0.325, -1},
+		{10, 0.500, 0.350, 6},
+		{10, 0.500, 0.375, 6},
+		{10, 0.500, 0.400, 6},
+
+		{10, 0.525, 0.300, 2},
+		{10, 0.525, 0.325, 2},
+		{10, 0.525, 0.350, 9},
+		{10, 0.525, 0.375, 9},
+		{10, 0.525, 0.400, 6},
+
+		{10, 0.550, 0.325, 2},
+		{10, 0.550, 0.350, 9},
+		{10, 0.550, 0.375, 9},
+
+		{10, 0.575, 0.325, 2},
+		{10, 0.575, 0.350, 9},
+
+		// ------------------
+
+		{20, 0.175, 0.150, 5},
+
+		{20, 0.200, 0.150, 5},
+		{20, 0.200, 0.175, 5},
+		{20, 0.200, 0.200, 5},
+		{20, 0.200, 0.225, 5},
+		{20, 0.200, 0.250, 5},
+		{20, 0.200, 0.275, 5},
+
+		{20, 0.225, 0.125, 7},
+		{20, 0.225, 0.150, 7},
+		{20, 0.225, 0.175, 5},
+		{20, 0.225, 0.200, 5},
+		{20, 0.225, 0.225, 5},
+		{20, 0.225, 0.250, 5},
+		{20, 0.225, 0.275, 5},
+		{20, 0.225, 0.300, 5},
+		{20, 0.225, 0.325, 5},
+		{20, 0.225, 0.350, 5},
+		{20, 0.225, 0.375, 3},
+		{20, 0.225, 0.400, 3},
+
+		{20, 0.250, 0.125, 7},
+		{20, 0.250, 0.150, 7},
+		{20, 0.250, 0.175, 7},
+		{20, 0.250, 0.200, 7},
+		{20, 0.250, 0.225, 7},
+		{20, 0.250, 0.250, 5},
+		{20, 0.250, 0.275, 5},
+		{20, 0.250, 0.300, 5},
+		{20, 0.250, 0.325, 5},
+		{20, 0.250, 0.350, 5},
+		{20, 0.250, 0.375, 3},
+		{20, 0.250, 0.400, 3},
+		{20, 0.250, 0.425, 3},
+		{20, 0.250, 0.450, 3},
+		{20, 0.250, 0.475, 3},
+		{20, 0.250, 0.500, 3},
+		{20, 0.250, 0.525, 3},
+
+		{20, 0.275, 0.150, 7},
+		{20, 0.275, 0.175, 7},
+		{20, 0.275, 0.200, 7},
+		{20, 0.275, 0.225, 7},
+		{20, 0.275, 0.250, 7},
+		{20, 0.275, 0.275, 5},
+		{20, 0.275, 0.300, 5},
+		{20, 0.275, 0.325, 5},
+		{20, 0.275, 0.350, 3},
+		{20, 0.275, 0.375, 3},
+		{20, 0.275, 0.400, 3},
+		{20, 0.275, 0.425, 3},
+		{20, 0.275, 0.450, 3},
+		{20, 0.275, 0.475, 3},
+		{20, 0.275, 0.500, 3},
+		{20, 0.275, 0.525, 3},
+		{20, 0.275, 0.550, 3},
+		{20, 0.275, 0.575, 3},
+
+		{20, 0.300, 0.175, 7},
+		{20, 0.300, 0.200, 7},
+		{20, 0.300, 0.225, 7},
+		{20, 0.300, 0.250, 7},
+		{20, 0.300, 0.275, 7},
+		{20, 0.300, 0.300, -1},  // purple + gray
+		{20, 0.300, 0.325, 10},
+		{20, 0.300, 0.350, 3},
+		{20, 0.300, 0.375, 3},
+		{20, 0.300, 0.400, 3},
+		{20, 0.300, 0.425, 3},
+		{20, 0.300, 0.450, 3},
+		{20, 0.300, 0.475, 3},
+		{20, 0.300, 0.500, 3},
+		{20, 0.300, 0.525, 3},
+		{20, 0.300, 0.550, 3},
+
+		{20, 0.325, 0.175, 7},
+		{20, 0.325, 0.200, 7},
+		{20, 0.325, 0.225, 7},
+		{20, 0.325, 0.250, 7},
+		{20, 0.325, 0.275, 7},
+		{20, 0.325, 0.300, 7},
+		{20, 0.325, 0.325, 10},
+		{20, 0.325, 0.350, -1},  // gray + green
+		{20, 0.325, 0.375, 3},
+		{20, 0.325, 0.400, 3},
+		{20, 0.325, 0.425, 3},
+		{20, 0.325, 0.450, 3},
+		{20, 0.325, 0.475, 3},
+		{20, 0.325, 0.500, 3},
+		{20, 0.325, 0.525, 3},
+
+		{20, 0.350, 0.200, -1},  // purple + pink
+		{20, 0.350, 0.225, 7},
+		{20, 0.350, 0.250, 7},
+		{20, 0.350, 0.275, -1},  // purple + pink
+		{20, 0.350, 0.300, 8},
+		{20, 0.350, 0.325, -1},  // purple + pink
+		{20, 0.350, 0.350, 10},
+		{20, 0.350, 0.375, 3},
+		{20, 0.350, 0.400, 3},
+		{20, 0.350, 0.425, 3},
+		{20, 0.350, 0.450, 3},
+		{20, 0.350, 0.475, 3},
+		{20, 0.350, 0.500, 3},
+		{20, 0.350, 0.525, 3},
+
+		{20, 0.375, 0.225, 8},
+		{20, 0.375, 0.250, 8},
+		{20, 0.375, 0.275, 8},
+		{20, 0.375, 0.300, 8},
+		{20, 0.375, 0.325, 8},
+		{20, 0.375, 0.350, 8},
+		{20, 0.375, 0.375, 6},
+		{20, 0.375, 0.400, 3},
+		{20, 0.375, 0.425, 3},
+		{20, 0.375, 0.450, 3},
+		{20, 0.375, 0.475, 3},
+		{20, 0.375, 0.500, 3},
+
+		{20, 0.400, 0.225, 8},
+		{20, 0.400, 0.250, 8},
+		{20, 0.400, 0.275, 8},
+		{20, 0.400, 0.300, 8},
+		{20, 0.400, 0.325, 8},
+		{20, 0.400, 0.350, 8},
+		{20, 0.400, 0.375, 6},
+		{20, 0.400, 0.400, 6},
+		{20, 0.400, 0.425, 3},
+		{20, 0.400, 0.450, 3},
+		{20, 0.400, 0.475, 3},
+
+		{20, 0.425, 0.250, 8},
+		{20, 0.425, 0.275, 8},
+		{20, 0.425, 0.300, 8},
+		{20, 0.425, 0.325, 8},
+		{20, 0.425, 0.350, 8},
+		{20, 0.425, 0.375, 9},
+		{20, 0.425, 0.400, 6},
+		{20, 0.425, 0.425, 4},
+		{20, 0.425, 0.450, 4},
+		{20, 0.425, 0.475, 3},
+
+		{20, 0.450, 0.250, 8},
+		{20, 0.450, 0.275, 8},
+		{20, 0.450, 0.300, 8},
+		{20, 0.450, 0.325, 8},
+		{20, 0.450, 0.350, 9},
+		{20, 0.450, 0.375, 9},
+		{20, 0.450, 0.400, 9},
+		{20, 0.450, 0.425, -1},
+		{20, 0.450, 0.450, 4},
+
+		{20, 0.475, 0.275, 8},
+		{20, 0.475, 0.300, 8},
+		{20, 0.475, 0.325, 8},
+		{20, 0.475, 0.350, 9},
+		{20, 0.475, 0.375, 9},
+		{20, 0.475, 0.400, 9},
+		{20, 0.475, 0.425, 9},
+
+		{20, 0.500, 0.300, 8},
+		{20, 0.500, 0.325, 8},
+		{20, 0.500, 0.350, 9},
+		{20, 0.500, 0.375, 9},
+		{20, 0.500, 0.400, 9},
+		{20, 0.500, 0.425, 9},
+
+		{20, 0.525, 0.325, 2},
+		{20, 0.525, 0.350, 9},
+		{20, 0.525, 0.375, 9},
+		{20, 0.525, 0.400, 9},
+
+		{20, 0.550, 0.350, 9},
+		{20, 0.550, 0.375, 9},
+
+		{20, 0.575, 0.350, 9},
+
+		// ------------------
+
+		{30, 0.200, 0.175, 5},
+		{30, 0.200, 0.200, 5},
+		{30, 0.200, 0.225, 5},
+		{30, 0.200, 0.250, 5},
+		{30, 0.200, 0.275, 5},
+
+		{30, 0.225, 0.175, -1},  // puple + blue
+		{30, 0.225, 0.200, 5},
+		{30, 0.225, 0.225, 5},
+		{30, 0.225, 0.250, 5},
+		{30, 0.225, 0.275, 5},
+		{30, 0.225, 0.300, 5},
+		{30, 0.225, 0.325, 5},
+		{30, 0.225, 0.350, 3},
+		{30, 0.225, 0.375, 3},
+		{30, 0.225, 0.400, 3},
+
+		{30, 0.250, 0.175, 7},
+		{30, 0.250, 0.200, 7},
+		{30, 0.250, 0.225, 7},
+		{30, 0.250, 0.250, 5},
+		{30, 0.250, 0.275, 5},
+		{30, 0.250, 0.300, 5},
+		{30, 0.250, 0.325, 5},
+		{30, 0.250, 0.350, 5},
+		{30, 0.250, 0.375, 3},
+		{30, 0.250, 0.400, 3},
+		{30, 0.250, 0.425, 3},
+		{30, 0.250, 0.450, 3},
+		{30, 0.250, 0.475, 3},
+		{30, 0.250, 0.500, 3},
+		{30, 0.250, 0.525, 3},
+
+		{30, 0.275, 0.175, 7},
+		{30, 0.275, 0.200, 7},
+		{30, 0.275, 0.225, 7},
+		{30, 0.275, 0.250, 7},
+		{30, 0.275, 0.275, 5},
+		{30, 0.275, 0.300, 5},
+		{30, 0.275, 0.325, 5},
+		{30, 0.275, 0.350, 3},
+		{30, 0.275, 0.375, 3},
+		{30, 0.275, 0.400, 3},
+		{30, 0.275, 0.425, 3},
+		{30, 0.275, 0.450, 3},
+		{30, 0.275, 0.475, 3},
+		{30, 0.275, 0.500, 3},
+		{30, 0.275, 0.525, 3},
+		{30, 0.275, 0.550, 3},
+		{30, 0.275, 0.575, 3},
+
+		{30, 0.300, 0.200, 7},
+		{30, 0.300, 0.225, 7},
+		{30, 0.300, 0.250, 7},
+		{30, 0.300, 0.275, 7},
+		{30, 0.300, 0.300, 5},
+		{30, 0.300, 0.325, 5},
+		{30, 0.300, 0.350, 5},
+		{30, 0.300, 0.375, 3},
+		{30, 0.300, 0.400, 3},
+		{30, 0.300, 0.425, 3},
+		{30, 0.300, 0.450, 3},
+		{30, 0.300, 0.475, 3},
+		{30, 0.300, 0.500, 3},
+		{30, 0.300, 0.525, 3},
+		{30, 0.300, 0.550, 3},
+
+		{30, 0.325, 0.225, -1},  // pink + purple
+		{30, 0.325, 0.250, -1},  // pink + purple
+		{30, 0.325, 0.275, 7},
+		{30, 0.325, 0.300, 7},
+		{30, 0.325, 0.325, 0},
+		{30, 0.325, 0.350, 3},
+		{30, 0.325, 0.375, 3},
+		{30, 0.325, 0.400, 3},
+		{30, 0.325, 0.425, 3},
+		{30, 0.325, 0.450, 3},
+		{30, 0.325, 0.475, 3},
+		{30, 0.325, 0.500, 3},
+		{30, 0.325, 0.525, 3},
+		{30, 0.325, 0.550, 3},
+
+		{30, 0.350, 0.250, 8},
+		{30, 0.350, 0.275, 8},
+		{30, 0.350, 0.300, 8},
+		{30, 0.350, 0.325, 8},
+		{30, 0.350, 0.350, 4},
+		{30, 0.350, 0.375, 4},
+		{30, 0.350, 0.400, 3},
+		{30, 0.350, 0.425, 3},
+		{30, 0.350, 0.450, 3},
+		{30, 0.350, 0.475, 3},
+		{30, 0.350, 0.500, 3},
+		{30, 0.350, 0.525, 3},
+
+		{30, 0.375, 0.275, 8},
+		{30, 0.375, 0.300, 8},
+		{30, 0.375, 0.325, 8},
+		{30, 0.375, 0.350, 8},
+		{30, 0.375, 0.375, 4},
+		{30, 0.375, 0.400, 4},
+		{30, 0.375, 0.425, 3},
+		{30, 0.375, 0.450, 3},
+		{30, 0.375, 0.475, 3},
+		{30, 0.375, 0.500, 3},
+
+		{30, 0.400, 0.300, 8},
+		{30, 0.400, 0.325, 8},
+		{30, 0.400, 0.350, 8},
+		{30, 0.400, 0.375, 9},
+		{30, 0.400, 0.400, 4},
+		{30, 0.400, 0.425, 4},
+		{30, 0.400, 0.450, 4},
+		{30, 0.400, 0.475, 3},
+
+		{30, 0.425, 0.325, 8},
+		{30, 0.425, 0.350, 8},
+		{30, 0.425, 0.375, 9},
+		{30, 0.425, 0.400, 9},
+		{30, 0.425, 0.425, 4},
+		{30, 0.425, 0.450, 4},
+		{30, 0.425, 0.475, 4},
+
+		{30, 0.450, 0.350, 8},
+		{30, 0.450, 0.375, 9},
+		{30, 0.450, 0.400, 9},
+		{30, 0.450, 0.425, 4},
+		{30, 0.450, 0.450, 4},
+
+		{30, 0.475, 0.375, 9},
+		{30, 0.475, 0.400, 9},
+		{30, 0.475, 0.425, 4},
+
+		{30, 0.500, 0.400, 9},
+		{30, 0.500, 0.425, 9},
+
+		// ------------------
+
+		{40, 0.200, 0.225, 5},
+		{40, 0.200, 0.250, 5},
+		{40, 0.200, 0.275, 5},
+
+		{40, 0.225, 0.225, 5},
+		{40, 0.225, 0.250, 5},
+		{40, 0.225, 0.275, 5},
+		{40, 0.225, 0.300, 5},
+		{40, 0.225, 0.325, 5},
+		{40, 0.225, 0.350, 5},
+		{40, 0.225, 0.375, 3},
+		{40, 0.225, 0.400, 3},
+
+		{40, 0.250, 0.200, 7},
+		{40, 0.250, 0.225, 5},
+		{40, 0.250, 0.250, 5},
+		{40, 0.250, 0.275, 5},
+		{40, 0.250, 0.300, 5},
+		{40, 0.250, 0.325, 5},
+		{40, 0.250, 0.350, 3},
+		{40, 0.250, 0.375, 5},
+		{40, 0.250, 0.400, 3},
+		{40, 0.250, 0.425, 3},
+		{40, 0.250, 0.450, 3},
+		{40, 0.250, 0.475, 3},
+		{40, 0.250, 0.500, 3},
+		{40, 0.250, 0.525, 3},
+
+		{40, 0.275, 0.200, 7},
+		{40, 0.275, 0.225, 7},
+		{40, 0.275, 0.250, 7},
+		{40, 0.275, 0.275, 5},
+		{40, 0.275, 0.300, 5},
+		{40, 0.275, 0.325, 5},
+		{40, 0.275, 0.350, 3},
+		{40, 0.275, 0.375, 3},
+		{40, 0.275, 0.400, 3},
+		{40, 0.275, 0.425, 3},
+		{40, 0.275, 0.450, 3},
+		{40, 0.275, 0.475, 3},
+		{40, 0.275, 0.500, 3},
+		{40, 0.275, 0.525, 3},
+		{40, 0.275, 0.550, 3},
+		{40, 0.275, 0.575, 3},
+
+		{40, 0.300, 0.225, 7},
+		{40, 0.300, 0.250, 7},
+		{40, 0.300, 0.275, 7},
+		{40, 0.300, 0.300, 0},
+		{40, 0.300, 0.325, 5},
+		{40, 0.300, 0.350, 3},
+		{40, 0.300, 0.375, 3},
+		{40, 0.300, 0.400, 3},
+		{40, 0.300, 0.425, 3},
+		{40, 0.300, 0.450, 3},
+		{40, 0.300, 0.475, 3},
+		{40, 0.300, 0.500, 3},
+		{40, 0.300, 0.525, 3},
+		{40, 0.300, 0.550, 3},
+
+		{40, 0.325, 0.275, 8},
+		{40, 0.325, 0.300, -1},  // pink + purple
+		{40, 0.325, 0.325, 0},
+		{40, 0.325, 0.350, 0},
+		{40, 0.325, 0.375, 3},
+		{40, 0.325, 0.400, 3},
+		{40, 0.325, 0.425, 3},
+		{40, 0.325, 0.450, 3},
+		{40, 0.325, 0.475, 3},
+		{40, 0.325, 0.500, 3},
+		{40, 0.325, 0.525, 3},
+		{40, 0.325, 0.550, 3},
+
+		{40, 0.350, 0.300, 8},
+		{40, 0.350, 0.325, 8},
+		{40, 0.350, 0.350, 0},
+		{40, 0.350, 0.375, 4},
+		{40, 0.350, 0.400, 3},
+		{40, 0.350, 0.425, 3},
+		{40, 0.350, 0.450, 3},
+		{40, 0.350, 0.475, 3},
+		{40, 0.350, 0.500, 3},
+		{40, 0.350, 0.525, 3},
+
+		{40, 0.375, 0.325, 8},
+		{40, 0.375, 0.350, 8},
+		{40, 0.375, 0.375, 4},
+		{40, 0.375, 0.400, 4},
+		{40, 0.375, 0.425, 4},
+		{40, 0.375, 0.450, 3},
+		{40, 0.375, 0.475, 3},
+		{40, 0.375, 0.500, 3},
+
+		{40, 0.400, 0.375, 9},
+		{40, 0.400, 0.400, 4},
+		{40, 0.400, 0.425, 4},
+		{40, 0.400, 0.450, 4},
+		{40, 0.400, 0.475, 4},
+		{40, 0.400, 0.500, 3},
+
+		{40, 0.425, 0.400, 4},
+		{40, 0.425, 0.425, 4},
+		{40, 0.425, 0.450, 4},
+		{40, 0.425, 0.475, 4},
+
+		{40, 0.450, 0.425, 4},
+		{40, 0.450, 0.450, 4},
+	};
+
+	/*
+	 * Grid index of the table ==================================================
+	 * The samples of each luminance level lie on a regular xy grid, so the nearest sample is searched
+	 * only in the neighborhood of the cell including the given chromaticity.
+	 */
+
+	static private final double STEP = 0.025;
+	static private final double EP = 0.0000000001;
+
+	static private final BasicCategoricalColor[] CATEGORIES = BasicCategoricalColor.values();
+
+	static private final int[] GRID_OFFSET = new int[lumTable.length];
+	static private final int[] GRID_I0 = new int[lumTable.length], GRID_J0 = new int[lumTable.length];
+	static private final int[] GRID_W = new int[lumTable.length], GRID_H = new int[lumTable.length];
+	static private final short[] GRID;  // [offset + i * h + j] -> Sample index or -1
+
+	static private final double[] SAMPLE_X = new double[ccTable.length], SAMPLE_Y = new double[ccTable.length];
+	static private final byte[] SAMPLE_C = new byte[ccTable.length];
+
+	static {
+		for(int s = 0; s < ccTable.length; ++s) {
+			SAMPLE_X[s] = ccTable[s][1];
+			SAMPLE_Y[s] = ccTable[s][2];
+			SAMPLE_C[s] = (byte)ccTable[s][3];
+		}
+		int size = 0;
+		for(int li = 0; li < lumTable.length; ++li) {
+			int i0 = Integer.MAX_VALUE, j0 = Integer.MAX_VALUE, i1 = Integer.MIN_VALUE, j1 = Integer.MIN_VALUE;
+			for(double[] ent: ccTable) {
+				if(ent[0] != lumTable[li]) continue;
+				final int i = (int)Math.round(ent[1] / STEP), j = (int)Math.round(ent[2] / STEP);
+				i0 = Math.min(i0, i); i1 = Math.max(i1, i);
+				j0 = Math.min(j0, j); j1 = Math.max(j1, j);
+			}
+			GRID_OFFSET[li] = size;
+			GRID_I0[li] = i0; GRID_W[li] = i1 - i0 + 1;
+			GRID_J0[li] = j0; GRID_H[li] = j1 - j0 + 1;
+			size += GRID_W[li] * GRID_H[li];
+		}
+		GRID = new short[size];
+		Arrays.fill(GRID, (short)-1);
+		for(int s = 0; s < ccTable.length; ++s) {
+			final double[] ent = ccTable[s];
+			if((int)ent[3] == -1) continue;
+			for(int li = 0; li < lumTable.length; ++li) {
+				if(ent[0] != lumTable[li]) continue;
+				final int i = (int)Math.round(ent[1] / STEP) - GRID_I0[li], j = (int)Math.round(ent[2] / STEP) - GRID_J0[li];
+				GRID[GRID_OFFSET[li] + i * GRID_H[li] + j] = (short)s;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,228 @@
+package takty.color;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class adapts CIE 1931 XYZ colors between white points.
+ * Adaptation matrices are built for any pair of white points and cached, so instances are shared and immutable.
+ * Reference: http://www.brucelindbloom.com/index.html?Eqn_ChromAdapt.html
+ * @author Takuto Yanagida
+ * @version 2026-10-18
+ */
+public final class ChromaticAdaptation {
+
+	/**
+	 * Enum type for the cone response domain of the adaptation.
+	 */
+	static public enum Method {
+		XYZ_SCALING(new double[][] {{1.0, 0.0, 0.0}, {0.0, 1.0, 0.0}, {0.0, 0.0, 1.0}}),
+		BRADFORD(LMS.BRADFORD),
+		VON_KRIES(LMS.VON_KRIES);
+
+		private final double[][] m_, mInv_;
+
+		private Method(double[][] m) {
+			m_ = m;
+			mInv_ = invert(m);  // Inverted here instead of using the rounded inverse constants, so round trips are exact
+		}
+	}
+
+	static private double[][] invert(double[][] m) {
+		final double a = m[0][0], b = m[0][1], c = m[0][2];
+		final double d = m[1][0], e = m[1][1], f = m[1][2];
+		final double g = m[2][0], h = m[2][1], i = m[2][2];
+		final double det = a * (e * i - f * h) - b * (d * i - f * g) + c * (d * h - e * g);
+		return new double[][] {
+			{(e * i - f * h) / det, (c * h - b * i) / det, (b * f - c * e) / det},
+			{(f * g - d * i) / det, (a * i - c * g) / det, (c * d - a * f) / det},
+			{(d * h - e * g) / det, (b * g - a * h) / det, (a * e - b * d) / det}
+		};
+	}
+
+	/**
+	 * Standard illuminant C tristimulus value
+	 */
+	static private final double[] C_xyz = {0.31006, 0.31616, 0.37378};
+	static public double[] C_xyz() {return C_xyz.clone();}
+	static public double[] C_XYZ() {return whitePointOf(C_xyz[0], C_xyz[1]);}
+
+	/**
+	 * Calculate the tristimulus value (Y = 1) of the white point of the chromaticity coordinates.
+	 * @param x Chromaticity coordinate x
+	 * @param y Chromaticity coordinate y
+	 * @return XYZ tristimulus value
+	 */
+	static public double[] whitePointOf(double x, double y) {
+		return new double[] {x / y, 1.0, (1.0 - x - y) / y};
+	}
+
+	static private final ConcurrentHashMap<Key, ChromaticAdaptation> CACHE = new ConcurrentHashMap<>();
+
+	/**
+	 * Return the adaptation between the two white points. The adaptation is cached.
+	 * @param srcWhite XYZ tristimulus value of the source white point
+	 * @param destWhite XYZ tristimulus value of the destination white point
+	 * @param method Method
+	 * @return Chromatic adaptation
+	 */
+	static public ChromaticAdaptation of(double[] srcWhite, double[] destWhite, Method method) {
+		final Key key = new Key(srcWhite, destWhite, method);
+		ChromaticAdaptation ca = CACHE.get(key);
+		if(ca == null) {
+			ca = new ChromaticAdaptation(srcWhite, destWhite, method);
+			final ChromaticAdaptation prev = CACHE.putIfAbsent(key, ca);
+			if(prev != null) ca = prev;
+		}
+		return ca;
+	}
+
+	/**
+	 * Return the adaptation between the two white points by Bradford method. The adaptation is cached.
+	 * @param srcWhite XYZ tristimulus value of the source white point
+	 * @param destWhite XYZ tristimulus value of the destination white point
+	 * @return Chromatic adaptation
+	 */
+	static public ChromaticAdaptation of(double[] srcWhite, double[] destWhite) {
+		return of(srcWhite, destWhite, Method.BRADFORD);
+	}
+
+	static private final class Key {
+		private final double sx_, sy_, sz_, dx_, dy_, dz_;
+		private final Method method_;
+
+		Key(double[] s, double[] d, Method method) {
+			sx_ = s[0]; sy_ = s[1]; sz_ = s[2];
+			dx_ = d[0]; dy_ = d[1]; dz_ = d[2];
+			method_ = method;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if(!(o instanceof Key)) return false;
+			final Key k = (Key)o;
+			return method_ == k.method_ && Double.compare(sx_, k.sx_) == 0 && Double.compare(sy_, k.sy_) == 0 && Double.compare(sz_, k.sz_) == 0
+					&& Double.compare(dx_, k.dx_) == 0 && Double.compare(dy_, k.dy_) == 0 && Double.compare(dz_, k.dz_) == 0;
+		}
+
+		@Override
+		public int hashCode() {
+			long h = method_.ordinal();
+			for(double v: new double[] {sx_, sy_, sz_, dx_, dy_, dz_}) h = h * 31 + Double.doubleToLongBits(v);
+			return (int)(h ^ (h >>> 32));
+		}
+	}
+
+	private final double[] srcWhite_, destWhite_;
+	private final Method method_;
+	private final double m00_, m01_, m02_, m10_, m11_, m12_, m20_, m21_, m22_;
+
+	private ChromaticAdaptation(double[] srcWhite, double[] destWhite, Method method) {
+		srcWhite_ = srcWhite.clone();
+		destWhite_ = destWhite.clone();
+		method_ = method;
+		final double[] s = LMS.fromXYZ(srcWhite, new double[3], method.m_);
+		final double[] d = LMS.fromXYZ(destWhite, new double[3], method.m_);
+		final double[][] scale = {{d[0] / s[0], 0.0, 0.0}, {0.0, d[1] / s[1], 0.0}, {0.0, 0.0, d[2] / s[2]}};
+		final double[][] m = ColorConverter.Matrix.multiply(method.mInv_, ColorConverter.Matrix.multiply(scale, method.m_));
+		m00_ = m[0][0]; m01_ = m[0][1]; m02_ = m[0][2];
+		m10_ = m[1][0]; m11_ = m[1][1]; m12_ = m[1][2];
+		m20_ = m[2][0]; m21_ = m[2][1]; m22_ = m[2][2];
+	}
+
+	public double[] sourceWhitePoint() {return srcWhite_.clone();}
+	public double[] destinationWhitePoint() {return destWhite_.clone();}
+	public Method method() {return method_;}
+
+	/**
+	 * Return the adaptation matrix.
+	 * @return Matrix
+	 */
+	public double[][] matrix() {
+		return new double[][] {{m00_, m01_, m02_}, {m10_, m11_, m12_}, {m20_, m21_, m22_}};
+	}
+
+	/**
+	 * Return the inverse adaptation (from the destination white point to the source white point).
+	 * @return Chromatic adaptation
+	 */
+	public ChromaticAdaptation inverse() {
+		return of(destWhite_, srcWhite_, method_);
+	}
+
+	/**
+	 * Adapt CIE 1931 XYZ of the source white point to the destination white point.
+	 * This method works even if src and dest are the same object.
+	 * @param src XYZ color
+	 * @param dest Adapted XYZ color
+	 * @return Adapted XYZ color (dest)
+	 */
+	public double[] adapt(double[] src, double[] dest) {
+		final double d0 = m00_ * src[0] + m01_ * src[1] + m02_ * src[2];
+		final double d1 = m10_ * src[0] + m11_ * src[1] + m12_ * src[2];
+		final double d2 = m20_ * src[0] + m21_ * src[1] + m22_ * src[2];
+		dest[0] = d0; dest[1] = d1; dest[2] = d2;
+		return dest;
+	}
+
+	/**
+	 * Adapt CIE 1931 XYZ colors stored in an interleaved array (X, Y, Z, X, Y, Z, ...).
+	 * This method works even if src and dest are the same array with the same offset.
+	 * @param src XYZ colors
+	 * @param srcOff Offset of src
+	 * @param dest Adapted XYZ colors
+	 * @param destOff Offset of dest
+	 * @param count The number of colors
+	 * @return Adapted XYZ colors (dest)
+	 */
+	public double[] adapt(double[] src, int srcOff, double[] dest, int destOff, int count) {
+		for(int i = 0; i < count; ++i, srcOff += 3, destOff += 3) {
+			final double x = src[srcOff], y = src[srcOff + 1], z = src[srcOff + 2];
+			dest[destOff]     = m00_ * x + m01_ * y + m02_ * z;
+			dest[destOff + 1] = m10_ * x + m11_ * y + m12_ * z;
+			dest[destOff + 2] = m20_ * x + m21_ * y + m22_ * z;
+		}
+		return dest;
+	}
+
+	/**
+	 * Adapt CIE 1931 XYZ colors.
+	 * @param src XYZ colors
+	 * @param dest Adapted XYZ colors (the same length as src)
+	 * @return Adapted XYZ colors (dest)
+	 */
+	public double[][] adapt(double[][] src, double[][] dest) {
+		for(int i = 0; i < src.length; ++i) adapt(src[i], dest[i]);
+		return dest;
+	}
+
+	/*
+	 * Converters ==============================================================
+	 */
+
+	/**
+	 * Create a converter of this adaptation.
+	 * @return Matrix converter
+	 */
+	public ColorConverter.Matrix createConverter() {
+		return new ColorConverter.Matrix(matrix());
+	}
+
+	/**
+	 * Create a converter from Linear RGB (sRGB, D65) to CIE 1931 XYZ adapted from D65 to the destination white point.
+	 * The source white point of this adaptation should be D65. The two matrices are merged into one stage.
+	 * @return Matrix converter
+	 */
+	public ColorConverter.Matrix createLRGBToXYZ() {
+		return ColorConverter.Matrix.concatenate(new ColorConverter.LRGB_XYZ(), createConverter());
+	}
+
+	/**
+	 * Create a converter from CIE 1931 XYZ of the source white point to Linear RGB (sRGB, D65).
+	 * The destination white point of this adaptation should be D65. The two matrices are merged into one stage.
+	 * @return Matrix converter
+	 */
+	public ColorConverter.Matrix createXYZToLRGB() {
+		return ColorConverter.Matrix.concatenate(createConverter(), new ColorConverter.XYZ_LRGB());
+	}
+
+}
@@ -0,0 +1,243 @@
+package takty.color;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import takty.color.Evaluation.BasicCategoricalColor;
+
+/**
+ * This class represents an immutable color anchored in one color system.
+ * The representations in other color systems are computed on first access (through XYZ, or directly where a shorter path exists)
+ * and cached, so each is computed at most once per instance.
+ * Colors of 24-bit sRGB can be interned by of(int), so that repeated colors share one instance and its cache.
+ *
+ * The cached representations depend on the global settings at the time of first access
+ * (e.g. Lab.XYZ_TRISTIMULUS_VALUES, LMS.matrix and PCCS.conversionMethod), so do not change them while colors are in use.
+ * Instances can be shared by threads.
+ * @author Takuto Yanagida
+ * @version 2026-10-18
+ */
+public final class Color {
+
+	static private final ColorSpace.Type[] TYPES = ColorSpace.Type.values();
+	static private final int PAGE_BITS = 12;
+
+	// Interned colors of 24-bit sRGB, in pages allocated on demand
+	static private final AtomicReferenceArray<AtomicReferenceArray<Color>> INTERNED = new AtomicReferenceArray<>(1 << (24 - PAGE_BITS));
+
+	/**
+	 * Return the interned color of a color integer (sRGB). Alpha is ignored.
+	 * The same instance is returned for the same 24-bit color.
+	 * @param argb Color integer
+	 * @return Color
+	 */
+	static public Color of(final int argb) {
+		final int rgb = argb & 0xFFFFFF;
+		final int p = rgb >>> PAGE_BITS, i = rgb & ((1 << PAGE_BITS) - 1);
+		AtomicReferenceArray<Color> page = INTERNED.get(p);
+		if(page == null) {
+			INTERNED.compareAndSet(p, null, new AtomicReferenceArray<Color>(1 << PAGE_BITS));
+			page = INTERNED.get(p);
+		}
+		Color c = page.get(i);
+		if(c == null) {
+			page.compareAndSet(i, null, new Color(ColorSpace.Type.RGB, RGB.fromColorInteger(rgb)));
+			c = page.get(i);
+		}
+		return c;
+	}
+
+	/**
+	 * Create a color anchored in a color system. Colors created by this method are not interned.
+	 * @param space Color system
+	 * @param c Color in the color system
+	 * @return Color
+	 */
+	static public Color of(final ColorSpace.Type space, final double[] c) {
+		return new Color(space, c.clone());
+	}
+
+	private final ColorSpace.Type space_;
+	private final double[][] values_ = new double[TYPES.length][];  // Guarded by this
+	private PCCS.Tone tone_;
+	private BasicCategoricalColor category_;
+	private String hex_, munsell_, pccs_;
+
+	private Color(final ColorSpace.Type space, final double[] c) {
+		space_ = space;
+		values_[space.ordinal()] = c;
+	}
+
+	/**
+	 * Return the color system in which this color is anchored.
+	 * @return Color system
+	 */
+	public ColorSpace.Type space() {
+		return space_;
+	}
+
+	// Return the representation in a color system, computing it if it is not cached
+	private synchronized double[] value(final ColorSpace.Type t) {
+		double[] v = values_[t.ordinal()];
+		if(v != null) return v;
+		v = new double[3];
+		final boolean[] sat = new boolean[1];
+		switch(t) {
+		case RGB:
+			RGB.fromLRGB(value(ColorSpace.Type.LRGB), v, sat);
+			break;
+		case LRGB:
+			if(space_ == ColorSpace.Type.RGB) RGB.toLRGB(value(ColorSpace.Type.RGB), v);
+			else if(space_ == ColorSpace.Type.YIQ) YIQ.toLRGB(value(ColorSpace.Type.YIQ), v);
+			else LRGB.fromXYZ(value(ColorSpace.Type.XYZ), v);
+			break;
+		case XYZ:
+			switch(space_) {
+			case LAB:     Lab.toXYZ(value(ColorSpace.Type.LAB), v); break;
+			case YXY:     Yxy.toXYZ(value(ColorSpace.Type.YXY), v, sat); break;
+			case LMS:     LMS.toXYZ(value(ColorSpace.Type.LMS), v); break;
+			case MUNSELL:
+			case PCCS:    Munsell.toXYZ(value(ColorSpace.Type.MUNSELL), v, sat); break;
+			default:      LRGB.toXYZ(value(ColorSpace.Type.LRGB), v); break;
+			}
+			break;
+		case YIQ:
+			YIQ.fromLRGB(value(ColorSpace.Type.LRGB), v);
+			break;
+		case LAB:
+			Lab.fromXYZ(value(ColorSpace.Type.XYZ), v);
+			break;
+		case YXY:
+			Yxy.fromXYZ(value(ColorSpace.Type.XYZ), v);
+			break;
+		case LMS:
+			XYZ.toLMS(value(ColorSpace.Type.XYZ), v);
+			break;
+		case MUNSELL:
+			if(space_ == ColorSpace.Type.PCCS) PCCS.toMunsell(value(ColorSpace.Type.PCCS), v);
+			else Munsell.fromXYZ(value(ColorSpace.Type.XYZ), v);
+			break;
+		case PCCS:
+			PCCS.fromMunsell(value(ColorSpace.Type.MUNSELL), v);
+			break;
+		}
+		values_[t.ordinal()] = v;
+		return v;
+	}
+
+	/**
+	 * Get this color in a color system.
+	 * @param space Color system
+	 * @param dest Color
+	 * @return Color (dest)
+	 */
+	public double[] get(final ColorSpace.Type space, final double[] dest) {
+		final double[] v = value(space);
+		dest[0] = v[0]; dest[1] = v[1]; dest[2] = v[2];
+		return dest;
+	}
+
+	/**
+	 * Get this color in a color system.
+	 * @param space Color system
+	 * @return Color
+	 */
+	public double[] get(final ColorSpace.Type space) {
+		return get(space, new double[3]);
+	}
+
+	/**
+	 * Return the color integer (sRGB) of this color.
+	 * @return Color integer
+	 */
+	public int toColorInteger() {
+		return RGB.toColorInteger(value(ColorSpace.Type.RGB));
+	}
+
+	/**
+	 * Return the hexadecimal notation of sRGB (such as #FF8000).
+	 * @return Hexadecimal notation
+	 */
+	public synchronized String toHexString() {
+		if(hex_ == null) hex_ = String.format("#%06X", toColorInteger() & 0xFFFFFF);
+		return hex_;
+	}
+
+	/**
+	 * Return the string representation of Munsell (such as 1.3YR 6.6/12.8).
+	 * @return String representation
+	 */
+	public synchronized String toMunsellString() {
+		if(munsell_ == null) munsell_ = Munsell.toString(value(ColorSpace.Type.MUNSELL));
+		return munsell_;
+	}
+
+	/**
+	 * Return the string representation of PCCS.
+	 * @return String representation
+	 */
+	public synchronized String toPCCSString() {
+		if(pccs_ == null) pccs_ = PCCS.toString(value(ColorSpace.Type.PCCS));
+		return pccs_;
+	}
+
+	/**
+	 * Return the PCCS tone.
+	 * @return Tone
+	 */
+	public synchronized PCCS.Tone tone() {
+		if(tone_ == null) tone_ = PCCS.tone(value(ColorSpace.Type.PCCS));
+		return tone_;
+	}
+
+	/**
+	 * Return the basic categorical color.
+	 * @return Basic categorical color
+	 */
+	public synchronized BasicCategoricalColor category() {
+		if(category_ == null) category_ = Evaluation.categoryOfYxy(value(ColorSpace.Type.YXY));
+		return category_;
+	}
+
+	/**
+	 * Return the conspicuity degree (Lab.conspicuityOf).
+	 * @return Conspicuity degree
+	 */
+	public double conspicuity() {
+		return Lab.conspicuityOf(value(ColorSpace.Type.LAB));
+	}
+
+	/**
+	 * Calculate the color difference from another color (Evaluation.differenceBetweenLab, CIE76 or CIEDE2000 by the current setting).
+	 * @param c Color
+	 * @return Color difference
+	 */
+	public double differenceFrom(final Color c) {
+		return Evaluation.differenceBetweenLab(value(ColorSpace.Type.LAB), c.value(ColorSpace.Type.LAB));
+	}
+
+	/**
+	 * Whether the color is the same, that is, anchored in the same color system with the same values.
+	 * @param obj Object
+	 * @return True if the same
+	 */
+	@Override
+	public boolean equals(final Object obj) {
+		if(this == obj) return true;
+		if(!(obj instanceof Color)) return false;
+		final Color c = (Color)obj;
+		return space_ == c.space_ && Arrays.equals(values_[space_.ordinal()], c.values_[c.space_.ordinal()]);
+	}
+
+	@Override
+	public int hashCode() {
+		return space_.ordinal() * 31 + Arrays.hashCode(values_[space_.ordinal()]);
+	}
+
+	@Override
+	public String toString() {
+		final double[] v = values_[space_.ordinal()];
+		return space_ + "(" + v[0] + ", " + v[1] + ", " + v[2] + ")";
+	}
+
+}
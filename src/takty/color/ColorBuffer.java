@@ -0,0 +1,201 @@
+package takty.color;
+
+/**
+ * This class stores colors in structure-of-arrays form, that is, three arrays of channels (double or float),
+ * together with the color space they are in. Compared with an array of double[3], it has no object header per color.
+ * @author Takuto Yanagida
+ * @version 2026-10-18
+ */
+public final class ColorBuffer {
+
+	/**
+	 * Wrap arrays of channels of double.
+	 * @param space Color space
+	 * @param c0 Channel 0
+	 * @param c1 Channel 1
+	 * @param c2 Channel 2
+	 * @return Buffer
+	 */
+	static public ColorBuffer wrap(final ColorSpace.Type space, final double[] c0, final double[] c1, final double[] c2) {
+		if(c0.length != c1.length || c0.length != c2.length) throw new IllegalArgumentException("The lengths of channels are different");
+		return new ColorBuffer(space, c0.length, c0, c1, c2, null, null, null);
+	}
+
+	/**
+	 * Wrap arrays of channels of float.
+	 * @param space Color space
+	 * @param c0 Channel 0
+	 * @param c1 Channel 1
+	 * @param c2 Channel 2
+	 * @return Buffer
+	 */
+	static public ColorBuffer wrap(final ColorSpace.Type space, final float[] c0, final float[] c1, final float[] c2) {
+		if(c0.length != c1.length || c0.length != c2.length) throw new IllegalArgumentException("The lengths of channels are different");
+		return new ColorBuffer(space, c0.length, null, null, null, c0, c1, c2);
+	}
+
+	/**
+	 * Create a buffer of colors.
+	 * @param space Color space
+	 * @param colors Colors
+	 * @return Buffer (double)
+	 */
+	static public ColorBuffer of(final ColorSpace.Type space, final double[][] colors) {
+		final ColorBuffer b = new ColorBuffer(space, colors.length);
+		for(int i = 0; i < colors.length; ++i) b.set(i, colors[i]);
+		return b;
+	}
+
+	/**
+	 * Create a buffer of sRGB colors from color integers. Alpha is ignored.
+	 * @param argb Color integers
+	 * @return Buffer (double)
+	 */
+	static public ColorBuffer fromColorIntegers(final int[] argb) {
+		final ColorBuffer b = new ColorBuffer(ColorSpace.Type.RGB, argb.length);
+		for(int i = 0; i < argb.length; ++i) {
+			final int p = argb[i];
+			b.d0_[i] = (p >> 16) & 0xFF; b.d1_[i] = (p >> 8) & 0xFF; b.d2_[i] = p & 0xFF;
+		}
+		return b;
+	}
+
+	private final ColorSpace.Type space_;
+	private final int size_;
+	private final double[] d0_, d1_, d2_;
+	private final float[] f0_, f1_, f2_;
+
+	/**
+	 * Create a buffer of double.
+	 * @param space Color space
+	 * @param size The number of colors
+	 */
+	public ColorBuffer(final ColorSpace.Type space, final int size) {
+		this(space, size, false);
+	}
+
+	/**
+	 * Create a buffer.
+	 * @param space Color space
+	 * @param size The number of colors
+	 * @param singlePrecision Whether channels are stored in float
+	 */
+	public ColorBuffer(final ColorSpace.Type space, final int size, final boolean singlePrecision) {
+		this(space, size,
+				singlePrecision ? null : new double[size], singlePrecision ? null : new double[size], singlePrecision ? null : new double[size],
+				singlePrecision ? new float[size] : null, singlePrecision ? new float[size] : null, singlePrecision ? new float[size] : null);
+	}
+
+	private ColorBuffer(final ColorSpace.Type space, final int size, final double[] d0, final double[] d1, final double[] d2, final float[] f0, final float[] f1, final float[] f2) {
+		space_ = space;
+		size_  = size;
+		d0_ = d0; d1_ = d1; d2_ = d2;
+		f0_ = f0; f1_ = f1; f2_ = f2;
+	}
+
+	/**
+	 * Create a buffer of the same size and precision in another color space.
+	 * @param space Color space
+	 * @return Buffer
+	 */
+	public ColorBuffer createCompatible(final ColorSpace.Type space) {
+		return new ColorBuffer(space, size_, isSinglePrecision());
+	}
+
+	/**
+	 * Return the color space.
+	 * @return Color space
+	 */
+	public ColorSpace.Type space() {
+		return space_;
+	}
+
+	/**
+	 * Return the number of colors.
+	 * @return The number of colors
+	 */
+	public int size() {
+		return size_;
+	}
+
+	/**
+	 * Whether channels are stored in float.
+	 * @return True if float
+	 */
+	public boolean isSinglePrecision() {
+		return f0_ != null;
+	}
+
+	/**
+	 * Return the array of a channel of double.
+	 * @param index Index of the channel [0, 2]
+	 * @return Array
+	 * @throws IllegalStateException If channels are stored in float
+	 */
+	public double[] channel(final int index) {
+		if(d0_ == null) throw new IllegalStateException("Channels are stored in float");
+		return (index == 0) ? d0_ : ((index == 1) ? d1_ : d2_);
+	}
+
+	/**
+	 * Return the array of a channel of float.
+	 * @param index Index of the channel [0, 2]
+	 * @return Array
+	 * @throws IllegalStateException If channels are stored in double
+	 */
+	public float[] floatChannel(final int index) {
+		if(f0_ == null) throw new IllegalStateException("Channels are stored in double");
+		return (index == 0) ? f0_ : ((index == 1) ? f1_ : f2_);
+	}
+
+	/**
+	 * Get a color.
+	 * @param i Index
+	 * @param dest Color
+	 * @return Color (dest)
+	 */
+	public double[] get(final int i, final double[] dest) {
+		if(d0_ != null) {
+			dest[0] = d0_[i]; dest[1] = d1_[i]; dest[2] = d2_[i];
+		} else {
+			dest[0] = f0_[i]; dest[1] = f1_[i]; dest[2] = f2_[i];
+		}
+		return dest;
+	}
+
+	/**
+	 * Set a color.
+	 * @param i Index
+	 * @param src Color
+	 */
+	public void set(final int i, final double[] src) {
+		if(d0_ != null) {
+			d0_[i] = src[0]; d1_[i] = src[1]; d2_[i] = src[2];
+		} else {
+			f0_[i] = (float)src[0]; f1_[i] = (float)src[1]; f2_[i] = (float)src[2];
+		}
+	}
+
+	/**
+	 * Return the colors as an array of double[3].
+	 * @return Colors
+	 */
+	public double[][] toArrays() {
+		final double[][] cs = new double[size_][3];
+		for(int i = 0; i < size_; ++i) get(i, cs[i]);
+		return cs;
+	}
+
+	/**
+	 * Return the colors as color integers, if this buffer is in sRGB.
+	 * @param dest Color integers (the same length as size)
+	 * @return Color integers (dest)
+	 */
+	public int[] toColorIntegers(final int[] dest) {
+		if(space_ != ColorSpace.Type.RGB) throw new IllegalStateException("The buffer is not in sRGB");
+		final double[] c = new double[3];
+		for(int i = 0; i < size_; ++i) dest[i] = RGB.toColorInteger(get(i, c));
+		return dest;
+	}
+
+}
@@ -1,242 +1,460 @@
-package takty.color;
-
-/**
- * This class mutually converts the color system.
- * @author Takuto Yanagida
- * @version 2018-04-19
- */
-public abstract class ColorConverter {
-
-	static public ColorConverter create(Class<? extends ColorConverter> ...cs) {
-		ColorConverter cc = null, next = null;
-		for(int i = cs.length - 1; i >= 0; --i) {
-			Class<? extends ColorConverter> c = cs[i];
-			try {
-				cc = (ColorConverter)c.newInstance();
-				cc.next_ = next;
-				next = cc;
-			} catch (InstantiationException | IllegalAccessException ex) {
-			}
-		}
-		return cc;
-	}
-
-	// sRGB <-> LRGB ###########################################################
-
-	static public class RGB_LRGB extends ColorConverter {
-		@Override
-		protected boolean function(double[] src, double[] dest) {RGB.toLRGB(src, dest); return false;}
-	}
-
-	static public class LRGB_RGB extends ColorConverter {
-		@Override
-		protected boolean function(double[] src, double[] dest) {
-			LRGB.toRGB(src, dest);
-			return RGB.isSaturated;
-		}
-	}
-
-	// LRGB <-> YIQ ############################################################
-
-	static public class LRGB_YIQ extends ColorConverter {
-		@Override
-		protected boolean function(double[] src, double[] dest) {LRGB.toYIQ(src, dest); return false;}
-	}
-
-	static public class YIQ_LRGB extends ColorConverter {
-		@Override
-		protected boolean function(double[] src, double[] dest) {YIQ.toLRGB(src, dest); return false;}
-	}
-
-	// LRGB <-> XYZ ############################################################
-
-	static public class LRGB_XYZ extends ColorConverter {
-		@Override
-		protected boolean function(double[] src, double[] dest) {LRGB.toXYZ(src, dest); return false;}
-	}
-
-	static public class XYZ_LRGB extends ColorConverter {
-		@Override
-		protected boolean function(double[] src, double[] dest) {XYZ.toLRGB(src, dest); return false;}
-	}
-
-	// XYZ <-> CIELAB ##########################################################
-
-	static public class XYZ_Lab extends ColorConverter {
-		@Override
-		protected boolean function(double[] src, double[] dest) {XYZ.toLab(src, dest); return false;}
-	}
-
-	static public class XYZ_LabL extends ColorConverter {
-		@Override
-		protected boolean function(double[] src, double[] dest) {
-			dest[0] = Lab.lightnessFromXYZ(src); dest[1] = 0.0; dest[2] = 0.0;
-			return false;
-		}
-	}
-
-	static public class Lab_XYZ extends ColorConverter {
-		@Override
-		protected boolean function(double[] src, double[] dest) {Lab.toXYZ(src, dest); return false;}
-	}
-
-	// XYZ <-> LMS #############################################################
-
-	static public class XYZ_LMS extends ColorConverter {
-		@Override
-		protected boolean function(double[] src, double[] dest) {XYZ.toLMS(src, dest); return false;}
-	}
-
-	static public class LMS_XYZ extends ColorConverter {
-		@Override
-		protected boolean function(double[] src, double[] dest) {LMS.toXYZ(src, dest); return false;}
-	}
-
-	// LMS -> LMSp, d ##########################################################
-
-	static public class LMS_LMSp extends ColorConverter {
-		@Override
-		protected boolean function(double[] src, double[] dest) {ColorVisionSimulation.lmsToProtanopia(src, dest); return false;}
-	}
-
-	static public class LMS_LMSd extends ColorConverter {
-		@Override
-		protected boolean function(double[] src, double[] dest) {ColorVisionSimulation.lmsToDeuteranopia(src, dest); return false;}
-	}
-
-	// LRGB -> LRGBp, d ##########################################################
-
-	static public class LRGB_LRGBp extends ColorConverter {
-		@Override
-		protected boolean function(double[] src, double[] dest) {ColorVisionSimulation.lrgbToProtanopia(src, dest); return false;}
-	}
-
-	static public class LRGB_LRGBd extends ColorConverter {
-		@Override
-		protected boolean function(double[] src, double[] dest) {ColorVisionSimulation.lrgbToDeuteranopia(src, dest); return false;}
-	}
-
-	// XYZ <-> Yxy #############################################################
-
-	static public class XYZ_Yxy extends ColorConverter {
-		@Override
-		protected boolean function(double[] src, double[] dest) {XYZ.toYxy(src, dest); return false;}
-	}
-
-	static public class Yxy_XYZ extends ColorConverter {
-		@Override
-		protected boolean function(double[] src, double[] dest) {
-			Yxy.toXYZ(src, dest);
-			return Yxy.isSaturated;
-		}
-	}
-
-	// Lab -> Lab eAb, yAb ########################################################
-
-	static public class Lab_LabeAb extends ColorConverter {
-		@Override
-		protected boolean function(double[] src, double[] dest) {AgeSimulation.labToElderlyAB(src, dest); return false;}
-	}
-
-	static public class Lab_LabyAb extends ColorConverter {
-		@Override
-		protected boolean function(double[] src, double[] dest) {AgeSimulation.labToYoungAB(src, dest); return false;}
-	}
-
-	// Munsell <-> XYZ #########################################################
-
-	static public class Munsell_XYZ extends ColorConverter {
-		@Override
-		protected boolean function(double[] src, double[] dest) {Munsell.toXYZ(src, dest); return false;}
-	}
-
-	static public class XYZ_Munsell extends ColorConverter {
-		@Override
-		protected boolean function(double[] src, double[] dest) {Munsell.fromXYZ(src, dest); return false;}
-	}
-
-	// PCCS <-> Munsell ########################################################
-
-	static public class PCCS_Munsell extends ColorConverter {
-		@Override
-		protected boolean function(double[] src, double[] dest) {PCCS.toMunsell(src, dest); return false;}
-	}
-
-	static public class Munsell_PCCS extends ColorConverter {
-		@Override
-		protected boolean function(double[] src, double[] dest) {PCCS.fromMunsell(src, dest); return false;}
-	}
-
-	// PCCS <-> PCCS Tone ########################################################
-
-	static public class PCCS_Tone extends ColorConverter {
-		@Override
-		protected boolean function(double[] src, double[] dest) {PCCS.toToneCoordinate(src, dest); return false;}
-	}
-
-	static public class Tone_PCCS extends ColorConverter {
-		@Override
-		protected boolean function(double[] src, double[] dest) {PCCS.toNormalCoordinate(src, dest); return false;}
-	}
-
-	// Utilities ###############################################################
-
-	static public ColorConverter createRgbToLab() {
-		return ColorConverter.create(RGB_LRGB.class, LRGB_XYZ.class, XYZ_Lab.class);
-	}
-
-	static public ColorConverter createLabToRgb() {
-		return ColorConverter.create(Lab_XYZ.class, XYZ_LRGB.class, LRGB_RGB.class);
-	}
-
-	static public ColorConverter createRgbToRgbP() {
-		return ColorConverter.create(RGB_LRGB.class, LRGB_XYZ.class, XYZ_LMS.class, LMS_LMSp.class, LMS_XYZ.class, XYZ_LRGB.class, LRGB_RGB.class);
-	}
-
-	static public ColorConverter createRgbToRgbD() {
-		return ColorConverter.create(RGB_LRGB.class, LRGB_XYZ.class, XYZ_LMS.class, LMS_LMSd.class, LMS_XYZ.class, XYZ_LRGB.class, LRGB_RGB.class);
-	}
-
-	static public ColorConverter createRgbToRgbL() {
-		return ColorConverter.create(RGB_LRGB.class, LRGB_XYZ.class, XYZ_LabL.class, Lab_XYZ.class, XYZ_LRGB.class, LRGB_RGB.class);
-	}
-
-	static public ColorConverter createRgbToYxy() {
-		return ColorConverter.create(RGB_LRGB.class, LRGB_XYZ.class, XYZ_Yxy.class);
-	}
-
-	// Operators ###############################################################
-
-	private ColorConverter next_;
-	private double[] temp_;
-	private boolean isSaturated_ = false;
-
-	protected abstract boolean function(double[] src, double[] dest);
-
-	public double[] convert(double[] src) {
-		return convert(src, new double[3]);
-	}
-
-	public double[] convert(double[] src, double[] dest) {
-		isSaturated_ = false;
-		if(temp_ == null) {
-			temp_ = (double[])src.clone();
-		} else {
-			temp_[0] = src[0]; temp_[1] = src[1]; temp_[2] = src[2];
-		}
-		ColorConverter cc = this;
-		while(true) {
-			final boolean ret = cc.function(temp_, dest);
-			if(ret == true) isSaturated_ = true;
-			if(cc.next_ == null) break;
-			temp_[0] = dest[0]; temp_[1] = dest[1]; temp_[2] = dest[2];
-			cc = cc.next_;
-		}
-		return dest;
-	}
-
-	public boolean isSaturated() {
-		return isSaturated_;
-	}
-
-}
+package takty.color;
+
+/**
+ * This class mutually converts the color system.
+ * @author Takuto Yanagida
+ * @version 2026-10-19
+ */
+public abstract class ColorConverter {
+
+	static public ColorConverter create(Class<? extends ColorConverter> ...cs) {
+		ColorConverter cc = null, next = null;
+		for(int i = cs.length - 1; i >= 0; --i) {
+			Class<? extends ColorConverter> c = cs[i];
+			try {
+				cc = (ColorConverter)c.newInstance();
+				cc.next_ = next;
+				next = cc;
+			} catch (InstantiationException | IllegalAccessException ex) {
+			}
+		}
+		return cc;
+	}
+
+	/**
+	 * Create a chain of the converter instances.
+	 * The instances are linked in the given order, so do not share them with other chains.
+	 * @param cs Converters
+	 * @return The first converter of the chain
+	 */
+	static public ColorConverter create(ColorConverter ...cs) {
+		for(int i = 0; i < cs.length - 1; ++i) cs[i].next_ = cs[i + 1];
+		return (cs.length == 0) ? null : cs[0];
+	}
+
+	/**
+	 * Factory of converters, for classes which create a converter for each thread.
+	 * A factory must create converters whose settings are fixed when it is created (for example, by a ConversionContext),
+	 * since the converters are created at any time later.
+	 */
+	public interface Factory {
+
+		/**
+		 * Create a converter (or a chain of converters).
+		 * @return Converter
+		 */
+		ColorConverter create();
+
+	}
+
+	// sRGB <-> LRGB ###########################################################
+
+	static public class RGB_LRGB extends ColorConverter {
+		@Override
+		protected boolean function(double[] src, double[] dest) {RGB.toLRGB(src, dest); return false;}
+	}
+
+	static public class LRGB_RGB extends ColorConverter {
+		private final boolean[] sat_ = new boolean[1];
+		@Override
+		protected boolean function(double[] src, double[] dest) {
+			RGB.fromLRGB(src, dest, sat_);
+			return sat_[0];
+		}
+	}
+
+	// LRGB <-> YIQ ############################################################
+
+	static public class LRGB_YIQ extends ColorConverter {
+		@Override
+		protected boolean function(double[] src, double[] dest) {LRGB.toYIQ(src, dest); return false;}
+	}
+
+	static public class YIQ_LRGB extends ColorConverter {
+		@Override
+		protected boolean function(double[] src, double[] dest) {YIQ.toLRGB(src, dest); return false;}
+	}
+
+	// LRGB <-> XYZ ############################################################
+
+	static public class LRGB_XYZ extends ColorConverter {
+		@Override
+		protected boolean function(double[] src, double[] dest) {LRGB.toXYZ(src, dest); return false;}
+	}
+
+	static public class XYZ_LRGB extends ColorConverter {
+		@Override
+		protected boolean function(double[] src, double[] dest) {XYZ.toLRGB(src, dest); return false;}
+	}
+
+	// XYZ <-> CIELAB ##########################################################
+
+	static public class XYZ_Lab extends ColorConverter {
+		@Override
+		protected boolean function(double[] src, double[] dest) {XYZ.toLab(src, dest); return false;}
+	}
+
+	static public class XYZ_LabL extends ColorConverter {
+		@Override
+		protected boolean function(double[] src, double[] dest) {
+			dest[0] = Lab.lightnessFromXYZ(src); dest[1] = 0.0; dest[2] = 0.0;
+			return false;
+		}
+	}
+
+	static public class Lab_XYZ extends ColorConverter {
+		@Override
+		protected boolean function(double[] src, double[] dest) {Lab.toXYZ(src, dest); return false;}
+	}
+
+	// XYZ <-> LMS #############################################################
+
+	static public class XYZ_LMS extends ColorConverter {
+		@Override
+		protected boolean function(double[] src, double[] dest) {XYZ.toLMS(src, dest); return false;}
+	}
+
+	static public class LMS_XYZ extends ColorConverter {
+		@Override
+		protected boolean function(double[] src, double[] dest) {LMS.toXYZ(src, dest); return false;}
+	}
+
+	// LMS -> LMSp, d ##########################################################
+
+	static public class LMS_LMSp extends ColorConverter {
+		@Override
+		protected boolean function(double[] src, double[] dest) {ColorVisionSimulation.lmsToProtanopia(src, dest); return false;}
+	}
+
+	static public class LMS_LMSd extends ColorConverter {
+		@Override
+		protected boolean function(double[] src, double[] dest) {ColorVisionSimulation.lmsToDeuteranopia(src, dest); return false;}
+	}
+
+	// LRGB -> LRGBp, d ##########################################################
+
+	static public class LRGB_LRGBp extends ColorConverter {
+		@Override
+		protected boolean function(double[] src, double[] dest) {ColorVisionSimulation.lrgbToProtanopia(src, dest); return false;}
+	}
+
+	static public class LRGB_LRGBd extends ColorConverter {
+		@Override
+		protected boolean function(double[] src, double[] dest) {ColorVisionSimulation.lrgbToDeuteranopia(src, dest); return false;}
+	}
+
+	// XYZ <-> Yxy #############################################################
+
+	static public class XYZ_Yxy extends ColorConverter {
+		@Override
+		protected boolean function(double[] src, double[] dest) {XYZ.toYxy(src, dest); return false;}
+	}
+
+	static public class Yxy_XYZ extends ColorConverter {
+		private final boolean[] sat_ = new boolean[1];
+		@Override
+		protected boolean function(double[] src, double[] dest) {
+			Yxy.toXYZ(src, dest, sat_);
+			return sat_[0];
+		}
+	}
+
+	// Lab -> Lab eAb, yAb ########################################################
+
+	static public class Lab_LabeAb extends ColorConverter {
+		@Override
+		protected boolean function(double[] src, double[] dest) {AgeSimulation.labToElderlyAB(src, dest); return false;}
+	}
+
+	static public class Lab_LabyAb extends ColorConverter {
+		@Override
+		protected boolean function(double[] src, double[] dest) {AgeSimulation.labToYoungAB(src, dest); return false;}
+	}
+
+	// Munsell <-> XYZ #########################################################
+
+	static public class Munsell_XYZ extends ColorConverter {
+		private final boolean[] sat_ = new boolean[1];
+		@Override
+		protected boolean function(double[] src, double[] dest) {
+			Munsell.toXYZ(src, dest, sat_);
+			return sat_[0];
+		}
+	}
+
+	static public class XYZ_Munsell extends ColorConverter {
+		@Override
+		protected boolean function(double[] src, double[] dest) {Munsell.fromXYZ(src, dest); return false;}
+	}
+
+	// PCCS <-> Munsell ########################################################
+
+	static public class PCCS_Munsell extends ColorConverter {
+		@Override
+		protected boolean function(double[] src, double[] dest) {PCCS.toMunsell(src, dest); return false;}
+	}
+
+	static public class Munsell_PCCS extends ColorConverter {
+		@Override
+		protected boolean function(double[] src, double[] dest) {PCCS.fromMunsell(src, dest); return false;}
+	}
+
+	// PCCS <-> PCCS Tone ########################################################
+
+	static public class PCCS_Tone extends ColorConverter {
+		@Override
+		protected boolean function(double[] src, double[] dest) {PCCS.toToneCoordinate(src, dest); return false;}
+	}
+
+	static public class Tone_PCCS extends ColorConverter {
+		@Override
+		protected boolean function(double[] src, double[] dest) {PCCS.toNormalCoordinate(src, dest); return false;}
+	}
+
+	// Linear transformation ###################################################
+
+	/**
+	 * Converter of a linear transformation by a 3x3 matrix.
+	 * Consecutive linear stages (e.g. LRGB_XYZ, a chromatic adaptation and XYZ_LMS) can be merged into one matrix by concatenate.
+	 */
+	static public class Matrix extends ColorConverter {
+
+		/**
+		 * Concatenate linear converters into one matrix converter.
+		 * The converters are applied in the given order. Converters other than Matrix are sampled by the unit vectors,
+		 * so they must be single stages (not chains) and linear (e.g. LRGB_XYZ, XYZ_LRGB, XYZ_LMS, LMS_XYZ, LRGB_YIQ and YIQ_LRGB).
+		 * @param cs Linear converters
+		 * @return Matrix converter
+		 */
+		static public Matrix concatenate(ColorConverter ...cs) {
+			double[][] m = {{1.0, 0.0, 0.0}, {0.0, 1.0, 0.0}, {0.0, 0.0, 1.0}};
+			for(ColorConverter c: cs) m = multiply(matrixOf(c), m);
+			return new Matrix(m);
+		}
+
+		static private double[][] matrixOf(ColorConverter c) {
+			if(c instanceof Matrix) return ((Matrix)c).matrix();
+			final double[][] m = new double[3][3];
+			for(int j = 0; j < 3; ++j) {
+				final double[] e = new double[3];
+				e[j] = 1.0;
+				final double[] col = c.convert(e);
+				m[0][j] = col[0]; m[1][j] = col[1]; m[2][j] = col[2];
+			}
+			return m;
+		}
+
+		/**
+		 * Multiply two 3x3 matrices (a * b).
+		 * @param a Matrix a
+		 * @param b Matrix b
+		 * @return Product
+		 */
+		static public double[][] multiply(double[][] a, double[][] b) {
+			final double[][] m = new double[3][3];
+			for(int i = 0; i < 3; ++i) {
+				for(int j = 0; j < 3; ++j) m[i][j] = a[i][0] * b[0][j] + a[i][1] * b[1][j] + a[i][2] * b[2][j];
+			}
+			return m;
+		}
+
+		private final double m00_, m01_, m02_, m10_, m11_, m12_, m20_, m21_, m22_;
+
+		public Matrix(double[][] m) {
+			m00_ = m[0][0]; m01_ = m[0][1]; m02_ = m[0][2];
+			m10_ = m[1][0]; m11_ = m[1][1]; m12_ = m[1][2];
+			m20_ = m[2][0]; m21_ = m[2][1]; m22_ = m[2][2];
+		}
+
+		public double[][] matrix() {
+			return new double[][] {{m00_, m01_, m02_}, {m10_, m11_, m12_}, {m20_, m21_, m22_}};
+		}
+
+		/**
+		 * Convert colors of a buffer. If this matrix is not linked to other converters and both buffers are of double,
+		 * channels are converted directly by ColorKernels.
+		 * @param src Source colors
+		 * @param dest Destination colors (the same size as src)
+		 * @return Destination colors (dest)
+		 */
+		@Override
+		public ColorBuffer convert(ColorBuffer src, ColorBuffer dest) {
+			if(((ColorConverter)this).next_ != null || src.isSinglePrecision() || dest.isSinglePrecision()) return super.convert(src, dest);
+			return ColorKernels.multiply(matrix(), src, dest);
+		}
+
+		@Override
+		protected boolean function(double[] src, double[] dest) {
+			final double d0 = m00_ * src[0] + m01_ * src[1] + m02_ * src[2];
+			final double d1 = m10_ * src[0] + m11_ * src[1] + m12_ * src[2];
+			final double d2 = m20_ * src[0] + m21_ * src[1] + m22_ * src[2];
+			dest[0] = d0; dest[1] = d1; dest[2] = d2;
+			return false;
+		}
+	}
+
+	// Utilities ###############################################################
+
+	static public ColorConverter createRgbToLab() {
+		return ColorConverter.create(RGB_LRGB.class, LRGB_XYZ.class, XYZ_Lab.class);
+	}
+
+	static public ColorConverter createLabToRgb() {
+		return ColorConverter.create(Lab_XYZ.class, XYZ_LRGB.class, LRGB_RGB.class);
+	}
+
+	static public ColorConverter createRgbToRgbP() {
+		return ColorConverter.create(RGB_LRGB.class, LRGB_XYZ.class, XYZ_LMS.class, LMS_LMSp.class, LMS_XYZ.class, XYZ_LRGB.class, LRGB_RGB.class);
+	}
+
+	static public ColorConverter createRgbToRgbD() {
+		return ColorConverter.create(RGB_LRGB.class, LRGB_XYZ.class, XYZ_LMS.class, LMS_LMSd.class, LMS_XYZ.class, XYZ_LRGB.class, LRGB_RGB.class);
+	}
+
+	static public ColorConverter createRgbToRgbL() {
+		return ColorConverter.create(RGB_LRGB.class, LRGB_XYZ.class, XYZ_LabL.class, Lab_XYZ.class, XYZ_LRGB.class, LRGB_RGB.class);
+	}
+
+	static public ColorConverter createRgbToYxy() {
+		return ColorConverter.create(RGB_LRGB.class, LRGB_XYZ.class, XYZ_Yxy.class);
+	}
+
+	// Operators ###############################################################
+
+	private ColorConverter next_;
+	private double[] temp_;
+	private boolean isSaturated_ = false;
+
+	protected abstract boolean function(double[] src, double[] dest);
+
+	public double[] convert(double[] src) {
+		return convert(src, new double[3]);
+	}
+
+	public double[] convert(double[] src, double[] dest) {
+		isSaturated_ = false;
+		if(temp_ == null) {
+			temp_ = (double[])src.clone();
+		} else {
+			temp_[0] = src[0]; temp_[1] = src[1]; temp_[2] = src[2];
+		}
+		ColorConverter cc = this;
+		while(true) {
+			final boolean ret = cc.function(temp_, dest);
+			if(ret == true) isSaturated_ = true;
+			if(cc.next_ == null) break;
+			temp_[0] = dest[0]; temp_[1] = dest[1]; temp_[2] = dest[2];
+			cc = cc.next_;
+		}
+		return dest;
+	}
+
+	/**
+	 * Convert colors, and report whether each color is saturated.
+	 * A converter keeps working memory, so use one instance per thread.
+	 * @param src Source colors
+	 * @param dest Destination colors (the same length as src)
+	 * @param saturated Whether each color is saturated (the same length as src)
+	 * @return Destination colors (dest)
+	 */
+	public double[][] convert(double[][] src, double[][] dest, boolean[] saturated) {
+		for(int i = 0; i < src.length; ++i) {
+			convert(src[i], dest[i]);
+			saturated[i] = isSaturated_;
+		}
+		return dest;
+	}
+
+	/**
+	 * Convert colors of color integers (sRGB) to colors stored in an interleaved array.
+	 * Each distinct color is converted only once, and the results are copied to the pixels of the same color.
+	 * Alpha is ignored.
+	 * @param src Color integers
+	 * @param srcOff Offset of src
+	 * @param dest Destination colors (c0, c1, c2, c0, c1, c2, ...)
+	 * @param destOff Offset of dest
+	 * @param count The number of colors
+	 * @return Destination colors (dest)
+	 */
+	public double[] convertColorIntegers(final int[] src, final int srcOff, final double[] dest, final int destOff, final int count) {
+		final ColorIntegerMap map = new ColorIntegerMap(Math.min(count, 1 << 12));
+		final int[] idx = new int[count];
+		for(int i = 0; i < count; ++i) idx[i] = map.index(src[srcOff + i] & 0xFFFFFF);
+
+		final double[] vs = new double[map.size() * 3];
+		final double[] c = new double[3];
+		for(int j = 0; j < map.size(); ++j) {
+			convert(RGB.fromColorInteger(map.key(j), c), c);
+			vs[j * 3] = c[0]; vs[j * 3 + 1] = c[1]; vs[j * 3 + 2] = c[2];
+		}
+		for(int i = 0, d = destOff; i < count; ++i, d += 3) {
+			final int v = idx[i] * 3;
+			dest[d] = vs[v]; dest[d + 1] = vs[v + 1]; dest[d + 2] = vs[v + 2];
+		}
+		return dest;
+	}
+
+	/**
+	 * Convert colors of color integers (sRGB) by this converter from sRGB to sRGB.
+	 * Each distinct color is converted only once, and the results are copied to the pixels of the same color.
+	 * Alpha is kept. This method works even if src and dest are the same array with the same offset.
+	 * @param src Color integers
+	 * @param srcOff Offset of src
+	 * @param dest Destination color integers
+	 * @param destOff Offset of dest
+	 * @param count The number of colors
+	 * @return Destination color integers (dest)
+	 */
+	public int[] convertColorIntegers(final int[] src, final int srcOff, final int[] dest, final int destOff, final int count) {
+		final ColorIntegerMap map = new ColorIntegerMap(Math.min(count, 1 << 12));
+		final int[] idx = new int[count];
+		for(int i = 0; i < count; ++i) idx[i] = map.index(src[srcOff + i] & 0xFFFFFF);
+
+		final int[] vs = new int[map.size()];
+		final double[] c = new double[3];
+		for(int j = 0; j < map.size(); ++j) {
+			vs[j] = RGB.toColorInteger(convert(RGB.fromColorInteger(map.key(j), c), c)) & 0xFFFFFF;
+		}
+		for(int i = 0; i < count; ++i) dest[destOff + i] = (src[srcOff + i] & 0xFF000000) | vs[idx[i]];
+		return dest;
+	}
+
+	/**
+	 * Convert colors of a buffer. The color space of dest is not checked.
+	 * A converter keeps working memory, so use one instance per thread.
+	 * This method works even if src and dest are the same object.
+	 * @param src Source colors
+	 * @param dest Destination colors (the same size as src)
+	 * @return Destination colors (dest)
+	 */
+	public ColorBuffer convert(ColorBuffer src, ColorBuffer dest) {
+		if(src.size() != dest.size()) throw new IllegalArgumentException("The sizes of src and dest are different");
+		final double[] c = new double[3];
+		for(int i = 0; i < src.size(); ++i) dest.set(i, convert(src.get(i, c), c));
+		return dest;
+	}
+
+	/**
+	 * Convert colors of a buffer, and report whether each color is saturated.
+	 * A converter keeps working memory, so use one instance per thread.
+	 * This method works even if src and dest are the same object.
+	 * @param src Source colors
+	 * @param dest Destination colors (the same size as src)
+	 * @param saturated Whether each color is saturated (the same length as the size of src)
+	 * @return Destination colors (dest)
+	 */
+	public ColorBuffer convert(ColorBuffer src, ColorBuffer dest, boolean[] saturated) {
+		if(src.size() != dest.size()) throw new IllegalArgumentException("The sizes of src and dest are different");
+		final double[] c = new double[3];
+		for(int i = 0; i < src.size(); ++i) {
+			dest.set(i, convert(src.get(i, c), c));
+			saturated[i] = isSaturated_;
+		}
+		return dest;
+	}
+
+	public boolean isSaturated() {
+		return isSaturated_;
+	}
+
+}
@@ -0,0 +1,246 @@
+package takty.color;
+
+import java.awt.RenderingHints;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.BufferedImageOp;
+import java.awt.image.ColorModel;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class is a BufferedImageOp which converts each pixel of sRGB images, such as color vision simulations.
+ * Pixels of packed int and interleaved byte sRGB images are read and written directly through their data buffers,
+ * and the image is split into tiles of rows which are processed on a ForkJoinPool.
+ * Other images are processed in the calling thread through BufferedImage.getRGB and setRGB.
+ * Alpha is kept.
+ * @author Takuto Yanagida
+ * @version 2026-10-18
+ */
+public abstract class ColorImageOp implements BufferedImageOp {
+
+	static private final int TILE_PIXELS = 1 << 16;  // The number of pixels of a tile processed without splitting
+
+	static private ForkJoinPool pool;
+
+	/**
+	 * Return the shared pool used by filter(src, dest).
+	 * @return Pool
+	 */
+	static synchronized ForkJoinPool sharedPool() {
+		if(pool == null) pool = new ForkJoinPool();
+		return pool;
+	}
+
+	/**
+	 * Create a filter of color vision simulation.
+	 * MONOCHROMACY is simulated by LightnessSimulation, and the others are simulated by AnomalousTrichromacy with the severity.
+	 * @param vision Color vision
+	 * @param severity Severity [0, 1] (ignored for TRICHROMACY and MONOCHROMACY)
+	 * @return Filter
+	 */
+	static public ColorImageOp createColorVisionOp(final Vision vision, final double severity) {
+		if(vision == Vision.MONOCHROMACY) return createLightnessOp();
+		return createColorVisionOp(AnomalousTrichromacy.of(vision, severity));
+	}
+
+	/**
+	 * Create a filter of anomalous trichromacy simulation.
+	 * @param sim Simulation
+	 * @return Filter
+	 */
+	static public ColorImageOp createColorVisionOp(final AnomalousTrichromacy sim) {
+		return new ColorImageOp() {
+			@Override
+			public int[] filter(int[] src, int srcOff, int[] dest, int destOff, int count) {
+				return sim.simulate(src, srcOff, dest, destOff, count);
+			}
+		};
+	}
+
+	/**
+	 * Create a filter of lightness (monochromacy) simulation.
+	 * @return Filter
+	 */
+	static public ColorImageOp createLightnessOp() {
+		return new ColorImageOp() {
+			@Override
+			public int[] filter(int[] src, int srcOff, int[] dest, int destOff, int count) {
+				return LightnessSimulation.simulate(src, srcOff, dest, destOff, count);
+			}
+		};
+	}
+
+	/**
+	 * Create a filter of color vision simulation of elderly people.
+	 * @return Filter
+	 */
+	static public ColorImageOp createElderlyOp() {
+		return new ColorImageOp() {
+			@Override
+			public int[] filter(int[] src, int srcOff, int[] dest, int destOff, int count) {
+				return AgeSimulation.rgbToElderly(src, srcOff, dest, destOff, count);
+			}
+		};
+	}
+
+	/**
+	 * Create a filter of color vision simulation of young people.
+	 * @return Filter
+	 */
+	static public ColorImageOp createYoungOp() {
+		return new ColorImageOp() {
+			@Override
+			public int[] filter(int[] src, int srcOff, int[] dest, int destOff, int count) {
+				return AgeSimulation.rgbToYoung(src, srcOff, dest, destOff, count);
+			}
+		};
+	}
+
+	/**
+	 * Create a filter by a converter from sRGB to sRGB, such as ColorConverter.createRgbToRgbP.
+	 * Since converters are not thread safe, the filter processes images in the calling thread.
+	 * @param rgbToRgb Converter from sRGB to sRGB
+	 * @return Filter
+	 */
+	static public ColorImageOp create(final ColorConverter rgbToRgb) {
+		return new ColorImageOp() {
+			private final double[] c_ = new double[3];
+
+			@Override
+			public synchronized int[] filter(int[] src, int srcOff, int[] dest, int destOff, int count) {
+				for(int i = 0; i < count; ++i) {
+					final int p = src[srcOff + i];
+					rgbToRgb.convert(RGB.fromColorInteger(p, c_), c_);
+					dest[destOff + i] = (p & 0xFF000000) | (RGB.toColorInteger(c_) & 0xFFFFFF);
+				}
+				return dest;
+			}
+
+			@Override
+			protected boolean isConcurrent() {
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Whether filter(int[], int, int[], int, int) can be called from multiple threads at the same time.
+	 * @return True if concurrent call is allowed
+	 */
+	protected boolean isConcurrent() {
+		return true;
+	}
+
+	/**
+	 * Convert color integers of pixels. Unless isConcurrent returns false, implementations must be safe to call from multiple threads,
+	 * and must work even if src and dest are the same array with the same offset.
+	 * @param src Color integers
+	 * @param srcOff Offset of src
+	 * @param dest Converted color integers
+	 * @param destOff Offset of dest
+	 * @param count The number of pixels
+	 * @return Converted color integers (dest)
+	 */
+	public abstract int[] filter(int[] src, int srcOff, int[] dest, int destOff, int count);
+
+	/**
+	 * Filter an image by the shared pool. src and dest can be the same image.
+	 * @param src Source image
+	 * @param dest Destination image of the same size, or null to create a compatible one
+	 * @return Destination image
+	 */
+	@Override
+	public BufferedImage filter(final BufferedImage src, final BufferedImage dest) {
+		return filter(src, dest, sharedPool());
+	}
+
+	/**
+	 * Filter an image. src and dest can be the same image.
+	 * @param src Source image
+	 * @param dest Destination image of the same size, or null to create a compatible one
+	 * @param pool Pool, or null to process in the calling thread
+	 * @return Destination image
+	 */
+	public BufferedImage filter(final BufferedImage src, BufferedImage dest, final ForkJoinPool pool) {
+		if(dest == null) dest = createCompatibleDestImage(src, null);
+		if(src.getWidth() != dest.getWidth() || src.getHeight() != dest.getHeight()) {
+			throw new IllegalArgumentException("The sizes of src and dest are different");
+		}
+		final ImagePixels sp = ImagePixels.of(src);
+		final ImagePixels dp = (dest == src) ? sp : ImagePixels.of(dest);
+		if(pool == null || !isConcurrent() || !sp.isConcurrent() || !dp.isConcurrent()) {
+			new Tile(sp, dp, 0, src.getHeight(), false).compute();
+		} else {
+			pool.invoke(new Tile(sp, dp, 0, src.getHeight(), true));
+		}
+		return dest;
+	}
+
+	@Override
+	public BufferedImage createCompatibleDestImage(final BufferedImage src, ColorModel destCM) {
+		if(destCM == null) destCM = src.getColorModel();
+		final int w = src.getWidth(), h = src.getHeight();
+		return new BufferedImage(destCM, destCM.createCompatibleWritableRaster(w, h), destCM.isAlphaPremultiplied(), null);
+	}
+
+	@Override
+	public Rectangle2D getBounds2D(final BufferedImage src) {
+		return src.getRaster().getBounds();
+	}
+
+	@Override
+	public Point2D getPoint2D(final Point2D srcPt, Point2D dstPt) {
+		if(dstPt == null) dstPt = new Point2D.Double();
+		dstPt.setLocation(srcPt);
+		return dstPt;
+	}
+
+	@Override
+	public RenderingHints getRenderingHints() {
+		return null;
+	}
+
+
+	// -------------------------------------------------------------------------
+
+
+	private final class Tile extends RecursiveAction {
+
+		static private final long serialVersionUID = 1L;
+
+		private final ImagePixels sp_, dp_;
+		private final int y0_, y1_;
+		private final boolean split_;
+
+		Tile(final ImagePixels sp, final ImagePixels dp, final int y0, final int y1, final boolean split) {
+			sp_ = sp; dp_ = dp;
+			y0_ = y0; y1_ = y1;
+			split_ = split;
+		}
+
+		@Override
+		protected void compute() {
+			final int w = sp_.width;
+			if(split_ && y1_ - y0_ > 1 && (long)(y1_ - y0_) * w > TILE_PIXELS) {
+				final int m = (y0_ + y1_) >>> 1;
+				invokeAll(new Tile(sp_, dp_, y0_, m, true), new Tile(sp_, dp_, m, y1_, true));
+				return;
+			}
+			final int[] sa = sp_.array(), da = dp_.array();
+			if(sa != null && da != null && (sp_.hasAlpha || !dp_.hasAlpha)) {
+				for(int y = y0_; y < y1_; ++y) filter(sa, sp_.index(0, y), da, dp_.index(0, y), w);
+			} else {
+				final int[] buf = new int[w];
+				for(int y = y0_; y < y1_; ++y) {
+					sp_.read(0, y, w, buf, 0);
+					filter(buf, 0, buf, 0, w);
+					dp_.write(0, y, w, buf, 0);
+				}
+			}
+		}
+
+	}
+
+}
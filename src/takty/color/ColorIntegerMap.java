@@ -0,0 +1,104 @@
+package takty.color;
+
+import java.util.Arrays;
+
+/**
+ * This class maps color integers to dense indices in the order of their first occurrence,
+ * by an open-addressing hash table of primitive integers (linear probing).
+ * @author Takuto Yanagida
+ * @version 2026-10-18
+ */
+final class ColorIntegerMap {
+
+	static private final int EMPTY = -1;
+
+	private int[] keys_, vals_;
+	private int[] order_;
+	private int size_, mask_;
+
+	/**
+	 * Create a map.
+	 * @param expected The expected number of distinct keys
+	 */
+	ColorIntegerMap(final int expected) {
+		int cap = 16;
+		while(cap < expected * 2 && cap < (1 << 30)) cap <<= 1;
+		allocate(cap);
+		order_ = new int[Math.max(16, Math.min(expected, 1 << 16))];
+	}
+
+	private void allocate(final int cap) {
+		keys_ = new int[cap];
+		vals_ = new int[cap];
+		Arrays.fill(vals_, EMPTY);
+		mask_ = cap - 1;
+	}
+
+	static private int slot(final int key) {
+		final int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * Return the index of a key, adding the key if it is absent.
+	 * @param key Key
+	 * @return Index
+	 */
+	int index(final int key) {
+		int s = slot(key) & mask_;
+		while(true) {
+			final int v = vals_[s];
+			if(v == EMPTY) break;
+			if(keys_[s] == key) return v;
+			s = (s + 1) & mask_;
+		}
+		if(size_ == order_.length) order_ = Arrays.copyOf(order_, size_ * 2);
+		order_[size_] = key;
+		keys_[s] = key;
+		vals_[s] = size_;
+		if(++size_ * 2 > keys_.length) rehash();
+		return size_ - 1;
+	}
+
+	/**
+	 * Return the index of a key.
+	 * @param key Key
+	 * @return Index, or -1 if the key is absent
+	 */
+	int get(final int key) {
+		int s = slot(key) & mask_;
+		while(true) {
+			final int v = vals_[s];
+			if(v == EMPTY || keys_[s] == key) return v;
+			s = (s + 1) & mask_;
+		}
+	}
+
+	private void rehash() {
+		allocate(keys_.length * 2);
+		for(int i = 0; i < size_; ++i) {
+			int s = slot(order_[i]) & mask_;
+			while(vals_[s] != EMPTY) s = (s + 1) & mask_;
+			keys_[s] = order_[i];
+			vals_[s] = i;
+		}
+	}
+
+	/**
+	 * Return the number of keys.
+	 * @return The number of keys
+	 */
+	int size() {
+		return size_;
+	}
+
+	/**
+	 * Return the key of an index.
+	 * @param index Index
+	 * @return Key
+	 */
+	int key(final int index) {
+		return order_[index];
+	}
+
+}
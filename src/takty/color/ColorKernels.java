@@ -0,0 +1,292 @@
+package takty.color;
+
+/**
+ * This class provides bulk kernels of the linear conversions and CIE76 over colors in structure-of-arrays form.
+ * Each kernel is a counted loop over primitive channel arrays without calls or branches.
+ * On Java 16 or later, the multi-release jar (META-INF/versions/16) runs the matrix kernels by the Vector API (SIMD instructions)
+ * if the incubating module is added by "--add-modules jdk.incubator.vector"; the results are the same as the scalar loops.
+ * The loops of CIE76 are left to the JIT compiler, which vectorizes them as fast as the Vector API.
+ * @author Takuto Yanagida
+ * @version 2026-10-18
+ */
+public final class ColorKernels {
+
+	static private final double[][] LRGB_XYZ  = matrixOf(0);
+	static private final double[][] XYZ_LRGB  = matrixOf(1);
+	static private final double[][] LRGB_YIQ  = matrixOf(2);
+	static private final double[][] YIQ_LRGB  = matrixOf(3);
+	static private final double[][] C_D65     = matrixOf(4);
+	static private final double[][] D65_C     = matrixOf(5);
+	static private final double[][] LMS_LMS_P = matrixOf(6);
+	static private final double[][] LMS_LMS_D = matrixOf(7);
+
+	// Probe the linear conversion with unit vectors
+	static private double[][] matrixOf(final int id) {
+		final double[][] m = new double[3][3];
+		final double[] c = new double[3];
+		for(int j = 0; j < 3; ++j) {
+			final double[] e = new double[3];
+			e[j] = 1.0;
+			switch(id) {
+			case 0: LRGB.toXYZ(e, c); break;
+			case 1: LRGB.fromXYZ(e, c); break;
+			case 2: YIQ.fromLRGB(e, c); break;
+			case 3: YIQ.toLRGB(e, c); break;
+			case 4: XYZ.fromIlluminantC(e, c); break;
+			case 5: XYZ.toIlluminantC(e, c); break;
+			case 6: ColorVisionSimulation.lmsToProtanopiaBrettel(e, c); break;
+			default: ColorVisionSimulation.lmsToDeuteranopiaBrettel(e, c); break;
+			}
+			m[0][j] = c[0]; m[1][j] = c[1]; m[2][j] = c[2];
+		}
+		return m;
+	}
+
+	/**
+	 * Convert a matrix to single precision.
+	 * @param m Matrix (3x3)
+	 * @return Matrix of single precision
+	 */
+	static public float[][] toFloat(final double[][] m) {
+		final float[][] f = new float[3][3];
+		for(int i = 0; i < 3; ++i) {
+			for(int j = 0; j < 3; ++j) f[i][j] = (float)m[i][j];
+		}
+		return f;
+	}
+
+	private ColorKernels() {}
+
+	/**
+	 * Multiply colors by a matrix. This method works even if the source and destination channels are the same arrays.
+	 * @param m Matrix (3x3)
+	 * @param s0 Source channel 0
+	 * @param s1 Source channel 1
+	 * @param s2 Source channel 2
+	 * @param d0 Destination channel 0
+	 * @param d1 Destination channel 1
+	 * @param d2 Destination channel 2
+	 * @param off Offset of the channels
+	 * @param count The number of colors
+	 */
+	static public void multiply(final double[][] m, final double[] s0, final double[] s1, final double[] s2,
+			final double[] d0, final double[] d1, final double[] d2, final int off, final int count) {
+		if(SimdKernels.multiply(m, s0, s1, s2, d0, d1, d2, off, count)) return;
+		final double m00 = m[0][0], m01 = m[0][1], m02 = m[0][2];
+		final double m10 = m[1][0], m11 = m[1][1], m12 = m[1][2];
+		final double m20 = m[2][0], m21 = m[2][1], m22 = m[2][2];
+		final int end = off + count;
+		for(int i = off; i < end; ++i) {
+			final double v0 = s0[i], v1 = s1[i], v2 = s2[i];
+			d0[i] = m00 * v0 + m01 * v1 + m02 * v2;
+			d1[i] = m10 * v0 + m11 * v1 + m12 * v2;
+			d2[i] = m20 * v0 + m21 * v1 + m22 * v2;
+		}
+	}
+
+	/**
+	 * Multiply colors by a matrix in single precision. This method works even if the source and destination channels are the same arrays.
+	 * @param m Matrix (3x3)
+	 * @param s0 Source channel 0
+	 * @param s1 Source channel 1
+	 * @param s2 Source channel 2
+	 * @param d0 Destination channel 0
+	 * @param d1 Destination channel 1
+	 * @param d2 Destination channel 2
+	 * @param off Offset of the channels
+	 * @param count The number of colors
+	 */
+	static public void multiply(final double[][] m, final float[] s0, final float[] s1, final float[] s2,
+			final float[] d0, final float[] d1, final float[] d2, final int off, final int count) {
+		multiply(toFloat(m), s0, s1, s2, d0, d1, d2, off, count);
+	}
+
+	/**
+	 * Multiply colors by a matrix of single precision. This method works even if the source and destination channels are the same arrays.
+	 * @param m Matrix (3x3)
+	 * @param s0 Source channel 0
+	 * @param s1 Source channel 1
+	 * @param s2 Source channel 2
+	 * @param d0 Destination channel 0
+	 * @param d1 Destination channel 1
+	 * @param d2 Destination channel 2
+	 * @param off Offset of the channels
+	 * @param count The number of colors
+	 */
+	static public void multiply(final float[][] m, final float[] s0, final float[] s1, final float[] s2,
+			final float[] d0, final float[] d1, final float[] d2, final int off, final int count) {
+		if(SimdKernels.multiply(m, s0, s1, s2, d0, d1, d2, off, count)) return;
+		final float m00 = m[0][0], m01 = m[0][1], m02 = m[0][2];
+		final float m10 = m[1][0], m11 = m[1][1], m12 = m[1][2];
+		final float m20 = m[2][0], m21 = m[2][1], m22 = m[2][2];
+		final int end = off + count;
+		for(int i = off; i < end; ++i) {
+			final float v0 = s0[i], v1 = s1[i], v2 = s2[i];
+			d0[i] = m00 * v0 + m01 * v1 + m02 * v2;
+			d1[i] = m10 * v0 + m11 * v1 + m12 * v2;
+			d2[i] = m20 * v0 + m21 * v1 + m22 * v2;
+		}
+	}
+
+	/**
+	 * Calculate CIE76 color differences. dest can be one of the channels of v1.
+	 * @param l1 L* of colors 1
+	 * @param a1 a* of colors 1
+	 * @param b1 b* of colors 1
+	 * @param l2 L* of colors 2
+	 * @param a2 a* of colors 2
+	 * @param b2 b* of colors 2
+	 * @param dest Color differences
+	 * @param off Offset of the channels and dest
+	 * @param count The number of colors
+	 */
+	static public void CIE76(final double[] l1, final double[] a1, final double[] b1, final double[] l2, final double[] a2, final double[] b2,
+			final double[] dest, final int off, final int count) {
+		final int end = off + count;
+		for(int i = off; i < end; ++i) {
+			final double dl = l1[i] - l2[i], da = a1[i] - a2[i], db = b1[i] - b2[i];
+			dest[i] = Math.sqrt(dl * dl + da * da + db * db);
+		}
+	}
+
+	/**
+	 * Calculate CIE76 color differences in single precision. dest can be one of the channels of v1.
+	 * @param l1 L* of colors 1
+	 * @param a1 a* of colors 1
+	 * @param b1 b* of colors 1
+	 * @param l2 L* of colors 2
+	 * @param a2 a* of colors 2
+	 * @param b2 b* of colors 2
+	 * @param dest Color differences
+	 * @param off Offset of the channels and dest
+	 * @param count The number of colors
+	 */
+	static public void CIE76(final float[] l1, final float[] a1, final float[] b1, final float[] l2, final float[] a2, final float[] b2,
+			final float[] dest, final int off, final int count) {
+		final int end = off + count;
+		for(int i = off; i < end; ++i) {
+			final float dl = l1[i] - l2[i], da = a1[i] - a2[i], db = b1[i] - b2[i];
+			dest[i] = (float)Math.sqrt(dl * dl + da * da + db * db);
+		}
+	}
+
+	/**
+	 * Multiply colors of a buffer by a matrix. Both buffers must be of the same precision and size.
+	 * This method works even if src and dest are the same object.
+	 * @param m Matrix (3x3)
+	 * @param src Source colors
+	 * @param dest Destination colors
+	 * @return Destination colors (dest)
+	 */
+	static public ColorBuffer multiply(final double[][] m, final ColorBuffer src, final ColorBuffer dest) {
+		if(src.size() != dest.size()) throw new IllegalArgumentException("The sizes of src and dest are different");
+		if(src.isSinglePrecision() != dest.isSinglePrecision()) throw new IllegalArgumentException("The precisions of src and dest are different");
+		if(src.isSinglePrecision()) {
+			multiply(m, src.floatChannel(0), src.floatChannel(1), src.floatChannel(2), dest.floatChannel(0), dest.floatChannel(1), dest.floatChannel(2), 0, src.size());
+		} else {
+			multiply(m, src.channel(0), src.channel(1), src.channel(2), dest.channel(0), dest.channel(1), dest.channel(2), 0, src.size());
+		}
+		return dest;
+	}
+
+	/**
+	 * Convert Linear RGB to CIE 1931 XYZ (LRGB.toXYZ).
+	 * @param src Linear RGB colors
+	 * @param dest XYZ colors
+	 * @return XYZ colors (dest)
+	 */
+	static public ColorBuffer lrgbToXYZ(final ColorBuffer src, final ColorBuffer dest) {
+		return multiply(LRGB_XYZ, src, dest);
+	}
+
+	/**
+	 * Convert CIE 1931 XYZ to Linear RGB (LRGB.fromXYZ).
+	 * @param src XYZ colors
+	 * @param dest Linear RGB colors
+	 * @return Linear RGB colors (dest)
+	 */
+	static public ColorBuffer xyzToLRGB(final ColorBuffer src, final ColorBuffer dest) {
+		return multiply(XYZ_LRGB, src, dest);
+	}
+
+	/**
+	 * Convert Linear RGB to YIQ (YIQ.fromLRGB).
+	 * @param src Linear RGB colors
+	 * @param dest YIQ colors
+	 * @return YIQ colors (dest)
+	 */
+	static public ColorBuffer lrgbToYIQ(final ColorBuffer src, final ColorBuffer dest) {
+		return multiply(LRGB_YIQ, src, dest);
+	}
+
+	/**
+	 * Convert YIQ to Linear RGB (YIQ.toLRGB).
+	 * @param src YIQ colors
+	 * @param dest Linear RGB colors
+	 * @return Linear RGB colors (dest)
+	 */
+	static public ColorBuffer yiqToLRGB(final ColorBuffer src, final ColorBuffer dest) {
+		return multiply(YIQ_LRGB, src, dest);
+	}
+
+	/**
+	 * Convert CIE 1931 XYZ to LMS by the current LMS.matrix (LMS.fromXYZ).
+	 * @param src XYZ colors
+	 * @param dest LMS colors
+	 * @return LMS colors (dest)
+	 */
+	static public ColorBuffer xyzToLMS(final ColorBuffer src, final ColorBuffer dest) {
+		return multiply(LMS.matrix, src, dest);
+	}
+
+	/**
+	 * Convert LMS to CIE 1931 XYZ by the current LMS.matrixInverse (LMS.toXYZ).
+	 * @param src LMS colors
+	 * @param dest XYZ colors
+	 * @return XYZ colors (dest)
+	 */
+	static public ColorBuffer lmsToXYZ(final ColorBuffer src, final ColorBuffer dest) {
+		return multiply(LMS.matrixInverse, src, dest);
+	}
+
+	/**
+	 * Convert XYZ of standard illuminant C to XYZ of standard illuminant D65 (XYZ.fromIlluminantC).
+	 * @param src XYZ colors of standard illuminant C
+	 * @param dest XYZ colors of standard illuminant D65
+	 * @return XYZ colors of standard illuminant D65 (dest)
+	 */
+	static public ColorBuffer xyzFromIlluminantC(final ColorBuffer src, final ColorBuffer dest) {
+		return multiply(C_D65, src, dest);
+	}
+
+	/**
+	 * Convert XYZ of standard illuminant D65 to XYZ of standard illuminant C (XYZ.toIlluminantC).
+	 * @param src XYZ colors of standard illuminant D65
+	 * @param dest XYZ colors of standard illuminant C
+	 * @return XYZ colors of standard illuminant C (dest)
+	 */
+	static public ColorBuffer xyzToIlluminantC(final ColorBuffer src, final ColorBuffer dest) {
+		return multiply(D65_C, src, dest);
+	}
+
+	/**
+	 * Convert LMS to LMS in protanopia by the method of Brettel 1997.
+	 * @param src LMS colors
+	 * @param dest LMS colors in protanopia
+	 * @return LMS colors in protanopia (dest)
+	 */
+	static public ColorBuffer lmsToProtanopia(final ColorBuffer src, final ColorBuffer dest) {
+		return multiply(LMS_LMS_P, src, dest);
+	}
+
+	/**
+	 * Convert LMS to LMS in deuteranopia by the method of Brettel 1997.
+	 * @param src LMS colors
+	 * @param dest LMS colors in deuteranopia
+	 * @return LMS colors in deuteranopia (dest)
+	 */
+	static public ColorBuffer lmsToDeuteranopia(final ColorBuffer src, final ColorBuffer dest) {
+		return multiply(LMS_LMS_D, src, dest);
+	}
+
+}
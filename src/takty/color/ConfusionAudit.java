@@ -0,0 +1,472 @@
+package takty.color;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import takty.color.Evaluation.ColorDifferenceMethod;
+
+/**
+ * This class audits images and palettes for colors which are distinct for normal color vision
+ * but become confusable for people with protanopia or deuteranopia.
+ * A pair of colors is confused if its color difference is at least the distinct threshold for normal color vision
+ * and less than the confusable threshold after ColorVisionSimulation.lrgbToProtanopia or lrgbToDeuteranopia.
+ *
+ * An image is first reduced to its unique colors, and the CIELAB colors of the three visions are computed at most once for each.
+ * Then pairs of colors of neighboring pixels (at the distance of the reach, so that anti-aliased edges are bridged)
+ * are collected, and each distinct pair is evaluated once.
+ * Pairs are rejected by bounds of the color difference (by CIE76 and the difference of L*) before the exact differences are calculated,
+ * so the result is the same as evaluating every pair exactly.
+ * Alpha is ignored.
+ * @author Takuto Yanagida
+ * @version 2026-10-18
+ */
+public final class ConfusionAudit {
+
+	private final ColorDifferenceMethod method_;
+	private final double distinct_, confusable_;
+	private final int reach_;
+	private final double bound_;  // Squared ratio of the maximum of the difference to CIE76
+
+	/**
+	 * Create an audit by the current Evaluation.colorDifferenceMethod,
+	 * with the distinct threshold 10, the confusable threshold 3 and the reach 2.
+	 */
+	public ConfusionAudit() {
+		this(Evaluation.colorDifferenceMethod, 10.0, 3.0, 2);
+	}
+
+	/**
+	 * Create an audit.
+	 * @param method Color difference method
+	 * @param distinct Minimum difference of distinct colors for normal color vision
+	 * @param confusable Difference under which simulated colors are confusable
+	 * @param reach Distance of neighboring pixels compared (1 or more)
+	 */
+	public ConfusionAudit(final ColorDifferenceMethod method, final double distinct, final double confusable, final int reach) {
+		if(reach < 1) throw new IllegalArgumentException("reach must be 1 or more");
+		method_ = method;
+		distinct_ = distinct;
+		confusable_ = confusable;
+		reach_ = reach;
+		// CIEDE2000 is at most sqrt(4.5) times CIE76, since |a'| <= 1.5 |a*| and the rotation term at most doubles the chroma and hue terms
+		bound_ = (method == ColorDifferenceMethod.CIE76) ? 1.0 : 4.5;
+	}
+
+	// CIELAB colors of the three visions of unique colors [vision][color * 3], computed on demand
+	static private final class Labs {
+
+		private final ColorIntegerMap map_;
+		private final double[][] labs_;
+		private final byte[] state_;  // 0: not computed, 1: normal vision computed, 2: all computed
+		private final double[] c_ = new double[3], s_ = new double[3];
+
+		Labs(final ColorIntegerMap map) {
+			map_ = map;
+			labs_ = new double[3][map.size() * 3];
+			state_ = new byte[map.size()];
+		}
+
+		double[] normal(final int i, final double[] dest) {
+			if(state_[i] == 0) {
+				toLinear(i);
+				store(Lab.fromXYZ(LRGB.toXYZ(c_, s_), s_), labs_[0], i);
+				state_[i] = 1;
+			}
+			return load(labs_[0], i, dest);
+		}
+
+		double[] simulated(final int v, final int i, final double[] dest) {
+			if(state_[i] != 2) {
+				toLinear(i);
+				store(Lab.fromXYZ$(LRGB.toXYZ$(ColorVisionSimulation.lrgbToProtanopia(c_, s_))), labs_[1], i);
+				store(Lab.fromXYZ$(LRGB.toXYZ$(ColorVisionSimulation.lrgbToDeuteranopia(c_, s_))), labs_[2], i);
+				state_[i] = 2;
+			}
+			return load(labs_[v], i, dest);
+		}
+
+		private void toLinear(final int i) {
+			final double[] lin = RGBGammaTable.TO_LINEAR;
+			final int p = map_.key(i);
+			c_[0] = lin[(p >> 16) & 0xFF]; c_[1] = lin[(p >> 8) & 0xFF]; c_[2] = lin[p & 0xFF];
+		}
+
+		static private void store(final double[] lab, final double[] dest, final int i) {
+			dest[i * 3] = lab[0]; dest[i * 3 + 1] = lab[1]; dest[i * 3 + 2] = lab[2];
+		}
+
+		static private double[] load(final double[] src, final int i, final double[] dest) {
+			dest[0] = src[i * 3]; dest[1] = src[i * 3 + 1]; dest[2] = src[i * 3 + 2];
+			return dest;
+		}
+
+	}
+
+	/**
+	 * Audit an image.
+	 * @param im Image
+	 * @return Result with a mask of the pixels on the boundaries of confused colors
+	 */
+	public Result audit(final BufferedImage im) {
+		final ImagePixels px = ImagePixels.of(im);
+		final int w = px.width, h = px.height;
+
+		// Reduce the image to its unique colors
+		final ColorIntegerMap map = new ColorIntegerMap(1 << 12);
+		final int[] idx = new int[w * h];
+		final int[] row = new int[w];
+		int prev = -1, prevIdx = -1;
+		for(int y = 0; y < h; ++y) {
+			px.read(0, y, w, row, 0);
+			for(int x = 0; x < w; ++x) {
+				final int c = row[x] & 0xFFFFFF;
+				if(c != prev) {
+					prev = c;
+					prevIdx = map.index(c);
+				}
+				idx[y * w + x] = prevIdx;
+			}
+		}
+		final Labs labs = new Labs(map);
+
+		// Collect pairs of colors of neighboring pixels
+		final PairMap pairs = new PairMap();
+		for(int y = 0; y < h; ++y) {
+			for(int o = y * w, e = o + w - reach_; o < e; ++o) {
+				if(idx[o] != idx[o + reach_]) pairs.add(idx[o], idx[o + reach_]);
+			}
+		}
+		for(int o = 0, e = (h - reach_) * w; o < e; ++o) {
+			if(idx[o] != idx[o + reach_ * w]) pairs.add(idx[o], idx[o + reach_ * w]);
+		}
+
+		// Evaluate each distinct pair
+		final List<Pair> ps = new ArrayList<>();
+		final boolean[] confused = new boolean[pairs.size()];
+		final boolean[] involved = new boolean[map.size()];
+		final double[] c1 = new double[3], c2 = new double[3];
+		for(int k = 0; k < pairs.size(); ++k) {
+			final Pair p = evaluate(map, labs, pairs.first(k), pairs.second(k), pairs.count(k), c1, c2);
+			if(p != null) {
+				ps.add(p);
+				confused[k] = involved[pairs.first(k)] = involved[pairs.second(k)] = true;
+			}
+		}
+
+		// Mark the pixels of confused pairs
+		final boolean[] mask = new boolean[w * h];
+		if(!ps.isEmpty()) {
+			for(int y = 0; y < h; ++y) {
+				for(int o = y * w, e = o + w - reach_; o < e; ++o) {
+					final int i = idx[o], j = idx[o + reach_];
+					if(i != j && involved[i] && involved[j] && confused[pairs.get(i, j)]) mask[o] = mask[o + reach_] = true;
+				}
+			}
+			for(int o = 0, e = (h - reach_) * w; o < e; ++o) {
+				final int i = idx[o], j = idx[o + reach_ * w];
+				if(i != j && involved[i] && involved[j] && confused[pairs.get(i, j)]) mask[o] = mask[o + reach_ * w] = true;
+			}
+		}
+		return new Result(map.size(), sort(ps), mask, w, h);
+	}
+
+	/**
+	 * Audit all pairs of colors of a palette.
+	 * @param palette Color integers
+	 * @return Result without a mask
+	 */
+	public Result audit(final int[] palette) {
+		final ColorIntegerMap map = new ColorIntegerMap(palette.length);
+		for(int c : palette) map.index(c & 0xFFFFFF);
+		final Labs labs = new Labs(map);
+		final List<Pair> ps = new ArrayList<>();
+		final double[] c1 = new double[3], c2 = new double[3];
+		for(int i = 0; i < map.size(); ++i) {
+			for(int j = i + 1; j < map.size(); ++j) {
+				final Pair p = evaluate(map, labs, i, j, 1, c1, c2);
+				if(p != null) ps.add(p);
+			}
+		}
+		return new Result(map.size(), sort(ps), null, 0, 0);
+	}
+
+	// Return a pair if the colors are confused, or null
+	private Pair evaluate(final ColorIntegerMap map, final Labs labs, final int i, final int j, final long count, final double[] c1, final double[] c2) {
+		labs.normal(i, c1);
+		labs.normal(j, c2);
+		final double dl = c1[0] - c2[0], da = c1[1] - c2[1], db = c1[2] - c2[2];
+		if((dl * dl + da * da + db * db) * bound_ * (1.0 + 1e-9) < distinct_ * distinct_) return null;
+		final double d = method_.differenceBetween(c1, c2);
+		if(d < distinct_) return null;
+		final boolean mp = mayBeConfusable(labs.simulated(1, i, c1), labs.simulated(1, j, c2));
+		final double dp = mp ? method_.differenceBetween(c1, c2) : Double.NaN;
+		final boolean md = mayBeConfusable(labs.simulated(2, i, c1), labs.simulated(2, j, c2));
+		final double dd = md ? method_.differenceBetween(c1, c2) : Double.NaN;
+		if(!(dp < confusable_) && !(dd < confusable_)) return null;
+		if(!mp) return new Pair(map.key(i), map.key(j), d, method_.differenceBetween(labs.simulated(1, i, c1), labs.simulated(1, j, c2)), dd, count);
+		if(!md) return new Pair(map.key(i), map.key(j), d, dp, method_.differenceBetween(labs.simulated(2, i, c1), labs.simulated(2, j, c2)), count);
+		return new Pair(map.key(i), map.key(j), d, dp, dd, count);
+	}
+
+	// Whether the difference can be less than the confusable threshold, by its lower bound |dL*| / SL (CIEDE2000) or |dL*| (CIE76)
+	private boolean mayBeConfusable(final double[] c1, final double[] c2) {
+		final double dl = Math.abs(c1[0] - c2[0]);
+		if(method_ == ColorDifferenceMethod.CIE76) return dl < confusable_ * (1.0 + 1e-9);
+		final double l = (c1[0] + c2[0]) * 0.5 - 50.0;
+		return dl < confusable_ * (1.0 + 0.015 * l * l / Math.sqrt(20.0 + l * l)) * (1.0 + 1e-9);
+	}
+
+	static private List<Pair> sort(final List<Pair> ps) {
+		Collections.sort(ps, new Comparator<Pair>() {
+			@Override
+			public int compare(final Pair a, final Pair b) {
+				final int c = Double.compare(a.simulatedDifference(), b.simulatedDifference());
+				return (c != 0) ? c : Long.compare(b.count_, a.count_);
+			}
+		});
+		return Collections.unmodifiableList(ps);
+	}
+
+
+	// -------------------------------------------------------------------------
+
+
+	/**
+	 * Result of an audit.
+	 */
+	static public final class Result {
+
+		private final int colorCount_;
+		private final List<Pair> pairs_;
+		private final boolean[] mask_;
+		private final int width_, height_;
+
+		Result(final int colorCount, final List<Pair> pairs, final boolean[] mask, final int width, final int height) {
+			colorCount_ = colorCount;
+			pairs_ = pairs;
+			mask_ = mask;
+			width_ = width;
+			height_ = height;
+		}
+
+		/**
+		 * Return the number of unique colors.
+		 * @return The number of unique colors
+		 */
+		public int colorCount() {
+			return colorCount_;
+		}
+
+		/**
+		 * Return the confused pairs, ranked from the most confusable (the smallest simulated difference).
+		 * @return Confused pairs (unmodifiable)
+		 */
+		public List<Pair> pairs() {
+			return pairs_;
+		}
+
+		/**
+		 * Return the mask of the pixels on the boundaries of confused colors (width * height, row by row).
+		 * @return Mask, or null for a palette
+		 */
+		public boolean[] mask() {
+			return mask_;
+		}
+
+		/**
+		 * Create an image of the mask (confused pixels are white on black).
+		 * @return Image (TYPE_INT_RGB), or null for a palette
+		 */
+		public BufferedImage createMaskImage() {
+			if(mask_ == null) return null;
+			final BufferedImage im = new BufferedImage(width_, height_, BufferedImage.TYPE_INT_RGB);
+			final int[] row = new int[width_];
+			for(int y = 0; y < height_; ++y) {
+				for(int x = 0; x < width_; ++x) row[x] = mask_[y * width_ + x] ? 0xFFFFFF : 0;
+				im.setRGB(0, y, width_, 1, row, 0, width_);
+			}
+			return im;
+		}
+
+	}
+
+	/**
+	 * Pair of confused colors.
+	 */
+	static public final class Pair {
+
+		private final int color1_, color2_;
+		private final double difference_, protanopia_, deuteranopia_;
+		private final long count_;
+
+		Pair(final int color1, final int color2, final double difference, final double protanopia, final double deuteranopia, final long count) {
+			color1_ = color1;
+			color2_ = color2;
+			difference_ = difference;
+			protanopia_ = protanopia;
+			deuteranopia_ = deuteranopia;
+			count_ = count;
+		}
+
+		/**
+		 * Return color 1.
+		 * @return Color integer
+		 */
+		public int color1() {
+			return color1_;
+		}
+
+		/**
+		 * Return color 2.
+		 * @return Color integer
+		 */
+		public int color2() {
+			return color2_;
+		}
+
+		/**
+		 * Return the color difference for normal color vision.
+		 * @return Color difference
+		 */
+		public double difference() {
+			return difference_;
+		}
+
+		/**
+		 * Return the color difference for protanopia.
+		 * @return Color difference
+		 */
+		public double protanopiaDifference() {
+			return protanopia_;
+		}
+
+		/**
+		 * Return the color difference for deuteranopia.
+		 * @return Color difference
+		 */
+		public double deuteranopiaDifference() {
+			return deuteranopia_;
+		}
+
+		/**
+		 * Return the smaller color difference of protanopia and deuteranopia.
+		 * @return Color difference
+		 */
+		public double simulatedDifference() {
+			return Math.min(protanopia_, deuteranopia_);
+		}
+
+		/**
+		 * Return the number of neighboring pixels of the pair (1 for a palette).
+		 * @return The number of neighboring pixels
+		 */
+		public long count() {
+			return count_;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("#%06X-#%06X (%.2f, P %.2f, D %.2f, %d)", color1_, color2_, difference_, protanopia_, deuteranopia_, count_);
+		}
+
+	}
+
+	/**
+	 * This class maps unordered pairs of color indices to dense indices and counts them,
+	 * by an open-addressing hash table of long keys (linear probing).
+	 */
+	static private final class PairMap {
+
+		private long[] keys_ = new long[1 << 12];
+		private int[] vals_ = new int[1 << 12];
+		private long[] order_ = new long[1 << 10];
+		private long[] counts_ = new long[1 << 10];
+		private int size_;
+		private long lastKey_ = -1L;
+		private int lastIndex_;
+
+		PairMap() {
+			Arrays.fill(vals_, -1);
+		}
+
+		static private long key(final int i, final int j) {
+			return (i < j) ? ((long)i << 32) | j : ((long)j << 32) | i;
+		}
+
+		static private int slot(final long key) {
+			final long h = key * 0x9E3779B97F4A7C15L;
+			return (int)(h ^ (h >>> 32));
+		}
+
+		void add(final int i, final int j) {
+			final long key = key(i, j);
+			if(key == lastKey_) {
+				++counts_[lastIndex_];
+				return;
+			}
+			lastKey_ = key;
+			final int mask = keys_.length - 1;
+			int s = slot(key) & mask;
+			while(vals_[s] != -1) {
+				if(keys_[s] == key) {
+					++counts_[lastIndex_ = vals_[s]];
+					return;
+				}
+				s = (s + 1) & mask;
+			}
+			if(size_ == order_.length) {
+				order_ = Arrays.copyOf(order_, size_ * 2);
+				counts_ = Arrays.copyOf(counts_, size_ * 2);
+			}
+			order_[size_] = key;
+			counts_[size_] = 1;
+			lastIndex_ = size_;
+			keys_[s] = key;
+			vals_[s] = size_;
+			if(++size_ * 2 > keys_.length) rehash();
+		}
+
+		int get(final int i, final int j) {
+			final long key = key(i, j);
+			final int mask = keys_.length - 1;
+			int s = slot(key) & mask;
+			while(vals_[s] != -1 && keys_[s] != key) s = (s + 1) & mask;
+			return vals_[s];
+		}
+
+		private void rehash() {
+			keys_ = new long[keys_.length * 2];
+			vals_ = new int[keys_.length];
+			Arrays.fill(vals_, -1);
+			final int mask = keys_.length - 1;
+			for(int k = 0; k < size_; ++k) {
+				int s = slot(order_[k]) & mask;
+				while(vals_[s] != -1) s = (s + 1) & mask;
+				keys_[s] = order_[k];
+				vals_[s] = k;
+			}
+		}
+
+		int size() {
+			return size_;
+		}
+
+		int first(final int k) {
+			return (int)(order_[k] >>> 32);
+		}
+
+		int second(final int k) {
+			return (int)order_[k];
+		}
+
+		long count(final int k) {
+			return counts_[k];
+		}
+
+	}
+
+}
@@ -0,0 +1,316 @@
+package takty.color;
+
+/**
+ * This class fixes the settings of the color conversion.
+ * The conversion methods of this class and the converters created by this class do not refer to the global settings
+ * (Lab.XYZ_TRISTIMULUS_VALUES, LMS.matrix, PCCS.conversionMethod, ColorVisionSimulation.conversionMethod and
+ * Evaluation.colorDifferenceMethod), so contexts with different settings can be used concurrently.
+ * @author Takuto Yanagida
+ * @version 2026-10-18
+ */
+public final class ConversionContext {
+
+	/**
+	 * The context of the default settings (D65, Smith-Pokorny, PCCS accurate, Brettel 1997, CIEDE2000).
+	 */
+	static public final ConversionContext DEFAULT = new ConversionContext(Lab.D65_XYZ(), LMS.SMITH_POKORNY, LMS.SMITH_POKORNY_INV,
+			PCCS.ConversionMethod.ACCURATE, ColorVisionSimulation.ConversionMethod.BRETTEL1997, Evaluation.ColorDifferenceMethod.CIEDE2000);
+
+	/**
+	 * Create a context from the current global settings.
+	 * @return Context
+	 */
+	static public ConversionContext current() {
+		return new ConversionContext(Lab.XYZ_TRISTIMULUS_VALUES, LMS.matrix, LMS.matrixInverse,
+				PCCS.conversionMethod, ColorVisionSimulation.conversionMethod, Evaluation.colorDifferenceMethod);
+	}
+
+	private final double[] white_;
+	private final double[][] lms_, lmsInv_;
+	private final double[] lmsBase_;
+	private final PCCS.ConversionMethod pccsMethod_;
+	private final ColorVisionSimulation.ConversionMethod visionMethod_;
+	private final Evaluation.ColorDifferenceMethod differenceMethod_;
+
+	/**
+	 * Create a context. The arrays are copied.
+	 * @param white XYZ tristimulus value of CIELAB
+	 * @param lms Matrix from XYZ to LMS
+	 * @param lmsInv Matrix from LMS to XYZ
+	 * @param pccsMethod Conversion method of PCCS
+	 * @param visionMethod Conversion method of color vision simulation
+	 * @param differenceMethod Color difference calculation method
+	 */
+	public ConversionContext(double[] white, double[][] lms, double[][] lmsInv, PCCS.ConversionMethod pccsMethod,
+			ColorVisionSimulation.ConversionMethod visionMethod, Evaluation.ColorDifferenceMethod differenceMethod) {
+		white_ = white.clone();
+		lms_ = copy(lms);
+		lmsInv_ = copy(lmsInv);
+		lmsBase_ = LMS.fromXYZ(new double[] {1.0, 1.0, 1.0}, new double[3], lms_);
+		pccsMethod_ = pccsMethod;
+		visionMethod_ = visionMethod;
+		differenceMethod_ = differenceMethod;
+	}
+
+	static private double[][] copy(double[][] m) {
+		return new double[][] {m[0].clone(), m[1].clone(), m[2].clone()};
+	}
+
+	/**
+	 * Return a context whose XYZ tristimulus value of CIELAB is replaced.
+	 * @param white XYZ tristimulus value
+	 * @return Context
+	 */
+	public ConversionContext withWhitePoint(double[] white) {
+		return new ConversionContext(white, lms_, lmsInv_, pccsMethod_, visionMethod_, differenceMethod_);
+	}
+
+	/**
+	 * Return a context whose LMS matrices are replaced.
+	 * @param lms Matrix from XYZ to LMS
+	 * @param lmsInv Matrix from LMS to XYZ
+	 * @return Context
+	 */
+	public ConversionContext withLMSMatrix(double[][] lms, double[][] lmsInv) {
+		return new ConversionContext(white_, lms, lmsInv, pccsMethod_, visionMethod_, differenceMethod_);
+	}
+
+	/**
+	 * Return a context whose conversion method of PCCS is replaced.
+	 * @param method Conversion method
+	 * @return Context
+	 */
+	public ConversionContext withPCCSMethod(PCCS.ConversionMethod method) {
+		return new ConversionContext(white_, lms_, lmsInv_, method, visionMethod_, differenceMethod_);
+	}
+
+	/**
+	 * Return a context whose conversion method of color vision simulation is replaced.
+	 * @param method Conversion method
+	 * @return Context
+	 */
+	public ConversionContext withVisionMethod(ColorVisionSimulation.ConversionMethod method) {
+		return new ConversionContext(white_, lms_, lmsInv_, pccsMethod_, method, differenceMethod_);
+	}
+
+	/**
+	 * Return a context whose color difference calculation method is replaced.
+	 * @param method Color difference calculation method
+	 * @return Context
+	 */
+	public ConversionContext withDifferenceMethod(Evaluation.ColorDifferenceMethod method) {
+		return new ConversionContext(white_, lms_, lmsInv_, pccsMethod_, visionMethod_, method);
+	}
+
+	public double[] whitePoint() {return white_.clone();}
+	public double[][] lmsMatrix() {return copy(lms_);}
+	public double[][] lmsMatrixInverse() {return copy(lmsInv_);}
+	public PCCS.ConversionMethod pccsMethod() {return pccsMethod_;}
+	public ColorVisionSimulation.ConversionMethod visionMethod() {return visionMethod_;}
+	public Evaluation.ColorDifferenceMethod differenceMethod() {return differenceMethod_;}
+
+	/*
+	 * Conversion methods ======================================================
+	 */
+
+	/**
+	 * Convert CIE 1931 XYZ to CIE 1976 (L*, a*, b*).
+	 * This method works even if src and dest are the same object.
+	 * @param src XYZ color
+	 * @param dest CIELAB color
+	 * @return CIELAB color (dest)
+	 */
+	public double[] xyzToLab(double[] src, double[] dest) {
+		return Lab.fromXYZ(src, dest, white_);
+	}
+
+	/**
+	 * Convert CIE 1976 (L*, a*, b*) to CIE 1931 XYZ.
+	 * This method works even if src and dest are the same object.
+	 * @param src CIELAB color
+	 * @param dest XYZ color
+	 * @return XYZ color (dest)
+	 */
+	public double[] labToXYZ(double[] src, double[] dest) {
+		return Lab.toXYZ(src, dest, white_);
+	}
+
+	/**
+	 * Convert CIE 1931 XYZ to LMS.
+	 * This method works even if src and dest are the same object.
+	 * @param src XYZ color
+	 * @param dest LMS color
+	 * @return LMS color (dest)
+	 */
+	public double[] xyzToLMS(double[] src, double[] dest) {
+		return LMS.fromXYZ(src, dest, lms_);
+	}
+
+	/**
+	 * Convert LMS to CIE 1931 XYZ.
+	 * This method works even if src and dest are the same object.
+	 * @param src LMS color
+	 * @param dest XYZ color
+	 * @return XYZ color (dest)
+	 */
+	public double[] lmsToXYZ(double[] src, double[] dest) {
+		return LMS.toXYZ(src, dest, lmsInv_);
+	}
+
+	/**
+	 * Convert Munsell (HVC) to PCCS (hls).
+	 * This method works even if src and dest are the same object.
+	 * @param src Munsell color
+	 * @param dest PCCS color
+	 * @return PCCS color (dest)
+	 */
+	public double[] munsellToPCCS(double[] src, double[] dest) {
+		return PCCS.fromMunsell(src, dest, pccsMethod_);
+	}
+
+	/**
+	 * Convert PCCS (hls) to Munsell (HVC).
+	 * This method works even if src and dest are the same object.
+	 * @param src PCCS color
+	 * @param dest Munsell color
+	 * @return Munsell color (dest)
+	 */
+	public double[] pccsToMunsell(double[] src, double[] dest) {
+		return PCCS.toMunsell(src, dest, pccsMethod_);
+	}
+
+	/**
+	 * Calculate the color difference between the two colors.
+	 * @param v1 CIELAB color 1
+	 * @param v2 CIELAB color 2
+	 * @return Color difference
+	 */
+	public double differenceBetweenLab(double[] v1, double[] v2) {
+		return differenceMethod_.differenceBetween(v1, v2);
+	}
+
+	/*
+	 * Converters ==============================================================
+	 * The setting is chosen when a converter is created, so the converters do not branch on it for each color.
+	 */
+
+	public ColorConverter createXYZToLab() {
+		return new ColorConverter() {
+			@Override
+			protected boolean function(double[] src, double[] dest) {Lab.fromXYZ(src, dest, white_); return false;}
+		};
+	}
+
+	public ColorConverter createXYZToLabL() {
+		return new ColorConverter() {
+			@Override
+			protected boolean function(double[] src, double[] dest) {
+				dest[0] = Lab.lightnessFromXYZ(src, white_); dest[1] = 0.0; dest[2] = 0.0;
+				return false;
+			}
+		};
+	}
+
+	public ColorConverter createLabToXYZ() {
+		return new ColorConverter() {
+			@Override
+			protected boolean function(double[] src, double[] dest) {Lab.toXYZ(src, dest, white_); return false;}
+		};
+	}
+
+	public ColorConverter createXYZToLMS() {
+		return new ColorConverter() {
+			@Override
+			protected boolean function(double[] src, double[] dest) {LMS.fromXYZ(src, dest, lms_); return false;}
+		};
+	}
+
+	public ColorConverter createLMSToXYZ() {
+		return new ColorConverter() {
+			@Override
+			protected boolean function(double[] src, double[] dest) {LMS.toXYZ(src, dest, lmsInv_); return false;}
+		};
+	}
+
+	public ColorConverter createLMSToLMSp() {
+		if(visionMethod_ == ColorVisionSimulation.ConversionMethod.BRETTEL1997) {
+			return new ColorConverter() {
+				@Override
+				protected boolean function(double[] src, double[] dest) {ColorVisionSimulation.lmsToProtanopiaBrettel(src, dest); return false;}
+			};
+		}
+		return new ColorConverter() {
+			@Override
+			protected boolean function(double[] src, double[] dest) {ColorVisionSimulation.lmsToProtanopiaOkajima(src, dest, lmsBase_); return false;}
+		};
+	}
+
+	public ColorConverter createLMSToLMSd() {
+		if(visionMethod_ == ColorVisionSimulation.ConversionMethod.BRETTEL1997) {
+			return new ColorConverter() {
+				@Override
+				protected boolean function(double[] src, double[] dest) {ColorVisionSimulation.lmsToDeuteranopiaBrettel(src, dest); return false;}
+			};
+		}
+		return new ColorConverter() {
+			@Override
+			protected boolean function(double[] src, double[] dest) {ColorVisionSimulation.lmsToDeuteranopiaOkajima(src, dest, lmsBase_); return false;}
+		};
+	}
+
+	public ColorConverter createMunsellToPCCS() {
+		if(pccsMethod_ == PCCS.ConversionMethod.CONCISE) {
+			return new ColorConverter() {
+				@Override
+				protected boolean function(double[] src, double[] dest) {PCCS.fromMunsellConcise(src, dest); return false;}
+			};
+		}
+		return new ColorConverter() {
+			@Override
+			protected boolean function(double[] src, double[] dest) {PCCS.fromMunsellAccurate(src, dest); return false;}
+		};
+	}
+
+	public ColorConverter createPCCSToMunsell() {
+		if(pccsMethod_ == PCCS.ConversionMethod.CONCISE) {
+			return new ColorConverter() {
+				@Override
+				protected boolean function(double[] src, double[] dest) {PCCS.toMunsellConcise(src, dest); return false;}
+			};
+		}
+		return new ColorConverter() {
+			@Override
+			protected boolean function(double[] src, double[] dest) {PCCS.toMunsellAccurate(src, dest); return false;}
+		};
+	}
+
+	// Utilities ###############################################################
+
+	public ColorConverter createRgbToLab() {
+		return ColorConverter.create(new ColorConverter.RGB_LRGB(), new ColorConverter.LRGB_XYZ(), createXYZToLab());
+	}
+
+	public ColorConverter createLabToRgb() {
+		return ColorConverter.create(createLabToXYZ(), new ColorConverter.XYZ_LRGB(), new ColorConverter.LRGB_RGB());
+	}
+
+	public ColorConverter createRgbToRgbP() {
+		return ColorConverter.create(new ColorConverter.RGB_LRGB(), new ColorConverter.LRGB_XYZ(), createXYZToLMS(), createLMSToLMSp(),
+				createLMSToXYZ(), new ColorConverter.XYZ_LRGB(), new ColorConverter.LRGB_RGB());
+	}
+
+	public ColorConverter createRgbToRgbD() {
+		return ColorConverter.create(new ColorConverter.RGB_LRGB(), new ColorConverter.LRGB_XYZ(), createXYZToLMS(), createLMSToLMSd(),
+				createLMSToXYZ(), new ColorConverter.XYZ_LRGB(), new ColorConverter.LRGB_RGB());
+	}
+
+	public ColorConverter createRgbToRgbL() {
+		return ColorConverter.create(new ColorConverter.RGB_LRGB(), new ColorConverter.LRGB_XYZ(), createXYZToLabL(), createLabToXYZ(),
+				new ColorConverter.XYZ_LRGB(), new ColorConverter.LRGB_RGB());
+	}
+
+	public ColorConverter createXYZToPCCS() {
+		return ColorConverter.create(new ColorConverter.XYZ_Munsell(), createMunsellToPCCS());
+	}
+
+}
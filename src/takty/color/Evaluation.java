@@ -1,232 +1,390 @@
-package takty.color;
-
-/**
- * Utility class of the evaluation methods.
- * @author Takuto Yanagida
- * @version 2018-04-19
- */
-public class Evaluation {
-
-	/*
-	 * Calculation of the conspicuity degree ===================================
-	 */
-
-	/**
-	 * Calculate the conspicuity degree.
-	 * Reference: Effective use of color conspicuity for Re-Coloring system,
-	 * Correspondences on Human interface Vol. 12, No. 1, SIG-DE-01, 2010.
-	 * @param lab CIELAB color
-	 * @return Conspicuity degree [0, 180]
-	 * TODO Consider chroma (ab radius of LAB)
-	 */
-	static public double conspicuityOfLab(double[] lab) {
-		double rad = (lab[2] > 0) ? Math.atan2(lab[2], lab[1]) : (Math.atan2(-lab[2], -lab[1]) + Math.PI);
-		double H = rad / (Math.PI * 2) * 360.0;
-		double a = 35;  // Constant
-		if(H < a) return Math.abs(180 - (360 + H - a));
-		else return Math.abs(180 - (H - a));
-	}
-
-	/*
-	 * Calculation of the color difference =====================================
-	 */
-
-	/**
-	 * Enum type for color difference calculation method.
-	 */
-	static public enum ColorDifferenceMethod {
-		/**
-		 * Color difference calculation method by CIE 76
-		 */
-		CIE76 {
-			@Override
-			public double differenceBetween(final double[] v1, final double[] v2) {
-				return CIE76(v1, v2);
-			}
-		},
-
-		/**
-		* Color difference calculation method by CIEDE2000
-		* Reference: http://www.ece.rochester.edu/~gsharma/ciede2000/ciede2000noteCRNA.pdf
-		* http://d.hatena.ne.jp/yoneh/20071227/1198758604
-		*/
-		CIEDE2000 {
-			@Override
-			public double differenceBetween(final double[] v1, final double[] v2) {
-				return CIEDE2000(v1, v2);
-			}
-		};
-
-		abstract public double differenceBetween(final double[] v1, final double[] v2);
-	}
-
-	/**
-	 * Represents the currently selected color difference calculation method.
-	 */
-	static public ColorDifferenceMethod colorDifferenceMethod = ColorDifferenceMethod.CIEDE2000;
-
-	static public double CIE76(double[] v1, double[] v2) {
-		return Math.sqrt((v1[0] - v2[0]) * (v1[0] - v2[0]) + (v1[1] - v2[1]) * (v1[1] - v2[1]) + (v1[2] - v2[2]) * (v1[2] - v2[2]));
-	}
-
-	static public double CIEDE2000(double[] v1, double[] v2) {
-		double L1 = v1[0], a1 = v1[1], b1 = v1[2];
-		double L2 = v2[0], a2 = v2[1], b2 = v2[2];
-
-		double C1 = Math.sqrt(a1 * a1 + b1 * b1), C2 = Math.sqrt(a2 * a2 + b2 * b2);
-		double Cb = (C1 + C2) / 2.0;
-		double G = 0.5 * (1.0 - Math.sqrt(Math.pow(Cb, 7) / (Math.pow(Cb, 7) + Math.pow(25.0, 7.0))));
-		double ap1 = (1.0 + G) * a1, ap2 = (1.0 + G) * a2;
-		double Cp1 = Math.sqrt(ap1 * ap1 + b1 * b1), Cp2 = Math.sqrt(ap2 * ap2 + b2 * b2);
-		double hp1 = (b1 == 0.0 && ap1 == 0.0) ? 0.0 : atan(b1, ap1), hp2 = (b2 == 0.0 && ap2 == 0.0) ? 0.0 : atan(b2, ap2);
-
-		double DLp = L2 - L1;
-		double DCp = Cp2 - Cp1;
-		double Dhp = 0.0;
-		if(Cp1 * Cp2 == 0) {
-			Dhp = 0.0;
-		} else if(Math.abs(hp2 - hp1) <= 180.0) {
-			Dhp = hp2 - hp1;
-		} else if(hp2 - hp1 > 180.0) {
-			Dhp = (hp2 - hp1) - 360.0;
-		} else if(hp2 - hp1 < -180.0) {
-			Dhp = (hp2 - hp1) + 360.0;
-		}
-		double DHp = 2.0 * Math.sqrt(Cp1 * Cp2) * sin(Dhp / 2.0);
-
-		double Lbp = (L1 + L2) / 2.0;
-		double Cbp = (Cp1 + Cp2) / 2.0;
-		double hbp = 0.0;
-		if(Cp1 * Cp2 == 0) {
-			hbp = hp1 + hp2;
-		} else if(Math.abs(hp2 - hp1) <= 180.0) {
-			hbp = (hp1 + hp2) / 2.0;
-		} else if(Math.abs(hp2 - hp1) > 180.0 && hp1 + hp2 < 360.0) {
-			hbp = (hp1 + hp2 + 360.0) / 2.0;
-		} else if(Math.abs(hp2 - hp1) > 180.0 && hp1 + hp2 >= 360.0) {
-			hbp = (hp1 + hp2 - 360.0) / 2.0;
-		}
-		double T = 1.0 - 0.17 * cos(hbp - 30.0) + 0.24 * cos(2.0 * hbp)
-				+ 0.32 * cos(3.0 * hbp + 6.0) - 0.2 * cos(4.0 * hbp - 63.0);
-		double Dth = 30.0 * Math.exp(-sq((hbp - 275.0) / 25.0));
-		double RC = 2.0 * Math.sqrt(Math.pow(Cbp, 7) / (Math.pow(Cbp, 7) + Math.pow(25.0, 7.0)));
-		double SL = 1.0 + 0.015 * sq(Lbp - 50.0) / Math.sqrt(20.0 + sq(Lbp - 50.0));
-		double SC = 1.0 + 0.045 * Cbp;
-		double SH = 1.0 + 0.015 * Cbp * T;
-		double RT = -sin(2.0 * Dth) * RC;
-
-		double kL = 1.0, kC = 1.0, kH = 1.0;
-		double DE = Math.sqrt(sq(DLp / (kL * SL)) + sq(DCp / (kC * SC)) + sq(DHp / (kH * SH)) + RT * (DCp / (kC * SC)) * (DHp / (kH * SH)));
-		return DE;
-	}
-
-	static private double sq(final double v) {return v * v;}
-
-	static private double atan(final double y, final double x) {double v = Math.toDegrees(Math.atan2(y, x)); return (v < 0.0) ? (v + 360.0) : v;}
-
-	static private double sin(final double deg) {return Math.sin(Math.toRadians(deg));}
-
-	static private double cos(final double deg) {return Math.cos(Math.toRadians(deg));}
-
-	/**
-	 * Calculate the color difference between the two colors.
-	 * @param v1 CIELAB color 1
-	 * @param v2 CIELAB color 2
-	 * @return Color difference
-	 */
-	static public double differenceBetweenLab(final double[] v1, final double[] v2) {
-		return colorDifferenceMethod.differenceBetween(v1, v2);
-	}
-
-	/**
-	 * They are sensual expressions of color difference by NBS unit.
-	 * The values represent the lower limit of each range.
-	 */
-	static public final double NBS_TRACE = 0.0;
-	static public final double NBS_SLIGHT = 0.5;
-	static public final double NBS_NOTICEABLE = 1.5;
-	static public final double NBS_APPRECIABLE = 3.0;
-	static public final double NBS_MUCH = 6.0;
-	static public final double NBS_VERY_MUCH = 12.0;
-
-	static public final double DE_TO_NBS = 0.92;
-
-	/*
-	 * Calculation of simple distance of color vector ==========================
-	 */
-
-	/**
-	 * Calculate the distance between two color vectors.
-	 * @param v1 Color 1
-	 * @param v2 Color 2
-	 * @return Distance
-	 */
-	static public double distance(double[] v1, double[] v2) {
-		return Math.sqrt((v1[0] - v2[0]) * (v1[0] - v2[0]) + (v1[1] - v2[1]) * (v1[1] - v2[1]) + (v1[2] - v2[2]) * (v1[2] - v2[2]));
-	}
-
-	/**
-	 * Calculate the distance between two color vectors.
-	 * @param v1 Color 1
-	 * @param v2 Color 2
-	 * @return Distance
-	 */
-	static public double distance(Double[] v1, Double[] v2) {
-		return Math.sqrt((v1[0] - v2[0]) * (v1[0] - v2[0]) + (v1[1] - v2[1]) * (v1[1] - v2[1]) + (v1[2] - v2[2]) * (v1[2] - v2[2]));
-	}
-
-	/**
-	 * Calculate the square distance between two color vectors.
-	 * @param v1 Color 1
-	 * @param v2 Color 2
-	 * @return Distance
-	 */
-	static public double squaredDistance(double[] v1, double[] v2) {
-		return (v1[0] - v2[0]) * (v1[0] - v2[0]) + (v1[1] - v2[1]) * (v1[1] - v2[1]) + (v1[2] - v2[2]) * (v1[2] - v2[2]);
-	}
-
-	/**
-	 * Calculate the square distance between two color vectors.
-	 * @param v1 Color 1
-	 * @param v2 Color 2
-	 * @return Distance
-	 */
-	static public double squaredDistance(Double[] v1, Double[] v2) {
-		return (v1[0] - v2[0]) * (v1[0] - v2[0]) + (v1[1] - v2[1]) * (v1[1] - v2[1]) + (v1[2] - v2[2]) * (v1[2] - v2[2]);
-	}
-
-	/*
-	 * Determination of the basic categorical color ============================
-	 */
-
-	/**
-	 * Enum type for the basic categorical color.
-	 */
-	public enum BasicCategoricalColor {
-		WHITE,	// 0
-		BLACK,	// 1
-		RED,	// 2
-		GREEN,	// 3
-		YELLOW,	// 4
-		BLUE,	// 5
-		BROWN,	// 6
-		PURPLE,	// 7
-		PINK,	// 8
-		ORANGE,	// 9
-		GRAY,	// 10
-	}
-
-	public static final double Y_TO_LUM = 60.0;
-
-	/**
-	 * Find the Basic categorical color of the specified color.
-	 * @param yxy Yxy color
-	 * @return Basic categorical color
-	 */
-	public static BasicCategoricalColor categoryOfYxy(double[] yxy) {
-		double lum = yxy[0] * Y_TO_LUM;
-		lum = Math.pow(lum, 0.9);  // magic number
-		return BasicCategoricalColorTable.categoricalColor(lum, yxy[1], yxy[2]);
-	}
-
-}
+package takty.color;
+
+/**
+ * Utility class of the evaluation methods.
+ * @author Takuto Yanagida
+ * @version 2026-10-18
+ */
+public class Evaluation {
+
+	/*
+	 * Calculation of the conspicuity degree ===================================
+	 */
+
+	/**
+	 * Calculate the conspicuity degree.
+	 * Reference: Effective use of color conspicuity for Re-Coloring system,
+	 * Correspondences on Human interface Vol. 12, No. 1, SIG-DE-01, 2010.
+	 * @param lab CIELAB color
+	 * @return Conspicuity degree [0, 180]
+	 * TODO Consider chroma (ab radius of LAB)
+	 */
+	static public double conspicuityOfLab(double[] lab) {
+		double rad = (lab[2] > 0) ? Math.atan2(lab[2], lab[1]) : (Math.atan2(-lab[2], -lab[1]) + Math.PI);
+		double H = rad / (Math.PI * 2) * 360.0;
+		double a = 35;  // Constant
+		if(H < a) return Math.abs(180 - (360 + H - a));
+		else return Math.abs(180 - (H - a));
+	}
+
+	/*
+	 * Calculation of the color difference =====================================
+	 */
+
+	/**
+	 * Enum type for color difference calculation method.
+	 */
+	static public enum ColorDifferenceMethod {
+		/**
+		 * Color difference calculation method by CIE 76
+		 */
+		CIE76 {
+			@Override
+			public double differenceBetween(final double[] v1, final double[] v2) {
+				return CIE76(v1, v2);
+			}
+		},
+
+		/**
+		* Color difference calculation method by CIEDE2000
+		* Reference: http://www.ece.rochester.edu/~gsharma/ciede2000/ciede2000noteCRNA.pdf
+		* http://d.hatena.ne.jp/yoneh/20071227/1198758604
+		*/
+		CIEDE2000 {
+			@Override
+			public double differenceBetween(final double[] v1, final double[] v2) {
+				return CIEDE2000(v1, v2);
+			}
+		};
+
+		abstract public double differenceBetween(final double[] v1, final double[] v2);
+	}
+
+	/**
+	 * Represents the currently selected color difference calculation method.
+	 */
+	static public ColorDifferenceMethod colorDifferenceMethod = ColorDifferenceMethod.CIEDE2000;
+
+	static public double CIE76(double[] v1, double[] v2) {
+		return Math.sqrt((v1[0] - v2[0]) * (v1[0] - v2[0]) + (v1[1] - v2[1]) * (v1[1] - v2[1]) + (v1[2] - v2[2]) * (v1[2] - v2[2]));
+	}
+
+	static public double CIEDE2000(double[] v1, double[] v2) {
+		double L1 = v1[0], a1 = v1[1], b1 = v1[2];
+		double L2 = v2[0], a2 = v2[1], b2 = v2[2];
+
+		double C1 = Math.sqrt(a1 * a1 + b1 * b1), C2 = Math.sqrt(a2 * a2 + b2 * b2);
+		double Cb = (C1 + C2) / 2.0;
+		double G = 0.5 * (1.0 - Math.sqrt(Math.pow(Cb, 7) / (Math.pow(Cb, 7) + Math.pow(25.0, 7.0))));
+		double ap1 = (1.0 + G) * a1, ap2 = (1.0 + G) * a2;
+		double Cp1 = Math.sqrt(ap1 * ap1 + b1 * b1), Cp2 = Math.sqrt(ap2 * ap2 + b2 * b2);
+		double hp1 = (b1 == 0.0 && ap1 == 0.0) ? 0.0 : atan(b1, ap1), hp2 = (b2 == 0.0 && ap2 == 0.0) ? 0.0 : atan(b2, ap2);
+
+		double DLp = L2 - L1;
+		double DCp = Cp2 - Cp1;
+		double Dhp = 0.0;
+		if(Cp1 * Cp2 == 0) {
+			Dhp = 0.0;
+		} else if(Math.abs(hp2 - hp1) <= 180.0) {
+			Dhp = hp2 - hp1;
+		} else if(hp2 - hp1 > 180.0) {
+			Dhp = (hp2 - hp1) - 360.0;
+		} else if(hp2 - hp1 < -180.0) {
+			Dhp = (hp2 - hp1) + 360.0;
+		}
+		double DHp = 2.0 * Math.sqrt(Cp1 * Cp2) * sin(Dhp / 2.0);
+
+		double Lbp = (L1 + L2) / 2.0;
+		double Cbp = (Cp1 + Cp2) / 2.0;
+		double hbp = 0.0;
+		if(Cp1 * Cp2 == 0) {
+			hbp = hp1 + hp2;
+		} else if(Math.abs(hp2 - hp1) <= 180.0) {
+			hbp = (hp1 + hp2) / 2.0;
+		} else if(Math.abs(hp2 - hp1) > 180.0 && hp1 + hp2 < 360.0) {
+			hbp = (hp1 + hp2 + 360.0) / 2.0;
+		} else if(Math.abs(hp2 - hp1) > 180.0 && hp1 + hp2 >= 360.0) {
+			hbp = (hp1 + hp2 - 360.0) / 2.0;
+		}
+		double T = 1.0 - 0.17 * cos(hbp - 30.0) + 0.24 * cos(2.0 * hbp)
+				+ 0.32 * cos(3.0 * hbp + 6.0) - 0.2 * cos(4.0 * hbp - 63.0);
+		double Dth = 30.0 * Math.exp(-sq((hbp - 275.0) / 25.0));
+		double RC = 2.0 * Math.sqrt(Math.pow(Cbp, 7) / (Math.pow(Cbp, 7) + Math.pow(25.0, 7.0)));
+		double SL = 1.0 + 0.015 * sq(Lbp - 50.0) / Math.sqrt(20.0 + sq(Lbp - 50.0));
+		double SC = 1.0 + 0.045 * Cbp;
+		double SH = 1.0 + 0.015 * Cbp * T;
+		double RT = -sin(2.0 * Dth) * RC;
+
+		double kL = 1.0, kC = 1.0, kH = 1.0;
+		double DE = Math.sqrt(sq(DLp / (kL * SL)) + sq(DCp / (kC * SC)) + sq(DHp / (kH * SH)) + RT * (DCp / (kC * SC)) * (DHp / (kH * SH)));
+		return DE;
+	}
+
+	/**
+	 * Calculate the color difference by CIE76 in single precision.
+	 * @param v1 CIELAB color 1
+	 * @param v2 CIELAB color 2
+	 * @return Color difference
+	 */
+	static public float CIE76(float[] v1, float[] v2) {
+		final float dl = v1[0] - v2[0], da = v1[1] - v2[1], db = v1[2] - v2[2];
+		return (float)Math.sqrt(dl * dl + da * da + db * db);
+	}
+
+	/**
+	 * Calculate the color difference by CIEDE2000 in single precision.
+	 * @param v1 CIELAB color 1
+	 * @param v2 CIELAB color 2
+	 * @return Color difference
+	 */
+	static public float CIEDE2000(float[] v1, float[] v2) {
+		final float L1 = v1[0], a1 = v1[1], b1 = v1[2];
+		final float L2 = v2[0], a2 = v2[1], b2 = v2[2];
+
+		final float C1 = (float)Math.sqrt(a1 * a1 + b1 * b1), C2 = (float)Math.sqrt(a2 * a2 + b2 * b2);
+		final float Cb = (C1 + C2) / 2.0f;
+		final float G = 0.5f * (1.0f - rc(Cb));
+		final float ap1 = (1.0f + G) * a1, ap2 = (1.0f + G) * a2;
+		final float Cp1 = (float)Math.sqrt(ap1 * ap1 + b1 * b1), Cp2 = (float)Math.sqrt(ap2 * ap2 + b2 * b2);
+		final float hp1 = (b1 == 0.0f && ap1 == 0.0f) ? 0.0f : (float)atan(b1, ap1), hp2 = (b2 == 0.0f && ap2 == 0.0f) ? 0.0f : (float)atan(b2, ap2);
+
+		final float DLp = L2 - L1;
+		final float DCp = Cp2 - Cp1;
+		float Dhp = 0.0f;
+		if(Cp1 * Cp2 == 0) {
+			Dhp = 0.0f;
+		} else if(Math.abs(hp2 - hp1) <= 180.0f) {
+			Dhp = hp2 - hp1;
+		} else if(hp2 - hp1 > 180.0f) {
+			Dhp = (hp2 - hp1) - 360.0f;
+		} else if(hp2 - hp1 < -180.0f) {
+			Dhp = (hp2 - hp1) + 360.0f;
+		}
+		final float DHp = 2.0f * (float)Math.sqrt(Cp1 * Cp2) * (float)sin(Dhp / 2.0f);
+
+		final float Lbp = (L1 + L2) / 2.0f;
+		final float Cbp = (Cp1 + Cp2) / 2.0f;
+		float hbp = 0.0f;
+		if(Cp1 * Cp2 == 0) {
+			hbp = hp1 + hp2;
+		} else if(Math.abs(hp2 - hp1) <= 180.0f) {
+			hbp = (hp1 + hp2) / 2.0f;
+		} else if(hp1 + hp2 < 360.0f) {
+			hbp = (hp1 + hp2 + 360.0f) / 2.0f;
+		} else {
+			hbp = (hp1 + hp2 - 360.0f) / 2.0f;
+		}
+		final float T = 1.0f - 0.17f * (float)cos(hbp - 30.0f) + 0.24f * (float)cos(2.0f * hbp)
+				+ 0.32f * (float)cos(3.0f * hbp + 6.0f) - 0.2f * (float)cos(4.0f * hbp - 63.0f);
+		final float Dth = 30.0f * (float)Math.exp(-sq((hbp - 275.0f) / 25.0f));
+		final float RC = 2.0f * rc(Cbp);
+		final float SL = 1.0f + 0.015f * sq(Lbp - 50.0f) / (float)Math.sqrt(20.0f + sq(Lbp - 50.0f));
+		final float SC = 1.0f + 0.045f * Cbp;
+		final float SH = 1.0f + 0.015f * Cbp * T;
+		final float RT = -(float)sin(2.0f * Dth) * RC;
+
+		final float dl = DLp / SL, dc = DCp / SC, dh = DHp / SH;  // kL = kC = kH = 1
+		return (float)Math.sqrt(dl * dl + dc * dc + dh * dh + RT * dc * dh);
+	}
+
+	// sqrt(C^7 / (C^7 + 25^7))
+	static private float rc(final float c) {
+		final float c2 = c * c, c7 = c2 * c2 * c2 * c;
+		return (float)Math.sqrt(c7 / (c7 + 6103515625.0f));
+	}
+
+	static private float sq(final float v) {return v * v;}
+
+	static private double sq(final double v) {return v * v;}
+
+	static private double atan(final double y, final double x) {double v = Math.toDegrees(Math.atan2(y, x)); return (v < 0.0) ? (v + 360.0) : v;}
+
+	static private double sin(final double deg) {return Math.sin(Math.toRadians(deg));}
+
+	static private double cos(final double deg) {return Math.cos(Math.toRadians(deg));}
+
+	/**
+	 * Calculate the color difference between the two colors.
+	 * @param v1 CIELAB color 1
+	 * @param v2 CIELAB color 2
+	 * @return Color difference
+	 */
+	static public double differenceBetweenLab(final double[] v1, final double[] v2) {
+		return colorDifferenceMethod.differenceBetween(v1, v2);
+	}
+
+	/**
+	 * Calculate the color differences between the colors of two buffers of CIELAB by the currently selected method.
+	 * @param v1 CIELAB colors 1
+	 * @param v2 CIELAB colors 2 (the same size as v1)
+	 * @param dest Color differences (the same length as the size of v1)
+	 * @return Color differences (dest)
+	 */
+	static public double[] differenceBetweenLab(final ColorBuffer v1, final ColorBuffer v2, final double[] dest) {
+		return differenceBetweenLab(v1, v2, dest, colorDifferenceMethod);
+	}
+
+	/**
+	 * Calculate the color differences between the colors of two buffers of CIELAB.
+	 * If both buffers are of float, the differences are calculated in single precision.
+	 * @param v1 CIELAB colors 1
+	 * @param v2 CIELAB colors 2 (the same size as v1)
+	 * @param dest Color differences (the same length as the size of v1)
+	 * @param method Color difference method
+	 * @return Color differences (dest)
+	 */
+	static public double[] differenceBetweenLab(final ColorBuffer v1, final ColorBuffer v2, final double[] dest, final ColorDifferenceMethod method) {
+		if(v1.space() != ColorSpace.Type.LAB || v2.space() != ColorSpace.Type.LAB) throw new IllegalArgumentException("The buffers are not in CIELAB");
+		if(v1.size() != v2.size()) throw new IllegalArgumentException("The sizes of the buffers are different");
+		if(method == ColorDifferenceMethod.CIE76 && !v1.isSinglePrecision() && !v2.isSinglePrecision()) {
+			ColorKernels.CIE76(v1.channel(0), v1.channel(1), v1.channel(2), v2.channel(0), v2.channel(1), v2.channel(2), dest, 0, v1.size());
+			return dest;
+		}
+		if(v1.isSinglePrecision() && v2.isSinglePrecision()) {
+			final float[] l1 = v1.floatChannel(0), a1 = v1.floatChannel(1), b1 = v1.floatChannel(2);
+			final float[] l2 = v2.floatChannel(0), a2 = v2.floatChannel(1), b2 = v2.floatChannel(2);
+			final float[] c1 = new float[3], c2 = new float[3];
+			final boolean de76 = (method == ColorDifferenceMethod.CIE76);
+			for(int i = 0; i < v1.size(); ++i) {
+				c1[0] = l1[i]; c1[1] = a1[i]; c1[2] = b1[i];
+				c2[0] = l2[i]; c2[1] = a2[i]; c2[2] = b2[i];
+				dest[i] = de76 ? CIE76(c1, c2) : CIEDE2000(c1, c2);
+			}
+			return dest;
+		}
+		final double[] c1 = new double[3], c2 = new double[3];
+		for(int i = 0; i < v1.size(); ++i) dest[i] = method.differenceBetween(v1.get(i, c1), v2.get(i, c2));
+		return dest;
+	}
+
+	/**
+	 * They are sensual expressions of color difference by NBS unit.
+	 * The values represent the lower limit of each range.
+	 */
+	static public final double NBS_TRACE = 0.0;
+	static public final double NBS_SLIGHT = 0.5;
+	static public final double NBS_NOTICEABLE = 1.5;
+	static public final double NBS_APPRECIABLE = 3.0;
+	static public final double NBS_MUCH = 6.0;
+	static public final double NBS_VERY_MUCH = 12.0;
+
+	static public final double DE_TO_NBS = 0.92;
+
+	/*
+	 * Calculation of simple distance of color vector ==========================
+	 */
+
+	/**
+	 * Calculate the distance between two color vectors.
+	 * @param v1 Color 1
+	 * @param v2 Color 2
+	 * @return Distance
+	 */
+	static public double distance(double[] v1, double[] v2) {
+		return Math.sqrt((v1[0] - v2[0]) * (v1[0] - v2[0]) + (v1[1] - v2[1]) * (v1[1] - v2[1]) + (v1[2] - v2[2]) * (v1[2] - v2[2]));
+	}
+
+	/**
+	 * Calculate the distance between two color vectors.
+	 * @param v1 Color 1
+	 * @param v2 Color 2
+	 * @return Distance
+	 */
+	static public double distance(Double[] v1, Double[] v2) {
+		return Math.sqrt((v1[0] - v2[0]) * (v1[0] - v2[0]) + (v1[1] - v2[1]) * (v1[1] - v2[1]) + (v1[2] - v2[2]) * (v1[2] - v2[2]));
+	}
+
+	/**
+	 * Calculate the square distance between two color vectors.
+	 * @param v1 Color 1
+	 * @param v2 Color 2
+	 * @return Distance
+	 */
+	static public double squaredDistance(double[] v1, double[] v2) {
+		return (v1[0] - v2[0]) * (v1[0] - v2[0]) + (v1[1] - v2[1]) * (v1[1] - v2[1]) + (v1[2] - v2[2]) * (v1[2] - v2[2]);
+	}
+
+	/**
+	 * Calculate the square distance between two color vectors.
+	 * @param v1 Color 1
+	 * @param v2 Color 2
+	 * @return Distance
+	 */
+	static public double squaredDistance(Double[] v1, Double[] v2) {
+		return (v1[0] - v2[0]) * (v1[0] - v2[0]) + (v1[1] - v2[1]) * (v1[1] - v2[1]) + (v1[2] - v2[2]) * (v1[2] - v2[2]);
+	}
+
+	/*
+	 * Determination of the basic categorical color ============================
+	 */
+
+	/**
+	 * Enum type for the basic categorical color.
+	 */
+	public enum BasicCategoricalColor {
+		WHITE,	// 0
+		BLACK,	// 1
+		RED,	// 2
+		GREEN,	// 3
+		YELLOW,	// 4
+		BLUE,	// 5
+		BROWN,	// 6
+		PURPLE,	// 7
+		PINK,	// 8
+		ORANGE,	// 9
+		GRAY,	// 10
+	}
+
+	public static final double Y_TO_LUM = 60.0;
+
+	/**
+	 * Find the Basic categorical color of the specified color.
+	 * @param yxy Yxy color
+	 * @return Basic categorical color
+	 */
+	public static BasicCategoricalColor categoryOfYxy(double[] yxy) {
+		double lum = yxy[0] * Y_TO_LUM;
+		lum = Math.pow(lum, 0.9);  // magic number
+		return BasicCategoricalColorTable.categoricalColor(lum, yxy[1], yxy[2]);
+	}
+
+	static private final BasicCategoricalColor[] CATEGORIES = BasicCategoricalColor.values();
+
+	/**
+	 * Find the Basic categorical color of the specified color integer.
+	 * The result is the same as categoryOfYxy of the sRGB color, but it is read from the precomputed table.
+	 * The table (8 MB) is built when this or the bulk methods are called first.
+	 * @param argb Color integer (alpha is ignored)
+	 * @return Basic categorical color
+	 */
+	public static BasicCategoricalColor categoryOfColorInteger(final int argb) {
+		return CATEGORIES[RGBCategoricalColorTable.categoryIndex(argb)];
+	}
+
+	/**
+	 * Find the Basic categorical colors of the color integers of pixels.
+	 * @param argbs Color integers (alpha is ignored)
+	 * @param dest Ordinals of the basic categorical colors (the same length as argbs)
+	 * @return Ordinals of the basic categorical colors (dest)
+	 */
+	public static byte[] categoriesOfColorIntegers(final int[] argbs, final byte[] dest) {
+		for(int i = 0; i < argbs.length; ++i) {
+			dest[i] = (byte)RGBCategoricalColorTable.categoryIndex(argbs[i]);
+		}
+		return dest;
+	}
+
+	/**
+	 * Count the Basic categorical colors of the color integers of pixels.
+	 * @param argbs Color integers (alpha is ignored)
+	 * @param dest Histogram indexed by the ordinals of the basic categorical colors (the length is at least 11)
+	 * @return Histogram (dest)
+	 */
+	public static int[] categoryHistogramOfColorIntegers(final int[] argbs, final int[] dest) {
+		for(int i = 0; i < argbs.length; ++i) {
+			++dest[RGBCategoricalColorTable.categoryIndex(argbs[i])];
+		}
+		return dest;
+	}
+
+}
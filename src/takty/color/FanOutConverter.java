@@ -0,0 +1,137 @@
+package takty.color;
+
+import takty.color.Evaluation.BasicCategoricalColor;
+
+/**
+ * This class converts an sRGB color to several color systems at once, computing each shared intermediate only once.
+ * The conversions form a tree (sRGB -> Linear RGB -> XYZ -> Lab, Yxy, LMS and Munsell -> PCCS -> tone, and Yxy -> basic categorical color),
+ * and each node is computed on demand and kept until the next color is set.
+ * The results are the same as those of the corresponding ColorConverter chains.
+ * A converter keeps working memory, so use one instance per thread.
+ * @author Takuto Yanagida
+ * @version 2026-10-18
+ */
+public final class FanOutConverter {
+
+	static private final ColorSpace.Type[] TYPES = ColorSpace.Type.values();
+	static private final int TONE_BIT = 1 << TYPES.length, CATEGORY_BIT = TONE_BIT << 1;
+
+	private final double[][] values_ = new double[TYPES.length][3];
+	private int valid_;  // Bits of the nodes computed for the current color
+	private PCCS.Tone tone_;
+	private BasicCategoricalColor category_;
+
+	/**
+	 * Set an sRGB color, and discard the results of the previous color.
+	 * @param rgb sRGB color
+	 * @return This converter
+	 */
+	public FanOutConverter set(final double[] rgb) {
+		final double[] v = values_[ColorSpace.Type.RGB.ordinal()];
+		v[0] = rgb[0]; v[1] = rgb[1]; v[2] = rgb[2];
+		valid_ = 1 << ColorSpace.Type.RGB.ordinal();
+		return this;
+	}
+
+	// Return the value of the node of a color system, computing it and its ancestors if needed
+	private double[] value(final ColorSpace.Type t) {
+		final int bit = 1 << t.ordinal();
+		final double[] v = values_[t.ordinal()];
+		if((valid_ & bit) == 0) {
+			if((valid_ & 1 << ColorSpace.Type.RGB.ordinal()) == 0) throw new IllegalStateException("No color is set");
+			switch(t) {
+			case LRGB:    RGB.toLRGB(value(ColorSpace.Type.RGB), v); break;
+			case XYZ:     LRGB.toXYZ(value(ColorSpace.Type.LRGB), v); break;
+			case YIQ:     YIQ.fromLRGB(value(ColorSpace.Type.LRGB), v); break;
+			case LAB:     Lab.fromXYZ(value(ColorSpace.Type.XYZ), v); break;
+			case YXY:     Yxy.fromXYZ(value(ColorSpace.Type.XYZ), v); break;
+			case LMS:     XYZ.toLMS(value(ColorSpace.Type.XYZ), v); break;
+			case MUNSELL: Munsell.fromXYZ(value(ColorSpace.Type.XYZ), v); break;
+			case PCCS:    PCCS.fromMunsell(value(ColorSpace.Type.MUNSELL), v); break;
+			default: break;
+			}
+			valid_ |= bit;
+		}
+		return v;
+	}
+
+	/**
+	 * Get the current color in a color system.
+	 * @param space Color system
+	 * @param dest Color
+	 * @return Color (dest)
+	 */
+	public double[] get(final ColorSpace.Type space, final double[] dest) {
+		final double[] v = value(space);
+		dest[0] = v[0]; dest[1] = v[1]; dest[2] = v[2];
+		return dest;
+	}
+
+	/**
+	 * Return the PCCS tone of the current color.
+	 * @return Tone
+	 */
+	public PCCS.Tone tone() {
+		if((valid_ & TONE_BIT) == 0) {
+			tone_ = PCCS.tone(value(ColorSpace.Type.PCCS));
+			valid_ |= TONE_BIT;
+		}
+		return tone_;
+	}
+
+	/**
+	 * Return the basic categorical color of the current color.
+	 * @return Basic categorical color
+	 */
+	public BasicCategoricalColor category() {
+		if((valid_ & CATEGORY_BIT) == 0) {
+			category_ = Evaluation.categoryOfYxy(value(ColorSpace.Type.YXY));
+			valid_ |= CATEGORY_BIT;
+		}
+		return category_;
+	}
+
+	/**
+	 * Convert an sRGB color to the color systems of the destinations.
+	 * @param rgb sRGB color
+	 * @param spaces Color systems
+	 * @param dests Colors (the same length as spaces)
+	 * @return Colors (dests)
+	 */
+	public double[][] convert(final double[] rgb, final ColorSpace.Type[] spaces, final double[][] dests) {
+		set(rgb);
+		for(int j = 0; j < spaces.length; ++j) get(spaces[j], dests[j]);
+		return dests;
+	}
+
+	/**
+	 * Convert sRGB colors of a buffer to the color systems of the destination buffers.
+	 * @param src sRGB colors
+	 * @param dests Destination colors (the same size as src); each is converted to its own color system
+	 */
+	public void convert(final ColorBuffer src, final ColorBuffer... dests) {
+		convert(src, dests, null, null);
+	}
+
+	/**
+	 * Convert sRGB colors of a buffer to the color systems of the destination buffers, PCCS tones and basic categorical colors.
+	 * @param src sRGB colors
+	 * @param dests Destination colors (the same size as src); each is converted to its own color system
+	 * @param tones PCCS tones (the same length as the size of src), or null
+	 * @param categories Basic categorical colors (the same length as the size of src), or null
+	 */
+	public void convert(final ColorBuffer src, final ColorBuffer[] dests, final PCCS.Tone[] tones, final BasicCategoricalColor[] categories) {
+		if(src.space() != ColorSpace.Type.RGB) throw new IllegalArgumentException("The buffer is not in sRGB");
+		for(ColorBuffer d: dests) {
+			if(d.size() != src.size()) throw new IllegalArgumentException("The sizes of src and dest are different");
+		}
+		final double[] c = new double[3];
+		for(int i = 0; i < src.size(); ++i) {
+			set(src.get(i, c));
+			for(ColorBuffer d: dests) d.set(i, value(d.space()));
+			if(tones != null) tones[i] = tone();
+			if(categories != null) categories[i] = category();
+		}
+	}
+
+}
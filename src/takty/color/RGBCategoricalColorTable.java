@@ -0,0 +1,32 @@
+package takty.color;
+
+/**
+ * The table of the basic categorical color for every 24-bit sRGB color
+ * Each category ordinal is packed into 4 bits (two colors per byte), and the table is built on first use.
+ * @author Takuto Yanagida
+ * @version 2026-10-18
+ */
+class RGBCategoricalColorTable {
+
+	static private final byte[] TABLE = new byte[(1 << 24) / 2];  // [rgb / 2] -> Two category ordinals
+
+	static {
+		final double[] lrgb = new double[256];
+		final double[] c = new double[3];
+		for(int i = 0; i < 256; ++i) {
+			c[0] = i;
+			lrgb[i] = RGB.toLRGB(c, c)[0];
+		}
+		for(int rgb = 0; rgb < (1 << 24); ++rgb) {
+			c[0] = lrgb[(rgb >> 16) & 0xFF]; c[1] = lrgb[(rgb >> 8) & 0xFF]; c[2] = lrgb[rgb & 0xFF];
+			final int cc = Evaluation.categoryOfYxy(Yxy.fromXYZ$(LRGB.toXYZ$(c))).ordinal();
+			TABLE[rgb >> 1] |= (byte)((rgb & 1) == 0 ? cc : (cc << 4));
+		}
+	}
+
+	static int categoryIndex(final int rgb) {
+		final int b = TABLE[(rgb & 0xFFFFFF) >> 1];
+		return ((rgb & 1) == 0) ? (b & 0x0F) : ((b >> 4) & 0x0F);
+	}
+
+}
@@ -0,0 +1,55 @@
+package takty.color;
+
+/**
+ * The tables of the gamma correction for 8-bit sRGB
+ * toByte gives the same channel value as RGB.fromLRGB followed by RGB.toColorInteger.
+ * @author Takuto Yanagida
+ * @version 2026-10-18
+ */
+class RGBGammaTable {
+
+	static final double[] TO_LINEAR = new double[256];  // [8-bit sRGB] -> Linear RGB
+
+	static private final int BUCKET_SIZE = 4096;
+	static private final double[] THRESHOLD = new double[257];  // [k] -> Minimum linear value of the channel value k
+	static private final short[] BUCKET = new short[BUCKET_SIZE + 1];  // [bucket] -> Channel value of the bucket start
+
+	static {
+		final double[] c = new double[3];
+		for(int i = 0; i < 256; ++i) {
+			c[0] = i; c[1] = 0.0; c[2] = 0.0;
+			TO_LINEAR[i] = RGB.toLRGB(c, c)[0];
+		}
+		THRESHOLD[0] = Double.NEGATIVE_INFINITY;
+		THRESHOLD[256] = Double.POSITIVE_INFINITY;
+		for(int k = 1; k < 256; ++k) {  // Bisection on the monotonic conversion
+			double lo = 0.0, hi = 1.0;
+			for(int i = 0; i < 64; ++i) {
+				final double mid = (lo + hi) / 2.0;
+				if(exactByte(mid, c) >= k) hi = mid; else lo = mid;
+			}
+			THRESHOLD[k] = hi;
+		}
+		int k = 0;
+		for(int b = 0; b <= BUCKET_SIZE; ++b) {
+			final double v = (double)b / BUCKET_SIZE;
+			while(THRESHOLD[k + 1] <= v) ++k;
+			BUCKET[b] = (short)k;
+		}
+	}
+
+	static private int exactByte(final double lin, final double[] c) {
+		c[0] = lin; c[1] = 0.0; c[2] = 0.0;
+		return (int)RGB.fromLRGB(c, c, new boolean[1])[0];
+	}
+
+	// Convert a Linear RGB channel to an 8-bit sRGB channel.
+	static int toByte(final double lin) {
+		if(!(0.0 < lin)) return 0;  // Including NaN
+		if(1.0 <= lin) return 255;
+		int k = BUCKET[(int)(lin * BUCKET_SIZE)];
+		while(THRESHOLD[k + 1] <= lin) ++k;
+		return k;
+	}
+
+}
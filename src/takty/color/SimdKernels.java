@@ -0,0 +1,23 @@
+package takty.color;
+
+/**
+ * This class calls the matrix kernels of ColorKernels by the Vector API (jdk.incubator.vector) if it is available.
+ * This version for Java 7 to 15 does nothing, and is replaced by the one of META-INF/versions/16 in the multi-release jar.
+ * @author Takuto Yanagida
+ * @version 2026-10-18
+ */
+final class SimdKernels {
+
+	private SimdKernels() {}
+
+	static boolean multiply(final double[][] m, final double[] s0, final double[] s1, final double[] s2,
+			final double[] d0, final double[] d1, final double[] d2, final int off, final int count) {
+		return false;
+	}
+
+	static boolean multiply(final float[][] m, final float[] s0, final float[] s1, final float[] s2,
+			final float[] d0, final float[] d1, final float[] d2, final int off, final int count) {
+		return false;
+	}
+
+}
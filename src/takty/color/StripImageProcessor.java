@@ -0,0 +1,305 @@
+package takty.color;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+
+/**
+ * This class processes an image larger than the heap in horizontal strips.
+ * Each strip is read from an ImageReader by a source region, filtered by a ColorImageOp and passed to a sink,
+ * so the memory used is bounded by the size of a strip, independent of the size of the image.
+ * Readers of formats with random access to rows (such as TIFF) read each strip efficiently,
+ * while readers of other formats (such as PNG) decode the rows preceding the strip again for each strip.
+ * @author Takuto Yanagida
+ * @version 2026-10-18
+ */
+public class StripImageProcessor {
+
+	/**
+	 * Receiver of filtered strips.
+	 */
+	public interface Sink {
+
+		/**
+		 * Called before the first strip.
+		 * @param width Width of the image
+		 * @param height Height of the image
+		 * @throws IOException If an I/O error occurs
+		 */
+		void begin(int width, int height) throws IOException;
+
+		/**
+		 * Called for each strip from top to bottom. The strip is reused after this method returns.
+		 * @param strip Strip
+		 * @param y Y of the strip in the image
+		 * @throws IOException If an I/O error occurs
+		 */
+		void strip(BufferedImage strip, int y) throws IOException;
+
+		/**
+		 * Called after the last strip.
+		 * @throws IOException If an I/O error occurs
+		 */
+		void end() throws IOException;
+
+	}
+
+	private final int stripHeight_;
+
+	/**
+	 * Create a processor.
+	 * @param stripHeight Height of a strip
+	 */
+	public StripImageProcessor(final int stripHeight) {
+		if(stripHeight < 1) throw new IllegalArgumentException("stripHeight must be positive");
+		stripHeight_ = stripHeight;
+	}
+
+	/**
+	 * Return the height of a strip.
+	 * @return Height of a strip
+	 */
+	public int stripHeight() {
+		return stripHeight_;
+	}
+
+	/**
+	 * Process an image of a reader. The input of the reader must be set.
+	 * @param reader Reader
+	 * @param imageIndex Index of the image
+	 * @param op Filter, or null for no filtering
+	 * @param sink Sink
+	 * @throws IOException If an I/O error occurs
+	 */
+	public void process(final ImageReader reader, final int imageIndex, final ColorImageOp op, final Sink sink) throws IOException {
+		final int w = reader.getWidth(imageIndex), h = reader.getHeight(imageIndex);
+		sink.begin(w, h);
+		BufferedImage buf = null;
+		for(int y = 0; y < h; y += stripHeight_) {
+			final int sh = Math.min(stripHeight_, h - y);
+			final ImageReadParam p = reader.getDefaultReadParam();
+			p.setSourceRegion(new Rectangle(0, y, w, sh));
+			BufferedImage s;
+			if(buf == null) {
+				s = buf = reader.read(imageIndex, p);
+			} else {
+				p.setDestination((sh == buf.getHeight()) ? buf : buf.getSubimage(0, 0, w, sh));
+				s = reader.read(imageIndex, p);
+			}
+			if(op != null) s = op.filter(s, s);
+			sink.strip(s, y);
+		}
+		sink.end();
+	}
+
+	/**
+	 * Create a sink which writes strips through a writer which can write an empty image and replace its pixels (such as TIFF).
+	 * The output of the writer must be set.
+	 * @param writer Writer
+	 * @return Sink
+	 */
+	static public Sink createWriterSink(final ImageWriter writer) {
+		return new Sink() {
+			private int w_, h_;
+			private boolean prepared_;
+
+			@Override
+			public void begin(int width, int height) throws IOException {
+				if(!writer.canWriteEmpty()) throw new UnsupportedOperationException("The writer cannot write an empty image");
+				w_ = width; h_ = height;
+				prepared_ = false;
+			}
+
+			@Override
+			public void strip(BufferedImage strip, int y) throws IOException {
+				if(!prepared_) {
+					writer.prepareWriteEmpty(null, ImageTypeSpecifier.createFromRenderedImage(strip), w_, h_, null, null, null);
+					prepared_ = true;
+				}
+				final ImageWriteParam p = writer.getDefaultWriteParam();
+				p.setDestinationOffset(new Point(0, y));
+				writer.prepareReplacePixels(0, new Rectangle(0, y, strip.getWidth(), strip.getHeight()));
+				writer.replacePixels(strip, p);
+				writer.endReplacePixels();
+			}
+
+			@Override
+			public void end() throws IOException {
+				if(prepared_) writer.endWriteEmpty();
+			}
+		};
+	}
+
+	/**
+	 * Create a sink which writes strips as a binary PPM (P6) image to a stream. Alpha is discarded.
+	 * The stream is not closed.
+	 * @param out Output stream
+	 * @return Sink
+	 */
+	static public Sink createPPMSink(final OutputStream out) {
+		return new Sink() {
+			private OutputStream os_;
+			private int[] row_;
+			private byte[] bs_;
+
+			@Override
+			public void begin(int width, int height) throws IOException {
+				os_  = new BufferedOutputStream(out, 1 << 16);
+				row_ = new int[width];
+				bs_  = new byte[width * 3];
+				os_.write(("P6\n" + width + " " + height + "\n255\n").getBytes(StandardCharsets.US_ASCII));
+			}
+
+			@Override
+			public void strip(BufferedImage strip, int y) throws IOException {
+				final ImagePixels px = ImagePixels.of(strip);
+				for(int j = 0; j < px.height; ++j) {
+					px.read(0, j, px.width, row_, 0);
+					for(int i = 0, k = 0; i < px.width; ++i) {
+						final int c = row_[i];
+						bs_[k++] = (byte)(c >> 16); bs_[k++] = (byte)(c >> 8); bs_[k++] = (byte)c;
+					}
+					os_.write(bs_);
+				}
+			}
+
+			@Override
+			public void end() throws IOException {
+				os_.flush();
+			}
+		};
+	}
+
+	/**
+	 * Create a sink which passes strips to all the sinks in order.
+	 * @param sinks Sinks
+	 * @return Sink
+	 */
+	static public Sink createSink(final Sink ...sinks) {
+		return new Sink() {
+			@Override
+			public void begin(int width, int height) throws IOException {
+				for(Sink s : sinks) s.begin(width, height);
+			}
+
+			@Override
+			public void strip(BufferedImage strip, int y) throws IOException {
+				for(Sink s : sinks) s.strip(strip, y);
+			}
+
+			@Override
+			public void end() throws IOException {
+				for(Sink s : sinks) s.end();
+			}
+		};
+	}
+
+
+	// -------------------------------------------------------------------------
+
+
+	/**
+	 * Sink which accumulates statistics of CIELAB (L*a*b*) of pixels. D65 is used as tristimulus value.
+	 */
+	static public class LabStatistics implements Sink {
+
+		private long count_;
+		private final double[] sum_ = new double[3], sum2_ = new double[3];
+		private final double[] min_ = new double[3], max_ = new double[3];
+		private int[] row_;
+
+		@Override
+		public void begin(int width, int height) {
+			count_ = 0;
+			for(int i = 0; i < 3; ++i) {
+				sum_[i] = sum2_[i] = 0.0;
+				min_[i] = Double.POSITIVE_INFINITY;
+				max_[i] = Double.NEGATIVE_INFINITY;
+			}
+			row_ = new int[width];
+		}
+
+		@Override
+		public void strip(BufferedImage strip, int y) {
+			final double[] lin = RGBGammaTable.TO_LINEAR, w = Lab.D65_XYZ;
+			final double[] c = new double[3];
+			final ImagePixels px = ImagePixels.of(strip);
+			for(int j = 0; j < px.height; ++j) {
+				px.read(0, j, px.width, row_, 0);
+				for(int i = 0; i < px.width; ++i) {
+					final int p = row_[i];
+					c[0] = lin[(p >> 16) & 0xFF]; c[1] = lin[(p >> 8) & 0xFF]; c[2] = lin[p & 0xFF];
+					Lab.fromXYZ(LRGB.toXYZ(c, c), c, w);
+					for(int k = 0; k < 3; ++k) {
+						final double v = c[k];
+						sum_[k] += v; sum2_[k] += v * v;
+						if(v < min_[k]) min_[k] = v;
+						if(v > max_[k]) max_[k] = v;
+					}
+				}
+			}
+			count_ += (long)px.width * px.height;
+		}
+
+		@Override
+		public void end() {}
+
+		/**
+		 * Return the number of pixels.
+		 * @return The number of pixels
+		 */
+		public long count() {
+			return count_;
+		}
+
+		/**
+		 * Return the mean.
+		 * @return Mean of L*, a* and b*
+		 */
+		public double[] mean() {
+			final double[] m = new double[3];
+			for(int k = 0; k < 3; ++k) m[k] = sum_[k] / count_;
+			return m;
+		}
+
+		/**
+		 * Return the standard deviation.
+		 * @return Standard deviation of L*, a* and b*
+		 */
+		public double[] standardDeviation() {
+			final double[] sd = new double[3];
+			for(int k = 0; k < 3; ++k) {
+				final double m = sum_[k] / count_;
+				sd[k] = Math.sqrt(Math.max(0.0, sum2_[k] / count_ - m * m));
+			}
+			return sd;
+		}
+
+		/**
+		 * Return the minimum.
+		 * @return Minimum of L*, a* and b*
+		 */
+		public double[] min() {
+			return min_.clone();
+		}
+
+		/**
+		 * Return the maximum.
+		 * @return Maximum of L*, a* and b*
+		 */
+		public double[] max() {
+			return max_.clone();
+		}
+
+	}
+
+}
@@ -1,12 +1,12 @@
-package takty.color;
-
-/**
- * Enum type for color vision characteristics.
- * @author Takuto Yanagida
- * @version 2018-04-18
- */
-public enum Vision {
-
-	TRICHROMACY, PROTANOPIA, DEUTERANOPIA, MONOCHROMACY
-
-}
+package takty.color;
+
+/**
+ * Enum type for color vision characteristics.
+ * @author Takuto Yanagida
+ * @version 2018-04-18
+ */
+public enum Vision {
+
+	TRICHROMACY, PROTANOPIA, DEUTERANOPIA, MONOCHROMACY
+
+}
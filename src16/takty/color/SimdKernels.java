@@ -0,0 +1,31 @@
+package takty.color;
+
+/**
+ * This class calls the matrix kernels of ColorKernels by the Vector API (jdk.incubator.vector) if it is available.
+ * The module is incubating, so it is resolved only when it is added by "--add-modules jdk.incubator.vector";
+ * otherwise this class returns false and ColorKernels runs its scalar loops.
+ * VectorKernels is loaded only if the module is present.
+ * @author Takuto Yanagida
+ * @version 2026-10-18
+ */
+final class SimdKernels {
+
+	static private final boolean AVAILABLE = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+	private SimdKernels() {}
+
+	static boolean multiply(final double[][] m, final double[] s0, final double[] s1, final double[] s2,
+			final double[] d0, final double[] d1, final double[] d2, final int off, final int count) {
+		if(!AVAILABLE) return false;
+		VectorKernels.multiply(m, s0, s1, s2, d0, d1, d2, off, count);
+		return true;
+	}
+
+	static boolean multiply(final float[][] m, final float[] s0, final float[] s1, final float[] s2,
+			final float[] d0, final float[] d1, final float[] d2, final int off, final int count) {
+		if(!AVAILABLE) return false;
+		VectorKernels.multiply(m, s0, s1, s2, d0, d1, d2, off, count);
+		return true;
+	}
+
+}
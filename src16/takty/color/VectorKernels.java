@@ -0,0 +1,63 @@
+package takty.color;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * This class implements the matrix kernels of ColorKernels by the Vector API with the preferred species of the running machine.
+ * The operations are in the same order as the scalar loops (no fused multiply-add), so the results are the same.
+ * The remainder of each loop is processed by scalar code.
+ * @author Takuto Yanagida
+ * @version 2026-10-18
+ */
+final class VectorKernels {
+
+	static private final VectorSpecies<Double> D = DoubleVector.SPECIES_PREFERRED;
+	static private final VectorSpecies<Float> F = FloatVector.SPECIES_PREFERRED;
+
+	private VectorKernels() {}
+
+	static void multiply(final double[][] m, final double[] s0, final double[] s1, final double[] s2,
+			final double[] d0, final double[] d1, final double[] d2, final int off, final int count) {
+		final double m00 = m[0][0], m01 = m[0][1], m02 = m[0][2];
+		final double m10 = m[1][0], m11 = m[1][1], m12 = m[1][2];
+		final double m20 = m[2][0], m21 = m[2][1], m22 = m[2][2];
+		final int end = off + count, bound = off + D.loopBound(count);
+		int i = off;
+		for(; i < bound; i += D.length()) {
+			final DoubleVector v0 = DoubleVector.fromArray(D, s0, i), v1 = DoubleVector.fromArray(D, s1, i), v2 = DoubleVector.fromArray(D, s2, i);
+			v0.mul(m00).add(v1.mul(m01)).add(v2.mul(m02)).intoArray(d0, i);
+			v0.mul(m10).add(v1.mul(m11)).add(v2.mul(m12)).intoArray(d1, i);
+			v0.mul(m20).add(v1.mul(m21)).add(v2.mul(m22)).intoArray(d2, i);
+		}
+		for(; i < end; ++i) {
+			final double v0 = s0[i], v1 = s1[i], v2 = s2[i];
+			d0[i] = m00 * v0 + m01 * v1 + m02 * v2;
+			d1[i] = m10 * v0 + m11 * v1 + m12 * v2;
+			d2[i] = m20 * v0 + m21 * v1 + m22 * v2;
+		}
+	}
+
+	static void multiply(final float[][] m, final float[] s0, final float[] s1, final float[] s2,
+			final float[] d0, final float[] d1, final float[] d2, final int off, final int count) {
+		final float m00 = m[0][0], m01 = m[0][1], m02 = m[0][2];
+		final float m10 = m[1][0], m11 = m[1][1], m12 = m[1][2];
+		final float m20 = m[2][0], m21 = m[2][1], m22 = m[2][2];
+		final int end = off + count, bound = off + F.loopBound(count);
+		int i = off;
+		for(; i < bound; i += F.length()) {
+			final FloatVector v0 = FloatVector.fromArray(F, s0, i), v1 = FloatVector.fromArray(F, s1, i), v2 = FloatVector.fromArray(F, s2, i);
+			v0.mul(m00).add(v1.mul(m01)).add(v2.mul(m02)).intoArray(d0, i);
+			v0.mul(m10).add(v1.mul(m11)).add(v2.mul(m12)).intoArray(d1, i);
+			v0.mul(m20).add(v1.mul(m21)).add(v2.mul(m22)).intoArray(d2, i);
+		}
+		for(; i < end; ++i) {
+			final float v0 = s0[i], v1 = s1[i], v2 = s2[i];
+			d0[i] = m00 * v0 + m01 * v1 + m02 * v2;
+			d1[i] = m10 * v0 + m11 * v1 + m12 * v2;
+			d2[i] = m20 * v0 + m21 * v1 + m22 * v2;
+		}
+	}
+
+}